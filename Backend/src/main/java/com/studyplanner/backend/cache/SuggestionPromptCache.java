@@ -0,0 +1,120 @@
+package com.studyplanner.backend.cache;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studyplanner.backend.dto.LlmTaskGenerationRequest;
+import com.studyplanner.backend.dto.SuggestedTasksDto;
+import com.studyplanner.backend.entity.SuggestedLLM.Priority;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+// Parsed LLM suggestions keyed by the normalized prompt, additional context,
+// language and a date bucket, so near-identical prompts ("plan for Docker exam",
+// "docker exam plan") share one model call. Deadlines are stored as offsets from
+// the day of the original request and rebased onto the day of each hit.
+@Component
+public class SuggestionPromptCache {
+
+    // filler words that do not change what is being asked for
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "the", "for", "to", "of", "on", "in", "my", "me", "i", "please", "help", "and");
+
+    private final Cache<PromptKey, List<CachedTask>> entries;
+    private final long bucketDays;
+
+    public SuggestionPromptCache(MeterRegistry meterRegistry,
+            @Value("${app.cache.llm-prompt.max-size:5000}") long maxSize,
+            @Value("${app.cache.llm-prompt.ttl:P7D}") Duration ttl,
+            @Value("${app.cache.llm-prompt.date-bucket-days:7}") long bucketDays) {
+        this.bucketDays = Math.max(1, bucketDays);
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "llm.prompt");
+    }
+
+    // Suggestions for an equivalent earlier request, with deadlines moved to requestDate
+    public Optional<List<SuggestedTasksDto>> get(LlmTaskGenerationRequest request, LocalDate requestDate) {
+        List<CachedTask> cached = entries.getIfPresent(key(request, requestDate));
+        if (cached == null) {
+            return Optional.empty();
+        }
+        LocalDateTime base = requestDate.atStartOfDay();
+        return Optional.of(cached.stream()
+                .map(task -> SuggestedTasksDto.builder()
+                        .taskName(task.taskName)
+                        .taskDescription(task.taskDescription)
+                        .taskDeadline(base.plus(task.deadlineOffset))
+                        .priority(task.priority)
+                        .build())
+                .toList());
+    }
+
+    public void put(LlmTaskGenerationRequest request, LocalDate requestDate, List<SuggestedTasksDto> tasks) {
+        LocalDateTime base = requestDate.atStartOfDay();
+        entries.put(key(request, requestDate), tasks.stream()
+                .map(task -> new CachedTask(task.getTaskName(), task.getTaskDescription(),
+                        Duration.between(base, task.getTaskDeadline()), task.getPriority()))
+                .toList());
+    }
+
+    // lower case, punctuation dropped, filler words removed and the rest sorted
+    static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty() && !STOP_WORDS.contains(word))
+                .sorted()
+                .collect(Collectors.joining(" "));
+    }
+
+    private PromptKey key(LlmTaskGenerationRequest request, LocalDate requestDate) {
+        String language = request.getLanguage() == null ? "en" : request.getLanguage().toLowerCase(Locale.ROOT);
+        long bucket = Math.floorDiv(requestDate.toEpochDay(), bucketDays);
+        return new PromptKey(normalize(request.getPrompt()), normalize(request.getAdditionalContext()),
+                language, bucket);
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class PromptKey {
+        private final String prompt;
+        private final String additionalContext;
+        private final String language;
+        private final long dateBucket;
+    }
+
+    private static final class CachedTask {
+        private final String taskName;
+        private final String taskDescription;
+        private final Duration deadlineOffset;
+        private final Priority priority;
+
+        private CachedTask(String taskName, String taskDescription, Duration deadlineOffset, Priority priority) {
+            this.taskName = taskName;
+            this.taskDescription = taskDescription;
+            this.deadlineOffset = deadlineOffset;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.studyplanner.backend.cache;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Bounded in-process cache of each user's serialized task list, plus the
+// strong ETags derived from the list version. The version is shared by all
+// instances, so a body cached here is only reused while it is still current
+// everywhere. Entries for an old version are simply never hit again and age out.
+@Component
+public class TaskListCache {
+
+    private final TaskListVersions versions;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, CachedBody> bodies;
+
+    public TaskListCache(TaskListVersions versions,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.task-list.max-users:10000}") long maxUsers,
+            @Value("${app.cache.task-list.ttl:PT10M}") Duration ttl) {
+        this.versions = versions;
+        this.objectMapper = objectMapper;
+        this.bodies = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bodies, "task.list");
+    }
+
+    public long currentVersion(Long userId) {
+        return versions.current(userId);
+    }
+
+    // Strong ETag: the same version always maps to the same bytes
+    public static String etag(Long userId, long version) {
+        return "\"" + userId + "-" + version + "\"";
+    }
+
+    public static String etag(Long userId, long version, Long taskId) {
+        return "\"" + userId + "-" + version + "-" + taskId + "\"";
+    }
+
+    // If-None-Match can carry several tags or *
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Serialized body for this version, loading and serializing it on a miss
+    public byte[] getOrLoad(Long userId, long version, Supplier<Object> loader) {
+        CachedBody cached = bodies.getIfPresent(userId);
+        if (cached != null && cached.version == version) {
+            return cached.body;
+        }
+
+        byte[] body = serialize(loader.get());
+        bodies.put(userId, new CachedBody(version, body));
+        return body;
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize task list", e);
+        }
+    }
+
+    private static final class CachedBody {
+        private final long version;
+        private final byte[] body;
+
+        private CachedBody(long version, byte[] body) {
+            this.version = version;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.studyplanner.backend.cache;
+
+import org.springframework.stereotype.Component;
+
+import com.studyplanner.backend.repository.UserRepository;
+
+// Per-user version of the task list. Every write that changes a user's tasks
+// bumps it; cached bodies and ETags are keyed by it, so a bump invalidates them.
+//
+// The version is a column on users rather than state in this JVM, so a write
+// handled by one instance changes the ETag every instance computes. It is bumped
+// inside the writer's transaction: readers see the new version exactly when they
+// can see the new rows, never earlier.
+@Component
+public class TaskListVersions {
+
+    private final UserRepository userRepository;
+
+    public TaskListVersions(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    // one primary key lookup
+    public long current(Long userId) {
+        return userRepository.findTaskListVersion(userId).orElse(0L);
+    }
+
+    public void bump(Long userId) {
+        userRepository.incrementTaskListVersion(userId);
+    }
+}
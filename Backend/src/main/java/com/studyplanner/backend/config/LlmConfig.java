@@ -0,0 +1,45 @@
+package com.studyplanner.backend.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Suggestion generation jobs call the LLM on this pool, outside any transaction.
+// The queue is bounded and a full queue rejects the job, so a burst of requests
+// is shed with a 503 instead of piling up behind a slow model.
+@Configuration
+public class LlmConfig {
+
+    public static final String LLM_EXECUTOR = "llmExecutor";
+
+    @Bean(name = LLM_EXECUTOR, destroyMethod = "shutdown")
+    public ThreadPoolExecutor llmExecutor(MeterRegistry meterRegistry,
+            @Value("${app.llm.jobs.pool-size:4}") int poolSize,
+            @Value("${app.llm.jobs.queue-capacity:100}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "llm-job-" + threadCount.incrementAndGet());
+                    // a job cut off by shutdown is reported FAILED once it times out
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("llm.jobs.queue.depth", executor, e -> e.getQueue().size())
+                .description("Suggestion jobs waiting for an LLM worker")
+                .register(meterRegistry);
+        Gauge.builder("llm.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        return executor;
+    }
+}
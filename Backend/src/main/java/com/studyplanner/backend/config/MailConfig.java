@@ -0,0 +1,100 @@
+package com.studyplanner.backend.config;
+
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.studyplanner.backend.service.impl.PooledJavaMailSender;
+import com.studyplanner.backend.util.TokenBucket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// The email outbox is sent through its own bounded executor and a pooled SMTP
+// sender instead of Spring's shared @Async executor and one connection per message.
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class MailConfig {
+
+    public static final String MAIL_EXECUTOR = "mailExecutor";
+
+    // Replaces Boot's JavaMailSenderImpl; spring.mail.* still configures the server
+    @Bean(destroyMethod = "close")
+    public PooledJavaMailSender javaMailSender(MailProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.pool.max-connections:4}") int maxConnections,
+            @Value("${app.mail.pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+            @Value("${app.mail.pool.idle-timeout:PT30S}") Duration idleTimeout,
+            @Value("${app.mail.rate-limit.per-second:10}") double ratePerSecond,
+            @Value("${app.mail.rate-limit.burst:20}") int burst) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(meterRegistry, maxConnections,
+                maxMessagesPerConnection, idleTimeout.toMillis(), new TokenBucket(ratePerSecond, burst));
+        sender.setHost(properties.getHost());
+        if (properties.getPort() != null) {
+            sender.setPort(properties.getPort());
+        }
+        sender.setUsername(properties.getUsername());
+        sender.setPassword(properties.getPassword());
+        sender.setProtocol(properties.getProtocol());
+        if (properties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(properties.getDefaultEncoding().name());
+        }
+        Properties javaMailProperties = new Properties();
+        javaMailProperties.putAll(properties.getProperties());
+        sender.setJavaMailProperties(javaMailProperties);
+        return sender;
+    }
+
+    // Bounded queue; when it is full the submitting thread sends the email itself,
+    // which slows a reminder burst down instead of dropping messages.
+    // Threads are not daemons, so queued emails are still sent on shutdown.
+    @Bean(name = MAIL_EXECUTOR, destroyMethod = "shutdown")
+    public ThreadPoolExecutor mailExecutor(MeterRegistry meterRegistry,
+            @Value("${app.mail.executor.pool-size:4}") int poolSize,
+            @Value("${app.mail.executor.queue-capacity:10000}") int queueCapacity) {
+        Timer waitTimer = Timer.builder("mail.executor.wait")
+                .description("Time an email spent queued before a worker picked it up")
+                .register(meterRegistry);
+        Counter callerRunsCounter = Counter.builder("mail.executor.rejected")
+                .description("Emails sent on the caller's thread because the queue was full")
+                .register(meterRegistry);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "mail-" + threadCount.incrementAndGet()),
+                (runnable, pool) -> {
+                    callerRunsCounter.increment();
+                    if (!pool.isShutdown()) {
+                        runnable.run();
+                    }
+                }) {
+            @Override
+            public void execute(Runnable command) {
+                long queuedAt = System.nanoTime();
+                super.execute(() -> {
+                    waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                    command.run();
+                });
+            }
+        };
+
+        Gauge.builder("mail.executor.queue.depth", executor, e -> e.getQueue().size())
+                .description("Emails waiting for a mail worker")
+                .register(meterRegistry);
+        Gauge.builder("mail.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        return executor;
+    }
+}
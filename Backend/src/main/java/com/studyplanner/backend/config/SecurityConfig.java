@@ -2,9 +2,7 @@ package com.studyplanner.backend.config;
 
 import java.util.List;
 
-import com.studyplanner.backend.entity.User;
-import com.studyplanner.backend.repository.UserRepository;
-import com.studyplanner.backend.service.impl.CalendarServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -14,23 +12,19 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
-import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
-import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.springframework.web.context.annotation.RequestScope;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.studyplanner.backend.security.BCryptCostCalibrator;
 import com.studyplanner.backend.security.JwtAuthFilter;
 import com.studyplanner.backend.security.OAuth2SuccessHandler;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 
@@ -50,6 +44,8 @@ public class SecurityConfig {
             .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // async dispatch only completes a request that was already authorized (streamed exports)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(
                     "/api/v1/users/register",
                     "/api/v1/users/login",
@@ -81,40 +77,18 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.bcrypt.target-ms:250}") long targetMs,
+            @Value("${app.security.bcrypt.min-strength:10}") int minStrength,
+            @Value("${app.security.bcrypt.max-strength:14}") int maxStrength) {
+        // cost is tuned to the host so a single hash stays near the target time;
+        // hashes stored with an older cost are upgraded on the next login
+        int strength = BCryptCostCalibrator.calibrate(targetMs, minStrength, maxStrength);
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig) throws Exception {
         return authConfig.getAuthenticationManager();
     }
-    @Bean
-    @RequestScope
-    public CalendarServiceImpl calendarService(OAuth2AuthorizedClientService clientService, UserRepository userRepository) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String accessToken = null;
-
-        if (authentication.getClass().isAssignableFrom(OAuth2AuthenticationToken.class)) {
-            // OAuth2 login flow
-            OAuth2AuthenticationToken oauthToken = (OAuth2AuthenticationToken) authentication;
-            String clientRegistrationId = oauthToken.getAuthorizedClientRegistrationId();
-            if (clientRegistrationId.equals("google")) {
-                OAuth2AuthorizedClient client = clientService.loadAuthorizedClient(clientRegistrationId, oauthToken.getName());
-                accessToken = client.getAccessToken().getTokenValue();
-            }
-        } else {
-            // JWT flow - load token from DB
-            String email = authentication.getName();
-            userRepository.findByEmail(email).ifPresent(user -> {
-
-                // can't set local var directly, use workaround below
-            });
-            accessToken = userRepository.findByEmail(email)
-                    .map(User::getGoogleAccessToken)
-                    .orElse(null);
-        }
-
-        return new CalendarServiceImpl(accessToken);
-    }
-}
\ No newline at end of file
+}
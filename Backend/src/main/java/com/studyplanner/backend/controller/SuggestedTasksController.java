@@ -4,19 +4,24 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.studyplanner.backend.dto.ApiResponse;
+import com.studyplanner.backend.dto.CursorPage;
 import com.studyplanner.backend.dto.LlmTaskGenerationRequest;
 import com.studyplanner.backend.dto.LlmTaskGenerationResponse;
 import com.studyplanner.backend.dto.SuggestedTasksDto;
 import com.studyplanner.backend.dto.SuggestionBatchResponseDto;
+import com.studyplanner.backend.dto.SuggestionJobDto;
 import com.studyplanner.backend.dto.SuggestionResponseDto;
 import com.studyplanner.backend.dto.TaskDto;
 import com.studyplanner.backend.service.LlmService;
@@ -51,6 +56,47 @@ public class SuggestedTasksController {
                 .build());
     }
 
+    // Generate (job) POST /api/v1/suggestions/generate/jobs
+    // returns 202 with a job id straight away; poll GET /jobs/{jobId} for the outcome
+
+    @PostMapping("/generate/jobs")
+    public ResponseEntity<ApiResponse<SuggestionJobDto>> submitSuggestionJob(
+            @Valid @RequestBody LlmTaskGenerationRequest request) {
+
+        Long userId = securityUtils.getAuthenticatedUserId();
+        SuggestionJobDto job = llmService.submitSuggestionJob(request, userId);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.<SuggestionJobDto>builder()
+                .status(HttpStatus.ACCEPTED.value())
+                .message("Suggestion generation queued")
+                .data(job)
+                .build());
+    }
+
+    // Job status GET /api/v1/suggestions/jobs/{jobId}
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<SuggestionJobDto>> getSuggestionJob(@PathVariable Long jobId) {
+        Long userId = securityUtils.getAuthenticatedUserId();
+        SuggestionJobDto job = llmService.getSuggestionJob(jobId, userId);
+
+        return ResponseEntity.ok(ApiResponse.<SuggestionJobDto>builder()
+                .status(HttpStatus.OK.value())
+                .message("Suggestion job " + job.getStatus().name().toLowerCase())
+                .data(job)
+                .build());
+    }
+
+    // Generate (streaming) POST /api/v1/suggestions/generate/stream
+    // each suggestion arrives as a "suggestion" event while the model is still writing,
+    // then a "done" event (or "error" if nothing usable was generated)
+
+    @PostMapping(path = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSuggestions(@Valid @RequestBody LlmTaskGenerationRequest request) {
+        Long userId = securityUtils.getAuthenticatedUserId();
+        return llmService.streamTaskSuggestions(request, userId);
+    }
+
     // RESPOND (BATCH) POST /api/v1/suggestions/respond
     // Single endpoint for accept and/or decline — frontend sends both lists
 
@@ -86,9 +132,22 @@ public class SuggestedTasksController {
     }
 
     // Get All Suggestions
+    // paged (newest first) when cursor or limit is given
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<SuggestedTasksDto>>> getAll() {
+    public ResponseEntity<ApiResponse<List<SuggestedTasksDto>>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         Long userId = securityUtils.getAuthenticatedUserId();
+        if (cursor != null || limit != null) {
+            CursorPage<SuggestedTasksDto> page = suggestedTaskService.getSuggestionsPage(userId, cursor, limit);
+            return ResponseEntity.ok(ApiResponse.<List<SuggestedTasksDto>>builder()
+                    .status(HttpStatus.OK.value())
+                    .message(page.getItems().size() + " suggestion(s) found")
+                    .data(page.getItems())
+                    .nextCursor(page.getNextCursor())
+                    .build());
+        }
+
         List<SuggestedTasksDto> all = suggestedTaskService.getAllSuggestions(userId);
         return ResponseEntity.ok(ApiResponse.<List<SuggestedTasksDto>>builder()
                 .status(HttpStatus.OK.value())
@@ -1,10 +1,14 @@
 package com.studyplanner.backend.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,12 +17,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studyplanner.backend.cache.TaskListCache;
 import com.studyplanner.backend.dto.ApiResponse;
+import com.studyplanner.backend.dto.BulkTaskRequestDto;
+import com.studyplanner.backend.dto.BulkTaskResponseDto;
+import com.studyplanner.backend.dto.CursorPage;
 import com.studyplanner.backend.dto.TaskDto;
+import com.studyplanner.backend.dto.TaskFilterDto;
 import com.studyplanner.backend.entity.Task.Priority;
 import com.studyplanner.backend.entity.Task.Status;
 import com.studyplanner.backend.service.TaskService;
@@ -33,11 +46,16 @@ public class TaskController {
 
     private final TaskService taskService;
     private final SecurityUtils securityUtils;
+    private final TaskListCache taskListCache;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public TaskController(TaskService taskService, SecurityUtils securityUtils) {
+    public TaskController(TaskService taskService, SecurityUtils securityUtils, TaskListCache taskListCache,
+            ObjectMapper objectMapper) {
         this.taskService = taskService;
         this.securityUtils = securityUtils;
+        this.taskListCache = taskListCache;
+        this.objectMapper = objectMapper;
     }
 
     // CREAT POST api
@@ -55,28 +73,105 @@ public class TaskController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    // BULK POST api - create, update and delete many tasks in one request/transaction
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkTaskResponseDto>> bulkTasks(@RequestBody BulkTaskRequestDto request) {
+        Long userId = securityUtils.getAuthenticatedUserId();
+        BulkTaskResponseDto result = taskService.applyBulk(userId, request);
+
+        return ResponseEntity.ok(ApiResponse.<BulkTaskResponseDto>builder()
+                .status(HttpStatus.OK.value())
+                .message(String.format("Bulk processed: %d created, %d updated, %d deleted",
+                        result.getCreated().size(),
+                        result.getUpdated().size(),
+                        result.getDeleted().size()))
+                .data(result)
+                .build());
+    }
+
     // READ GET api
 
+    // ETag follows the owner's task list version, so an unchanged task is
+    // answered with 304 after a single primary key lookup
     @GetMapping("/{taskId}")
-    public ResponseEntity<ApiResponse<TaskDto>> getTaskById(@PathVariable Long taskId) {
+    public ResponseEntity<ApiResponse<TaskDto>> getTaskById(@PathVariable Long taskId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         Long userId = securityUtils.getAuthenticatedUserId();
+        String etag = TaskListCache.etag(userId, taskListCache.currentVersion(userId), taskId);
+        if (TaskListCache.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         TaskDto task = taskService.getTaskById(taskId, userId);
-        return ResponseEntity.ok(ApiResponse.<TaskDto>builder().status(HttpStatus.OK.value())
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.<TaskDto>builder().status(HttpStatus.OK.value())
                 .message("Task retrieved successfully").data(task).build());
     }
 
+    // Without cursor/limit the full list is returned as before; with either
+    // one the result is paged and nextCursor points at the following page.
+    // The full list is served from the per-user cache with a strong ETag.
     @GetMapping("/user")
-    public ResponseEntity<ApiResponse<List<TaskDto>>> getAllTasksByUser() {
+    public ResponseEntity<?> getAllTasksByUser(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         Long userId = securityUtils.getAuthenticatedUserId();
-        List<TaskDto> tasks = taskService.getTasksByUserId(userId);
+        if (cursor != null || limit != null) {
+            CursorPage<TaskDto> page = taskService.getTasksPage(userId, cursor, limit);
+            return ResponseEntity.ok(
+                    ApiResponse.<List<TaskDto>>builder()
+                            .status(HttpStatus.OK.value())
+                            .message("Tasks retrieved successfully")
+                            .data(page.getItems())
+                            .nextCursor(page.getNextCursor())
+                            .build());
+        }
 
-        return ResponseEntity.ok(
-                ApiResponse.<List<TaskDto>>builder()
-                        .status(HttpStatus.OK.value())
-                        .message("Tasks retrieved successfully")
-                        .data(tasks)
-                        .build());
+        long version = taskListCache.currentVersion(userId);
+        String etag = TaskListCache.etag(userId, version);
+        if (TaskListCache.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        byte[] body = taskListCache.getOrLoad(userId, version, () -> ApiResponse.<List<TaskDto>>builder()
+                .status(HttpStatus.OK.value())
+                .message("Tasks retrieved successfully")
+                .data(taskService.getTasksByUserId(userId))
+                .build());
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // Full history as a plain JSON array, written one keyset page at a time, so
+    // memory use does not grow with the row count and no connection is held
+    // while the client downloads
+    @GetMapping("/user/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        // resolve the caller here - the body is written on another thread
+        Long userId = securityUtils.getAuthenticatedUserId();
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                taskService.forEachTask(userId, task -> {
+                    try {
+                        generator.writeObject(task);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.json\"")
+                .body(body);
     }
 
     @GetMapping("/user/filter")
@@ -86,26 +181,22 @@ public class TaskController {
             @RequestParam(required = false) Boolean completed,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime taskDeadline) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime taskDeadline,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String sortDirection) {
 
         Long userId = securityUtils.getAuthenticatedUserId();
-        List<TaskDto> tasks;
-
-        if (priority != null && status != null) {
-            tasks = taskService.getTasksByStatusAndPriority(userId, status, priority);
-        } else if (priority != null) {
-            tasks = taskService.getTasksByPriority(userId, priority);
-        } else if (taskDeadline != null) {
-            tasks = taskService.getTasksByDeadline(userId, taskDeadline);
-        } else if (status != null) {
-            tasks = taskService.getTasksByStatus(userId, status);
-        } else if (completed != null) {
-            tasks = taskService.getTasksByCompleted(userId, completed);
-        } else if (from != null && to != null) {
-            tasks = taskService.getTasksByDateRange(userId, from, to);
-        } else {
-            tasks = taskService.getTasksByUserId(userId);
-        }
+        TaskFilterDto filter = TaskFilterDto.builder()
+                .priority(priority)
+                .status(status)
+                .completed(completed)
+                .from(from)
+                .to(to)
+                .taskDeadline(taskDeadline)
+                .sortBy(sortBy)
+                .sortDirection(sortDirection)
+                .build();
+        List<TaskDto> tasks = taskService.filterTasks(userId, filter);
 
         return ResponseEntity.ok(
                 ApiResponse.<List<TaskDto>>builder()
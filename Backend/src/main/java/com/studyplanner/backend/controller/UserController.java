@@ -1,6 +1,7 @@
 package com.studyplanner.backend.controller;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -12,9 +13,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.studyplanner.backend.dto.ApiResponse;
 import com.studyplanner.backend.dto.AuthResponseDto;
+import com.studyplanner.backend.dto.CursorPage;
 import com.studyplanner.backend.dto.ShareTaskDto;
 import com.studyplanner.backend.dto.TaskShareInviteDto;
 import com.studyplanner.backend.dto.UserLoginDto;
@@ -22,6 +25,7 @@ import com.studyplanner.backend.dto.UserProfileUpdateDto;
 import com.studyplanner.backend.dto.UserRegisterDto;
 import com.studyplanner.backend.dto.UserSearchdto;
 import com.studyplanner.backend.security.JwtUtil;
+import com.studyplanner.backend.service.NotificationService;
 import com.studyplanner.backend.service.UserService;
 import com.studyplanner.backend.util.SecurityUtils;
 
@@ -41,6 +45,7 @@ public class UserController {
         private final JwtUtil jwtUtil;
         private final UserDetailsService userDetailsService;
         private final SecurityUtils securityUtils;
+        private final NotificationService notificationService;
 
         // Build user registration
         @PostMapping("/register")
@@ -203,9 +208,23 @@ public class UserController {
                                                 .build());
         }
 
+        // paged (newest first) when cursor or limit is given
         @GetMapping("/invites")
-        public ResponseEntity<ApiResponse<List<TaskShareInviteDto>>> getAllReceivedInvites() {
+        public ResponseEntity<ApiResponse<List<TaskShareInviteDto>>> getAllReceivedInvites(
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false) Integer limit) {
                 Long userId = securityUtils.getAuthenticatedUserId();
+                if (cursor != null || limit != null) {
+                        CursorPage<TaskShareInviteDto> page = userService.getReceivedInvitesPage(userId, cursor, limit);
+                        return ResponseEntity.ok(
+                                        ApiResponse.<List<TaskShareInviteDto>>builder()
+                                                        .status(HttpStatus.OK.value())
+                                                        .message(page.getItems().size() + " invite(s) found")
+                                                        .data(page.getItems())
+                                                        .nextCursor(page.getNextCursor())
+                                                        .build());
+                }
+
                 List<TaskShareInviteDto> all = userService.getAllReceivedInvites(userId);
                 return ResponseEntity.ok(
                                 ApiResponse.<List<TaskShareInviteDto>>builder()
@@ -226,6 +245,13 @@ public class UserController {
                                                 .build());
         }
 
+        // invite, reminder and suggestion events pushed as they happen; replaces polling
+        // /invites/count and /invites/pending. Starts with a pending-invites count event.
+        @GetMapping(path = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        public SseEmitter streamNotifications() {
+                return notificationService.subscribe(securityUtils.getAuthenticatedUserId());
+        }
+
         private AuthResponseDto buildAuthResponse(UserProfileUpdateDto user) {
                 UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
                 String token = jwtUtil.generateToken(Map.of("userId", user.getUserId()), userDetails);
@@ -20,5 +20,7 @@ public class ApiResponse<T> {
     private String message;
     private T data;
     private String token;
+    // set on paginated listings while more results are available
+    private String nextCursor;
 
 }
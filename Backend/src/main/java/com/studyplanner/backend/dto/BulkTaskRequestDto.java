@@ -0,0 +1,22 @@
+package com.studyplanner.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTaskRequestDto {
+
+    // Largest number of operations (create + update + delete) accepted in one request
+    public static final int MAX_OPERATIONS = 1000;
+
+    private List<TaskDto> create; // new tasks, taskId is ignored
+    private List<TaskDto> update; // full replacement, identified by taskId
+    private List<Long> delete; // task ids
+}
@@ -0,0 +1,19 @@
+package com.studyplanner.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTaskResponseDto {
+
+    private List<TaskDto> created;
+    private List<TaskDto> updated;
+    private List<Long> deleted;
+}
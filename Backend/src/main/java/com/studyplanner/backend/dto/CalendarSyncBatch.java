@@ -0,0 +1,15 @@
+package com.studyplanner.backend.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Outbox rows of one user claimed by the calendar worker, keyed by outbox id
+@Getter
+@AllArgsConstructor
+public class CalendarSyncBatch {
+    private final Long userId;
+    private final String accessToken;
+    private final Map<Long, CalendarSyncItem> items;
+}
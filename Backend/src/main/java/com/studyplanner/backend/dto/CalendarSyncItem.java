@@ -0,0 +1,36 @@
+package com.studyplanner.backend.dto;
+
+import com.google.api.services.calendar.model.Event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// One Calendar API call the worker has to make for an outbox row
+@Getter
+@AllArgsConstructor
+public class CalendarSyncItem {
+
+    public enum Action {
+        INSERT, PATCH, DELETE
+    }
+
+    private final Action action;
+    // PATCH and DELETE: the event to change
+    private final String eventId;
+    // PATCH: sent as If-Match so an event edited in Google Calendar is not overwritten
+    private final String etag;
+    // INSERT and PATCH: the task's current name, description and deadline
+    private final Event event;
+
+    public static CalendarSyncItem insert(Event event) {
+        return new CalendarSyncItem(Action.INSERT, null, null, event);
+    }
+
+    public static CalendarSyncItem patch(String eventId, String etag, Event event) {
+        return new CalendarSyncItem(Action.PATCH, eventId, etag, event);
+    }
+
+    public static CalendarSyncItem delete(String eventId) {
+        return new CalendarSyncItem(Action.DELETE, eventId, null, null);
+    }
+}
@@ -0,0 +1,40 @@
+package com.studyplanner.backend.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// What the Calendar API answered for one CalendarSyncItem
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CalendarSyncResult {
+
+    private final boolean success;
+    // HTTP status of a failed call, 0 when no response was received
+    private final int statusCode;
+    private final String eventId;
+    private final String etag;
+    private final String error;
+
+    public static CalendarSyncResult synced(String eventId, String etag) {
+        return new CalendarSyncResult(true, 200, eventId, etag, null);
+    }
+
+    public static CalendarSyncResult deleted() {
+        return new CalendarSyncResult(true, 204, null, null, null);
+    }
+
+    public static CalendarSyncResult failed(int statusCode, String error) {
+        return new CalendarSyncResult(false, statusCode, null, null, error);
+    }
+
+    // the event no longer exists in Google Calendar
+    public boolean isGone() {
+        return statusCode == 404 || statusCode == 410;
+    }
+
+    // If-Match did not match: the event was edited in Google Calendar since our last write
+    public boolean isConflict() {
+        return statusCode == 412;
+    }
+}
@@ -0,0 +1,40 @@
+package com.studyplanner.backend.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// One page of a keyset-paginated listing
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private final List<T> items;
+    // opaque position of the last item, null when there are no more results
+    private final String nextCursor;
+
+    // rows holds up to limit + 1 entries; the extra one only signals another page
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit,
+            Function<E, T> mapper, Function<E, String> cursorOf) {
+        boolean hasMore = rows.size() > limit;
+        List<E> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), nextCursor);
+    }
+
+    // default when absent, capped at MAX_LIMIT
+    public static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
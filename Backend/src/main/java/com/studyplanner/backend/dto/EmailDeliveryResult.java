@@ -0,0 +1,28 @@
+package com.studyplanner.backend.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// What happened when one outbox email was handed to the SMTP server
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class EmailDeliveryResult {
+
+    private final boolean success;
+    // the message itself is bad (address, encoding); retrying cannot help
+    private final boolean permanent;
+    private final String error;
+
+    public static EmailDeliveryResult sent() {
+        return new EmailDeliveryResult(true, false, null);
+    }
+
+    public static EmailDeliveryResult failed(String error) {
+        return new EmailDeliveryResult(false, false, error);
+    }
+
+    public static EmailDeliveryResult rejected(String error) {
+        return new EmailDeliveryResult(false, true, error);
+    }
+}
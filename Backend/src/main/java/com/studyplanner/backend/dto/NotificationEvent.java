@@ -0,0 +1,27 @@
+package com.studyplanner.backend.dto;
+
+import java.util.Locale;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// One event pushed on a user's notification stream; the type becomes the SSE event name
+@Getter
+@AllArgsConstructor
+public class NotificationEvent {
+
+    public enum Type {
+        PENDING_INVITES, // pending invite count, sent when a stream opens
+        INVITE, // an invite was received, accepted or declined
+        REMINDER, // a task reminder went out
+        SUGGESTION, // new LLM task suggestions were saved
+        RESYNC; // events were dropped for a slow client; reload from the REST API
+
+        public String eventName() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    private final Type type;
+    private final Object data;
+}
@@ -0,0 +1,16 @@
+package com.studyplanner.backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// An unsent reminder as the dispatcher sees it: only what is needed to time it
+@Getter
+@AllArgsConstructor
+public class ReminderDue {
+
+    private final long reminderId;
+    private final Long taskId;
+    private final LocalDateTime reminderDate;
+}
@@ -0,0 +1,17 @@
+package com.studyplanner.backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Payload of a reminder event on the notification stream
+@Getter
+@AllArgsConstructor
+public class ReminderNotificationDto {
+
+    private final Long reminderId;
+    private final Long taskId;
+    private final String taskName;
+    private final LocalDateTime taskDeadline;
+}
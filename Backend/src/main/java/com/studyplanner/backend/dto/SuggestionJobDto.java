@@ -0,0 +1,28 @@
+package com.studyplanner.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.studyplanner.backend.entity.SuggestionJob.Status;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionJobDto {
+
+    private Long jobId;
+    private Status status;
+    private Integer totalGenerated;
+    // failure reason when status is FAILED
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+    // filled in once the job has SUCCEEDED
+    private List<SuggestedTasksDto> suggestions;
+}
@@ -0,0 +1,34 @@
+package com.studyplanner.backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.studyplanner.backend.entity.Task;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Optional filters for the task list - every non-null field is applied
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class TaskFilterDto {
+
+    private Task.Priority priority;
+    private Task.Status status;
+    private Boolean completed;
+    // deadline range, either bound may be left open
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private LocalDateTime taskDeadline;
+    // deadline, priority, status, taskName, createdAt or updatedAt
+    private String sortBy;
+    // asc or desc
+    private String sortDirection;
+
+}
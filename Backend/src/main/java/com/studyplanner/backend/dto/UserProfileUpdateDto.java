@@ -26,6 +26,7 @@ public class UserProfileUpdateDto {
     private String lastName;
     private String email; // Read-only in response; never updated
     private String profilePicture;
+    private Boolean reminderDigest; // one digest email instead of one per reminder
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
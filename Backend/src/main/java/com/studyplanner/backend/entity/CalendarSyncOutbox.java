@@ -0,0 +1,83 @@
+package com.studyplanner.backend.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One pending Google Calendar change for a task. An UPSERT builds the event from the
+// task's current state when the row is sent, so only ids are stored here.
+@Entity
+@Table(name = "calendar_sync_outbox")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CalendarSyncOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "calendar_sync_outbox_seq")
+    @SequenceGenerator(name = "calendar_sync_outbox_seq", sequenceName = "calendar_sync_outbox_seq", allocationSize = 50)
+    @Column(name = "outbox_id", nullable = false)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 16)
+    private Operation operation;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // when the row is due; while PROCESSING it is the end of the worker's lease
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    // DELETE rows carry the event to remove (the task is gone); other rows get the id once sent
+    @Column(name = "google_event_id", length = 1024)
+    private String googleEventId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Operation {
+        // insert when the task has no event yet, otherwise patch it
+        UPSERT,
+        DELETE
+    }
+
+    public enum Status {
+        PENDING, PROCESSING, DONE, FAILED
+    }
+}
@@ -0,0 +1,46 @@
+package com.studyplanner.backend.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Where the pull sync left off for a user: the nextSyncToken of the last
+// Calendar listing. Null means the next run has to do a full listing.
+@Entity
+@Table(name = "calendar_sync_state")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CalendarSyncState {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "sync_token", length = 1024)
+    private String syncToken;
+
+    @Column(name = "last_synced_at")
+    private LocalDateTime lastSyncedAt;
+
+    // instance pulling this user right now, see CalendarSyncStateRepository.claim
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
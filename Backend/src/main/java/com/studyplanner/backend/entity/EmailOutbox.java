@@ -0,0 +1,84 @@
+package com.studyplanner.backend.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One email waiting to be sent. It is rendered when queued, in the transaction
+// of the change that caused it, so it goes out even if the data changes later.
+@Entity
+@Table(name = "email_outbox")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+    @SequenceGenerator(name = "email_outbox_seq", sequenceName = "email_outbox_seq", allocationSize = 50)
+    @Column(name = "outbox_id", nullable = false)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 32)
+    private Type type;
+
+    @Column(name = "recipient", nullable = false, length = 320)
+    private String recipient;
+
+    @Column(name = "subject", nullable = false, length = 1000)
+    private String subject;
+
+    @Column(name = "body", nullable = false, length = 65535)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // when the row is due; while PROCESSING it is the end of the worker's lease
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Type {
+        REMINDER, REMINDER_DIGEST, SHARE_INVITE, WELCOME
+    }
+
+    public enum Status {
+        // DEAD: gave up after max attempts or a permanent error; kept for inspection
+        PENDING, PROCESSING, SENT, DEAD
+    }
+}
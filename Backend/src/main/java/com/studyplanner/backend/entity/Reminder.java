@@ -25,7 +25,8 @@ public class Reminder {
     private Task task;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reminder_seq")
+    @SequenceGenerator(name = "reminder_seq", sequenceName = "reminder_seq", allocationSize = 50)
     @Column(name = "reminder_id", nullable = false)
     private long id;
 
@@ -38,6 +39,13 @@ public class Reminder {
     @Column(name = "sent_at")
     private LocalDateTime sentAt;
 
+    // instance currently sending the reminder, until lease_expires_at
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
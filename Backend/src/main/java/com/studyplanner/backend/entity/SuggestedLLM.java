@@ -84,6 +84,10 @@ public class SuggestedLLM {
     @Column(name = "llm_model")
     private String llmModel;
 
+    // generation job that produced this suggestion, if it came from one
+    @Column(name = "job_id")
+    private Long jobId;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
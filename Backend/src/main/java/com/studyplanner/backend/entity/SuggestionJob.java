@@ -0,0 +1,82 @@
+package com.studyplanner.backend.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One suggestion generation request. The row is written before the LLM is called,
+// so the call itself runs on a worker without holding a transaction, and the
+// client polls this row for the outcome.
+@Entity
+@Table(name = "suggestion_jobs")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class SuggestionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "suggestion_jobs_seq")
+    @SequenceGenerator(name = "suggestion_jobs_seq", sequenceName = "suggestion_jobs_seq", allocationSize = 50)
+    @Column(name = "job_id", nullable = false)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "prompt", nullable = false, columnDefinition = "TEXT")
+    private String prompt;
+
+    @Column(name = "additional_context", columnDefinition = "TEXT")
+    private String additionalContext;
+
+    @Column(name = "language", length = 16)
+    private String language;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "total_generated")
+    private Integer totalGenerated;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+    }
+}
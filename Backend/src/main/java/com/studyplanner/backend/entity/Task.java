@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,8 +20,10 @@ import java.util.List;
 
 public class Task {
 
+    // pooled sequence instead of IDENTITY so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     @Column(name = "task_id")
     private Long id;
 
@@ -46,6 +50,8 @@ public class Task {
         HIGH
     }
 
+    // ordinal; pinned to smallint so every dialect agrees with the migrations
+    @JdbcTypeCode(SqlTypes.SMALLINT)
     @Column(name = "priority")
     private Priority priority;
 
@@ -55,6 +61,7 @@ public class Task {
         COMPLETED
     }
 
+    @JdbcTypeCode(SqlTypes.SMALLINT)
     @Column(name = "status")
     private Status status;
 
@@ -75,6 +82,14 @@ public class Task {
     @JoinColumn(name = "suggested_task_id")
     private SuggestedLLM suggestedTask;
 
+    // Google Calendar event mirroring this task, and the etag of the last version we wrote;
+    // set by the calendar sync worker, updates are sent as patches guarded by the etag
+    @Column(name = "google_event_id", length = 1024)
+    private String googleEventId;
+
+    @Column(name = "google_event_etag")
+    private String googleEventEtag;
+
     // Creation time stamp
     @CreationTimestamp
     @Column(name = "created_at", updatable = false, nullable = false)
@@ -75,6 +75,10 @@ public class User {
     @Column(name = "google_access_token", length = 2048)
     private String googleAccessToken;
 
+    // opted in to one digest email instead of one email per reminder
+    @Column(name = "reminder_digest", nullable = false)
+    private boolean reminderDigest;
+
     // auto generate publicId when creating a new user
     @PrePersist
     public void generatePublicId() {
@@ -0,0 +1,42 @@
+package com.studyplanner.backend.mapper;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.EventDateTime;
+import com.studyplanner.backend.entity.Task;
+
+public class CalendarEventMapper {
+    private CalendarEventMapper() {
+        /* This utility class should not be instantiated */
+    }
+
+    // Deadlines are stored as UTC wall-clock times; the event starts and ends at the deadline.
+    // (Parsing deadline + "Z" broke on whole-minute deadlines, LocalDateTime drops ":00" seconds.)
+    public static Event mapToEvent(Task task) {
+        long millis = task.getTaskDeadline().toInstant(ZoneOffset.UTC).toEpochMilli();
+        DateTime deadline = new DateTime(false, millis, 0);
+        EventDateTime eventTime = new EventDateTime().setDateTime(deadline);
+        return new Event()
+                .setSummary(task.getTaskName())
+                .setDescription(task.getTaskDescription())
+                .setStart(eventTime)
+                .setEnd(eventTime);
+    }
+
+    // Inverse of mapToEvent: the event start as a UTC deadline (all-day events start at midnight)
+    public static LocalDateTime mapToDeadline(Event event) {
+        EventDateTime start = event.getStart();
+        if (start == null) {
+            return null;
+        }
+        DateTime time = start.getDateTime() != null ? start.getDateTime() : start.getDate();
+        if (time == null) {
+            return null;
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(time.getValue()), ZoneOffset.UTC);
+    }
+}
@@ -20,6 +20,7 @@ public class UserMapper {
                 .lastName(user.getLastName())
                 .email(user.getEmail())
                 .profilePicture(user.getProfilePicture())
+                .reminderDigest(user.isReminderDigest())
                 .createdAt(user.getCreatedAt())
                 .updatedAt(user.getUpdatedAt())
                 .build();
@@ -49,5 +50,8 @@ public class UserMapper {
         if (dto.getProfilePicture() != null) {
             user.setProfilePicture(dto.getProfilePicture());
         }
+        if (dto.getReminderDigest() != null) {
+            user.setReminderDigest(dto.getReminderDigest());
+        }
     }
 }
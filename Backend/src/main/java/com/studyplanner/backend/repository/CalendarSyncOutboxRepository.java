@@ -0,0 +1,37 @@
+package com.studyplanner.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.studyplanner.backend.entity.CalendarSyncOutbox;
+import com.studyplanner.backend.entity.CalendarSyncOutbox.Operation;
+import com.studyplanner.backend.entity.CalendarSyncOutbox.Status;
+
+public interface CalendarSyncOutboxRepository extends JpaRepository<CalendarSyncOutbox, Long> {
+
+    // Rows the worker should send now: pending ones that are due and
+    // processing ones whose lease ran out (the worker died mid-batch).
+    // Rows another instance is claiming are skipped (SKIP LOCKED), so the same
+    // change is never pushed by two instances.
+    @Query(value = "SELECT * FROM calendar_sync_outbox " +
+            "WHERE status IN (:statuses) AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, outbox_id " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<CalendarSyncOutbox> findDueForUpdate(@Param("statuses") Collection<String> statuses,
+            @Param("now") LocalDateTime now,
+            @Param("limit") int limit);
+
+    // Tasks that already wait in the outbox; a second row would only push the same state twice
+    @Query("SELECT o.taskId FROM CalendarSyncOutbox o " +
+            "WHERE o.operation = :operation AND o.status = :status AND o.taskId IN :taskIds")
+    List<Long> findTaskIdsByOperationAndStatus(@Param("operation") Operation operation,
+            @Param("status") Status status,
+            @Param("taskIds") Collection<Long> taskIds);
+
+    List<CalendarSyncOutbox> findByTaskId(Long taskId);
+}
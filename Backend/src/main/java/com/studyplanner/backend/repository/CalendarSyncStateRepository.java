@@ -0,0 +1,37 @@
+package com.studyplanner.backend.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.studyplanner.backend.entity.CalendarSyncState;
+
+public interface CalendarSyncStateRepository extends JpaRepository<CalendarSyncState, Long> {
+
+    // Creates the empty state row of a user who was never synced, so there is a row to lease.
+    // Two instances can still both insert; the loser gets a duplicate key error.
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO calendar_sync_state (user_id) " +
+            "SELECT u.user_id FROM users u WHERE u.user_id = :userId " +
+            "AND NOT EXISTS (SELECT 1 FROM calendar_sync_state s WHERE s.user_id = :userId)", nativeQuery = true)
+    int insertIfMissing(@Param("userId") Long userId);
+
+    // Leases a user's pull sync to one instance. A row another instance is claiming at
+    // the same moment is skipped instead of waited for, like ReminderRepository.claim.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE calendar_sync_state SET lease_owner = :owner, lease_expires_at = :leaseUntil " +
+            "WHERE user_id IN (SELECT user_id FROM calendar_sync_state " +
+            "WHERE user_id = :userId " +
+            "AND (lease_expires_at IS NULL OR lease_expires_at < :now) " +
+            "FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int claim(@Param("userId") Long userId,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil);
+}
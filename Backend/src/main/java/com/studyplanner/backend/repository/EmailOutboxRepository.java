@@ -0,0 +1,37 @@
+package com.studyplanner.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.studyplanner.backend.entity.EmailOutbox;
+import com.studyplanner.backend.entity.EmailOutbox.Status;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // Rows to send now: pending ones that are due and processing ones whose lease
+    // ran out. Locked with SKIP LOCKED so two instances never claim the same email.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM EmailOutbox o " +
+            "WHERE o.status IN :statuses AND o.nextAttemptAt <= :now " +
+            "ORDER BY o.nextAttemptAt, o.id")
+    List<EmailOutbox> findDueForUpdate(@Param("statuses") Collection<Status> statuses,
+            @Param("now") LocalDateTime now,
+            Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutbox o WHERE o.status = :status AND o.sentAt < :before")
+    int deleteSentBefore(@Param("status") Status status, @Param("before") LocalDateTime before);
+}
@@ -1,26 +1,80 @@
 package com.studyplanner.backend.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.studyplanner.backend.dto.ReminderDue;
 import com.studyplanner.backend.entity.Reminder;
 
 public interface ReminderRepository extends JpaRepository<Reminder, Long> {
 
-    // Used by the scheduler, unsent reminders are sent by the scheduler
+    // Next page of the reminder dispatcher's window, earliest first. Keyset paging on
+    // (reminder_date, reminder_id) so deep pages cost the same as the first one;
+    // served by idx_reminder_unsent_date. Reminders another instance is sending right now are left out.
+    @Query("SELECT new com.studyplanner.backend.dto.ReminderDue(r.id, r.task.id, r.reminderDate) " +
+            "FROM Reminder r " +
+            "WHERE r.reminderSent = false " +
+            "AND (r.leaseExpiresAt IS NULL OR r.leaseExpiresAt < :now) " +
+            "AND (r.reminderDate > :afterDate OR (r.reminderDate = :afterDate AND r.id > :afterId)) " +
+            "AND r.reminderDate < :to " +
+            "ORDER BY r.reminderDate, r.id")
+    List<ReminderDue> findUnsentDue(
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("afterId") long afterId,
+            @Param("to") LocalDateTime to,
+            @Param("now") LocalDateTime now,
+            Limit limit);
+
+    // Leases the unsent, unleased reminders of a chunk to one instance. Rows another
+    // instance is claiming at the same moment are skipped instead of waited for, so
+    // every reminder is sent by exactly one instance while its lease lasts.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE reminder SET lease_owner = :owner, lease_expires_at = :leaseUntil " +
+            "WHERE reminder_id IN (SELECT reminder_id FROM reminder " +
+            "WHERE reminder_id IN (:ids) AND reminder_sent = false " +
+            "AND (lease_expires_at IS NULL OR lease_expires_at < :now) " +
+            "FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int claim(@Param("ids") Collection<Long> ids,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil);
 
+    // The reminders of a chunk this instance holds, with everything the email needs
     @Query("SELECT r FROM Reminder r " +
             "JOIN FETCH r.task t " +
             "JOIN FETCH t.user u " +
-            "WHERE r.reminderSent = false " +
-            "AND r.reminderDate BETWEEN :from AND :to")
-    List<Reminder> findUnsentRemindersInWindow(
+            "WHERE r.id IN :ids " +
+            "AND r.leaseOwner = :owner " +
+            "AND r.reminderSent = false")
+    List<Reminder> findLeasedWithTaskAndUser(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+
+    // Unsent, unleased reminders of digest users due in [from, until), to go out in one email
+    @Query("SELECT r.id FROM Reminder r " +
+            "WHERE r.task.user.id IN :userIds " +
+            "AND r.reminderSent = false " +
+            "AND (r.leaseExpiresAt IS NULL OR r.leaseExpiresAt < :now) " +
+            "AND r.reminderDate >= :from AND r.reminderDate < :until")
+    List<Long> findUnsentIdsForUsers(@Param("userIds") Collection<Long> userIds,
             @Param("from") LocalDateTime from,
-            @Param("to") LocalDateTime to);
+            @Param("until") LocalDateTime until,
+            @Param("now") LocalDateTime now);
+
+    // Marks a whole chunk sent in one statement; bulk updates skip @UpdateTimestamp
+    @Transactional
+    @Modifying
+    @Query("UPDATE Reminder r SET r.reminderSent = true, r.sentAt = :sentAt, r.updatedAt = :sentAt " +
+            "WHERE r.id IN :ids AND r.leaseOwner = :owner AND r.reminderSent = false")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+            @Param("sentAt") LocalDateTime sentAt);
 
     // Check if a reminder already exists for a task to avoid duplicates
     boolean existsByTaskIdAndReminderSentFalse(Long taskId);
@@ -35,4 +89,13 @@ public interface ReminderRepository extends JpaRepository<Reminder, Long> {
             "AND r.reminderSent = false")
     List<Reminder> findUnsentRemindersByUserId(@Param("userId") Long userId);
 
+    // Bulk deletes for many tasks at once (bulk task API)
+    @Modifying
+    @Query("DELETE FROM Reminder r WHERE r.task.id IN :taskIds AND r.reminderSent = false")
+    int deleteUnsentByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @Query("DELETE FROM Reminder r WHERE r.task.id IN :taskIds")
+    int deleteByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+
 }
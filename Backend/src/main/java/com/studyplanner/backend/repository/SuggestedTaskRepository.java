@@ -1,11 +1,13 @@
 package com.studyplanner.backend.repository;
 
+import com.studyplanner.backend.dto.SuggestedTasksDto;
 import com.studyplanner.backend.entity.SuggestedLLM;
 import com.studyplanner.backend.entity.SuggestedLLM.SuggestedStatus;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +17,50 @@ public interface SuggestedTaskRepository extends JpaRepository<SuggestedLLM, Lon
     // Get all suggestions for a user
     List<SuggestedLLM> findByUserId(Long userId);
 
+    // ---- Read-only projections straight into SuggestedTasksDto ----
+    // acceptedTask is left-joined for its id only, so the lazy association is never loaded
+
+    String SUGGESTION_DTO_SELECT = "SELECT new com.studyplanner.backend.dto.SuggestedTasksDto(" +
+            "s.id, s.user.id, s.taskName, s.taskDescription, s.taskDeadline, s.priority, s.status, " +
+            "s.suggestedStatus, s.llmModel, s.createdAt, s.updatedAt, a.id) " +
+            "FROM SuggestedLLM s LEFT JOIN s.acceptedTask a ";
+
+    @Query(SUGGESTION_DTO_SELECT + "WHERE s.user.id = :userId")
+    List<SuggestedTasksDto> findDtosByUserId(@Param("userId") Long userId);
+
+    @Query(SUGGESTION_DTO_SELECT + "WHERE s.user.id = :userId AND s.suggestedStatus = :suggestedStatus")
+    List<SuggestedTasksDto> findDtosByUserIdAndSuggestedStatus(
+            @Param("userId") Long userId,
+            @Param("suggestedStatus") SuggestedStatus suggestedStatus);
+
+    @Query(SUGGESTION_DTO_SELECT +
+            "WHERE s.user.id = :userId AND s.createdAt >= :since " +
+            "ORDER BY s.createdAt DESC")
+    List<SuggestedTasksDto> findRecentDtosByUserId(
+            @Param("userId") Long userId,
+            @Param("since") LocalDateTime since);
+
+    @Query(SUGGESTION_DTO_SELECT + "WHERE s.jobId = :jobId ORDER BY s.id")
+    List<SuggestedTasksDto> findDtosByJobId(@Param("jobId") Long jobId);
+
+    long countByUserId(Long userId);
+
+    // ---- Keyset pagination, newest first by (createdAt, id) ----
+    @Query(SUGGESTION_DTO_SELECT +
+            "WHERE s.user.id = :userId " +
+            "ORDER BY s.createdAt DESC, s.id DESC")
+    List<SuggestedTasksDto> findFirstPage(@Param("userId") Long userId, Limit limit);
+
+    @Query(SUGGESTION_DTO_SELECT +
+            "WHERE s.user.id = :userId AND s.createdAt <= :createdAt " +
+            "AND (s.createdAt < :createdAt OR s.id < :beforeId) " +
+            "ORDER BY s.createdAt DESC, s.id DESC")
+    List<SuggestedTasksDto> findPageBefore(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("beforeId") Long beforeId,
+            Limit limit);
+
     // Get only pending suggestions for a user
     List<SuggestedLLM> findByUserIdAndSuggestedStatus(Long userId, SuggestedStatus suggestedStatus);
 
@@ -0,0 +1,18 @@
+package com.studyplanner.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.studyplanner.backend.entity.SuggestionJob;
+import com.studyplanner.backend.entity.SuggestionJob.Status;
+
+public interface SuggestionJobRepository extends JpaRepository<SuggestionJob, Long> {
+
+    Optional<SuggestionJob> findByIdAndUserId(Long id, Long userId);
+
+    // jobs of a user still waiting for the model; served by idx_suggestion_jobs_user_status
+    long countByUserIdAndStatusInAndCreatedAtAfter(Long userId, Collection<Status> statuses, LocalDateTime after);
+}
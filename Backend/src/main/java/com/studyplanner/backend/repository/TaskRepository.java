@@ -1,15 +1,24 @@
 package com.studyplanner.backend.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.studyplanner.backend.dto.TaskDto;
 import com.studyplanner.backend.entity.Task;
 import com.studyplanner.backend.entity.Task.Priority;
 import com.studyplanner.backend.entity.Task.Status;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskRepositoryCustom {
 
     // All tasks for a user
     List<Task> findByUserId(Long userId);
@@ -35,5 +44,80 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     // by status and priority
     List<Task> findByUserIdAndStatusAndPriority(Long userId, Status status, Priority priority);
 
+    // ---- Read-only projections straight into TaskDto (no entity hydration) ----
+
+    String TASK_DTO_SELECT = "SELECT new com.studyplanner.backend.dto.TaskDto(" +
+            "t.id, t.user.id, t.taskName, t.taskDescription, t.taskDeadline, " +
+            "t.priority, t.status, t.completed, t.sharedByEmail, t.language) " +
+            "FROM Task t ";
+
+    @Query(TASK_DTO_SELECT + "WHERE t.id = :taskId")
+    Optional<TaskDto> findDtoById(@Param("taskId") Long taskId);
+
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId")
+    List<TaskDto> findDtosByUserId(@Param("userId") Long userId);
+
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND t.priority = :priority")
+    List<TaskDto> findDtosByUserIdAndPriority(@Param("userId") Long userId, @Param("priority") Priority priority);
+
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND t.status = :status")
+    List<TaskDto> findDtosByUserIdAndStatus(@Param("userId") Long userId, @Param("status") Status status);
+
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND t.completed = :completed")
+    List<TaskDto> findDtosByUserIdAndCompleted(@Param("userId") Long userId, @Param("completed") boolean completed);
+
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND t.taskDeadline BETWEEN :start AND :end")
+    List<TaskDto> findDtosByUserIdAndTaskDeadlineBetween(
+            @Param("userId") Long userId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND t.taskDeadline = :taskDeadline")
+    List<TaskDto> findDtosByUserIdAndTaskDeadline(
+            @Param("userId") Long userId,
+            @Param("taskDeadline") LocalDateTime taskDeadline);
+
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND t.status = :status AND t.priority = :priority")
+    List<TaskDto> findDtosByUserIdAndStatusAndPriority(
+            @Param("userId") Long userId,
+            @Param("status") Status status,
+            @Param("priority") Priority priority);
+
+    // ---- Keyset pagination, ordered by (deadline, id) with undated tasks last ----
+
+    @Query(TASK_DTO_SELECT +
+            "WHERE t.user.id = :userId AND t.taskDeadline IS NOT NULL " +
+            "ORDER BY t.taskDeadline ASC, t.id ASC")
+    List<TaskDto> findFirstDatedPage(@Param("userId") Long userId, Limit limit);
+
+    // the redundant >= lets the database range-scan (user_id, task_deadline)
+    @Query(TASK_DTO_SELECT +
+            "WHERE t.user.id = :userId AND t.taskDeadline >= :deadline " +
+            "AND (t.taskDeadline > :deadline OR t.id > :afterId) " +
+            "ORDER BY t.taskDeadline ASC, t.id ASC")
+    List<TaskDto> findDatedPageAfter(
+            @Param("userId") Long userId,
+            @Param("deadline") LocalDateTime deadline,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
+    @Query(TASK_DTO_SELECT +
+            "WHERE t.user.id = :userId AND t.taskDeadline IS NULL AND t.id > :afterId " +
+            "ORDER BY t.id ASC")
+    List<TaskDto> findUndatedPageAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Limit limit);
+
+    // ---- Export: the full history in id order, one keyset page at a time ----
+
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND t.id > :afterId ORDER BY t.id ASC")
+    List<TaskDto> findDtoPageAfterId(@Param("userId") Long userId, @Param("afterId") Long afterId, Limit limit);
+
+    // Tasks behind a page of changed Calendar events (pull sync)
+    List<Task> findByUserIdAndGoogleEventIdIn(Long userId, Collection<String> googleEventIds);
+
+    // Written by the calendar sync worker: touches only the event columns, so it cannot
+    // overwrite a concurrent edit of the task and does not bump updated_at
+    @Modifying
+    @Query("UPDATE Task t SET t.googleEventId = :eventId, t.googleEventEtag = :etag WHERE t.id = :taskId")
+    int updateGoogleEvent(@Param("taskId") Long taskId, @Param("eventId") String eventId, @Param("etag") String etag);
 
 }
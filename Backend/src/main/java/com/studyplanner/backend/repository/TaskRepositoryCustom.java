@@ -0,0 +1,16 @@
+package com.studyplanner.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.studyplanner.backend.dto.TaskDto;
+import com.studyplanner.backend.entity.Task;
+
+// Criteria queries that Spring Data can't derive on its own
+public interface TaskRepositoryCustom {
+
+    // Runs a Specification but selects TaskDto directly instead of Task entities
+    List<TaskDto> findDtos(Specification<Task> spec, Sort sort);
+}
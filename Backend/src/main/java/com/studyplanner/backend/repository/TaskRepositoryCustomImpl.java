@@ -0,0 +1,51 @@
+package com.studyplanner.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.studyplanner.backend.dto.TaskDto;
+import com.studyplanner.backend.entity.Task;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskDto> findDtos(Specification<Task> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskDto> query = cb.createQuery(TaskDto.class);
+        Root<Task> root = query.from(Task.class);
+
+        // same column order as TaskRepository.TASK_DTO_SELECT
+        query.select(cb.construct(TaskDto.class,
+                root.get("id"),
+                root.get("user").get("id"),
+                root.get("taskName"),
+                root.get("taskDescription"),
+                root.get("taskDeadline"),
+                root.get("priority"),
+                root.get("status"),
+                root.get("completed"),
+                root.get("sharedByEmail"),
+                root.get("language")));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -1,8 +1,10 @@
 package com.studyplanner.backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -39,6 +41,26 @@ public interface TaskShareInviteRepository extends JpaRepository<TaskShareInvite
             "WHERE i.receiver.id = :receiverId")
     List<TaskShareInvite> findByReceiverIdWithDetails(@Param("receiverId") Long receiverId);
 
+    // ---- Keyset pagination of received invites, newest first by (createdAt, id) ----
+    @Query("SELECT i FROM TaskShareInvite i " +
+            "JOIN FETCH i.sender s " +
+            "JOIN FETCH i.task t " +
+            "WHERE i.receiver.id = :receiverId " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<TaskShareInvite> findFirstReceivedPage(@Param("receiverId") Long receiverId, Limit limit);
+
+    @Query("SELECT i FROM TaskShareInvite i " +
+            "JOIN FETCH i.sender s " +
+            "JOIN FETCH i.task t " +
+            "WHERE i.receiver.id = :receiverId AND i.createdAt <= :createdAt " +
+            "AND (i.createdAt < :createdAt OR i.id < :beforeId) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<TaskShareInvite> findReceivedPageBefore(
+            @Param("receiverId") Long receiverId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("beforeId") Long beforeId,
+            Limit limit);
+
     // All invites sent by a user full history
     List<TaskShareInvite> findBySenderId(Long senderId);
 
@@ -0,0 +1,74 @@
+package com.studyplanner.backend.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.studyplanner.backend.dto.TaskFilterDto;
+import com.studyplanner.backend.entity.Task;
+import com.studyplanner.backend.entity.Task.Priority;
+import com.studyplanner.backend.entity.Task.Status;
+
+// Building blocks for the dynamic task filter query
+public class TaskSpecifications {
+    private TaskSpecifications() {
+        /* This utility class should not be instantiated */
+    }
+
+    // Combines every non-null filter into one WHERE clause, always scoped to the user
+    public static Specification<Task> matching(Long userId, TaskFilterDto filter) {
+        Specification<Task> spec = belongsTo(userId);
+        if (filter == null) {
+            return spec;
+        }
+
+        if (filter.getPriority() != null) {
+            spec = spec.and(hasPriority(filter.getPriority()));
+        }
+        if (filter.getStatus() != null) {
+            spec = spec.and(hasStatus(filter.getStatus()));
+        }
+        if (filter.getCompleted() != null) {
+            spec = spec.and(isCompleted(filter.getCompleted()));
+        }
+        if (filter.getTaskDeadline() != null) {
+            spec = spec.and(deadlineOn(filter.getTaskDeadline()));
+        }
+        if (filter.getFrom() != null) {
+            spec = spec.and(deadlineFrom(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            spec = spec.and(deadlineTo(filter.getTo()));
+        }
+        return spec;
+    }
+
+    // compares the user_id column directly, no join to users
+    public static Specification<Task> belongsTo(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Task> hasPriority(Priority priority) {
+        return (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Task> hasStatus(Status status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> isCompleted(boolean completed) {
+        return (root, query, cb) -> cb.equal(root.get("completed"), completed);
+    }
+
+    public static Specification<Task> deadlineOn(LocalDateTime deadline) {
+        return (root, query, cb) -> cb.equal(root.get("taskDeadline"), deadline);
+    }
+
+    public static Specification<Task> deadlineFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("taskDeadline"), from);
+    }
+
+    public static Specification<Task> deadlineTo(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("taskDeadline"), to);
+    }
+}
@@ -4,11 +4,16 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.studyplanner.backend.entity.User;
 
+import jakarta.persistence.LockModeType;
+
 // The purpose of this repository is to perform CRUD operations on User entities or models.
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -30,4 +35,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> searchUsers(@Param("query") String query,
             @Param("excludeUserId") Long excludeUserId);
 
+    // Users whose Google Calendar has events to pull changes for
+    @Query("SELECT u FROM User u " +
+            "WHERE u.googleAccessToken IS NOT NULL " +
+            "AND EXISTS (SELECT 1 FROM Task t WHERE t.user = u AND t.googleEventId IS NOT NULL)")
+    List<User> findCalendarLinkedUsers();
+
+    // Version of the user's task list, shared by every instance (see TaskListVersions).
+    // Not mapped on User so entity saves never overwrite a concurrent bump.
+    @Query(value = "SELECT task_list_version FROM users WHERE user_id = :userId", nativeQuery = true)
+    Optional<Long> findTaskListVersion(@Param("userId") Long userId);
+
+    // Joins the caller's transaction, so the new version commits together with the write
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE users SET task_list_version = task_list_version + 1 WHERE user_id = :userId",
+            nativeQuery = true)
+    int incrementTaskListVersion(@Param("userId") Long userId);
+
+    // Locks the user's row until the caller's transaction ends; serializes one user's
+    // suggestion job submissions so each sees the jobs queued before it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :userId")
+    Optional<User> findByIdForUpdate(@Param("userId") Long userId);
+
 }
@@ -0,0 +1,76 @@
+package com.studyplanner.backend.scheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.studyplanner.backend.entity.User;
+import com.studyplanner.backend.repository.UserRepository;
+import com.studyplanner.backend.service.CalendarPullService;
+import com.studyplanner.backend.service.impl.CalendarChangesClient;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Pulls edits made in Google Calendar back into tasks. Each user's changes are
+// listed from the stored sync token, so a run only transfers what changed since
+// the previous one. No transaction is held while Google is being called.
+// Every instance runs this job; a user is leased to one of them per run, and
+// the others skip that user until the lease expires.
+@Component
+@Slf4j
+public class CalendarPullScheduler {
+
+    private final UserRepository userRepository;
+    private final CalendarPullService pullService;
+    private final CalendarChangesClient changesClient;
+    private final String nodeId;
+    private final Duration lease;
+
+    @Autowired
+    public CalendarPullScheduler(UserRepository userRepository, CalendarPullService pullService,
+            CalendarChangesClient changesClient,
+            @Value("${app.calendar.pull.node-id:}") String nodeId,
+            @Value("${app.calendar.pull.lease:PT4M}") Duration lease) {
+        this.userRepository = userRepository;
+        this.pullService = pullService;
+        this.changesClient = changesClient;
+        // every instance needs its own owner name; a random one unless configured
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.lease = lease;
+    }
+
+    @Scheduled(fixedDelayString = "${app.calendar.pull.interval-ms:300000}",
+            initialDelayString = "${app.calendar.pull.initial-delay-ms:60000}")
+    public void pullChanges() {
+        List<User> users = userRepository.findCalendarLinkedUsers();
+        int pulled = 0;
+        for (User user : users) {
+            LocalDateTime now = LocalDateTime.now();
+            // the lease is kept after the pull, so no other instance repeats this user in the same run
+            if (!pullService.claim(user.getId(), nodeId, now, now.plus(lease))) {
+                continue;
+            }
+            pullUser(user.getId(), user.getGoogleAccessToken());
+            pulled++;
+        }
+        log.info("Calendar pull sync completed for {} of {} users", pulled, users.size());
+    }
+
+    void pullUser(Long userId, String accessToken) {
+        try {
+            String syncToken = pullService.getSyncToken(userId);
+            String nextSyncToken = changesClient.forEachChangePage(accessToken, syncToken,
+                    page -> pullService.applyChanges(userId, page));
+            // saved only after every page was applied; a failed run repeats from the old token
+            pullService.saveSyncToken(userId, nextSyncToken);
+        } catch (Exception e) {
+            log.warn("Calendar pull sync failed for user {}: {}", userId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.studyplanner.backend.scheduler;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.studyplanner.backend.dto.CalendarSyncBatch;
+import com.studyplanner.backend.dto.CalendarSyncResult;
+import com.studyplanner.backend.service.CalendarOutboxService;
+import com.studyplanner.backend.service.impl.CalendarBatchClient;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Drains the calendar sync outbox. Each poll claims the due rows, sends every
+// user's inserts, patches and deletes as Calendar batch requests on a small worker pool and writes the
+// outcome back; failed rows are retried by a later poll with backoff.
+@Component
+@Slf4j
+public class CalendarSyncScheduler {
+
+    private final CalendarOutboxService outboxService;
+    private final CalendarBatchClient batchClient;
+    private final ThreadPoolExecutor executor;
+    private final int claimLimit;
+
+    @Autowired
+    public CalendarSyncScheduler(CalendarOutboxService outboxService,
+            CalendarBatchClient batchClient,
+            @Value("${app.calendar.outbox.pool-size:4}") int poolSize,
+            @Value("${app.calendar.outbox.claim-limit:500}") int claimLimit) {
+        this.outboxService = outboxService;
+        this.batchClient = batchClient;
+        this.claimLimit = claimLimit;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "calendar-sync-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // fixedDelay: the next poll starts only after every batch of this one finished
+    @Scheduled(fixedDelayString = "${app.calendar.outbox.poll-interval-ms:5000}")
+    public void drainOutbox() {
+        List<CalendarSyncBatch> batches = outboxService.claimDue(claimLimit);
+        if (batches.isEmpty()) {
+            return;
+        }
+
+        List<Future<?>> futures = batches.stream()
+                .<Future<?>>map(batch -> executor.submit(() -> sync(batch)))
+                .toList();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // rows stay PROCESSING and are claimed again once their lease runs out
+                log.error("Calendar sync worker failed: {}", e.getCause().getMessage(), e.getCause());
+            }
+        }
+        log.info("Calendar sync processed {} users", batches.size());
+    }
+
+    void sync(CalendarSyncBatch batch) {
+        Map<Long, CalendarSyncResult> results = new HashMap<>();
+        try {
+            results.putAll(batchClient.send(batch.getAccessToken(), batch.getItems()));
+        } catch (RuntimeException e) {
+            log.warn("Calendar batch for user {} failed: {}", batch.getUserId(), e.getMessage());
+        }
+
+        // every claimed row gets an outcome, even if the API never answered for it
+        for (Long outboxId : batch.getItems().keySet()) {
+            results.putIfAbsent(outboxId, CalendarSyncResult.failed(0, "No response from the Calendar API"));
+        }
+        outboxService.complete(results);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
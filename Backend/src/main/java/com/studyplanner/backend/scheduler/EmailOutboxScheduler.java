@@ -0,0 +1,131 @@
+package com.studyplanner.backend.scheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.studyplanner.backend.config.MailConfig;
+import com.studyplanner.backend.dto.EmailDeliveryResult;
+import com.studyplanner.backend.entity.EmailOutbox;
+import com.studyplanner.backend.service.EmailOutboxService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+// Drains the email outbox. Each poll claims a batch of due emails, sends them on
+// the mail executor over pooled SMTP connections and writes every outcome back in
+// one transaction; failures are retried by a later poll with exponential backoff
+// and end up DEAD after the last attempt. Delivery is at least once: an instance
+// that dies between sending and recording re-sends once its lease runs out.
+@Component
+@Slf4j
+public class EmailOutboxScheduler {
+
+    private static final String UTF = "UTF-8";
+
+    private final EmailOutboxService outboxService;
+    private final JavaMailSender mailSender;
+    private final Executor mailExecutor;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration retention;
+    private final Timer batchTimer;
+
+    @Autowired
+    public EmailOutboxScheduler(EmailOutboxService outboxService,
+            JavaMailSender mailSender,
+            @Qualifier(MailConfig.MAIL_EXECUTOR) Executor mailExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.outbox.batch-size:200}") int batchSize,
+            @Value("${app.mail.outbox.lease:PT5M}") Duration lease,
+            @Value("${app.mail.outbox.retention:P7D}") Duration retention) {
+        this.outboxService = outboxService;
+        this.mailSender = mailSender;
+        this.mailExecutor = mailExecutor;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.retention = retention;
+        this.batchTimer = Timer.builder("email.outbox.batch.duration")
+                .description("Time to send one claimed batch of outbox emails")
+                .register(meterRegistry);
+    }
+
+    // fixedDelay: the next poll starts only after every email of this one finished;
+    // a full batch is followed straight away by the next one
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}")
+    public void drainOutbox() {
+        int sent;
+        do {
+            sent = drainBatch();
+        } while (sent == batchSize && !Thread.currentThread().isInterrupted());
+    }
+
+    // Returns the number of emails claimed
+    int drainBatch() {
+        List<EmailOutbox> batch = outboxService.claimDue(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        long startedAt = System.nanoTime();
+
+        Map<Long, CompletableFuture<EmailDeliveryResult>> futures = new LinkedHashMap<>();
+        for (EmailOutbox email : batch) {
+            // a send not finished within the lease is retried, as another instance may claim it by then
+            futures.put(email.getId(), CompletableFuture.supplyAsync(() -> send(email), mailExecutor)
+                    .completeOnTimeout(EmailDeliveryResult.failed("Not sent within the lease"),
+                            lease.toMillis(), TimeUnit.MILLISECONDS));
+        }
+        Map<Long, EmailDeliveryResult> results = new HashMap<>();
+        futures.forEach((id, future) -> results.put(id, future.join()));
+        outboxService.complete(results);
+
+        batchTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        log.info("Email outbox batch: {} claimed, {} sent", batch.size(),
+                results.values().stream().filter(EmailDeliveryResult::isSuccess).count());
+        return batch.size();
+    }
+
+    EmailDeliveryResult send(EmailOutbox email) {
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, UTF);
+            helper.setTo(email.getRecipient());
+            helper.setSubject(email.getSubject());
+            helper.setText(email.getBody(), true);
+            mailSender.send(message);
+            return EmailDeliveryResult.sent();
+        } catch (MessagingException | MailParseException | MailPreparationException e) {
+            // malformed address or content; the same message would fail again
+            return EmailDeliveryResult.rejected(e.getMessage());
+        } catch (RuntimeException e) {
+            return EmailDeliveryResult.failed(e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.purge-interval-ms:3600000}")
+    public void purgeSent() {
+        int purged = outboxService.purgeSent(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} sent emails from the outbox", purged);
+        }
+    }
+}
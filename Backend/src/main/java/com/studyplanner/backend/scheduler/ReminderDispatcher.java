@@ -0,0 +1,227 @@
+package com.studyplanner.backend.scheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.studyplanner.backend.dto.ReminderDue;
+import com.studyplanner.backend.entity.Reminder;
+import com.studyplanner.backend.repository.ReminderRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Fires each reminder within moments of its reminderDate. Unsent reminders due
+// before the look-ahead horizon wait in a DelayQueue (id, task id and due time
+// only); every refresh moves the horizon forward and loads the next window from
+// the database. Reminders created or cancelled in between are added or dropped
+// directly, so memory is bounded by the horizon rather than the reminder table.
+// Due reminders are handed to ReminderScheduler in chunks of up to chunk-size.
+@Component
+@Slf4j
+public class ReminderDispatcher {
+
+    private final ReminderRepository reminderRepository;
+    private final ReminderScheduler reminderScheduler;
+    private final Duration lookAhead;
+    private final Duration catchUp;
+    private final int maxLoaded;
+    private final int chunkSize;
+    private final Timer lagTimer;
+
+    private final DelayQueue<ScheduledReminder> queue = new DelayQueue<>();
+    private final Map<Long, ScheduledReminder> pending = new ConcurrentHashMap<>();
+    // reminders due before this are in memory; later ones are left to a refresh
+    private volatile LocalDateTime horizon = LocalDateTime.MIN;
+    private Thread worker;
+
+    @Autowired
+    public ReminderDispatcher(ReminderRepository reminderRepository,
+            ReminderScheduler reminderScheduler,
+            @Value("${app.reminders.look-ahead:PT1H}") Duration lookAhead,
+            @Value("${app.reminders.catch-up:PT12H}") Duration catchUp,
+            @Value("${app.reminders.max-loaded:10000}") int maxLoaded,
+            @Value("${app.reminders.chunk-size:500}") int chunkSize,
+            MeterRegistry meterRegistry) {
+        this.reminderRepository = reminderRepository;
+        this.reminderScheduler = reminderScheduler;
+        this.lookAhead = lookAhead;
+        this.catchUp = catchUp;
+        this.maxLoaded = maxLoaded;
+        this.chunkSize = chunkSize;
+        Gauge.builder("reminders.pending", pending, Map::size)
+                .description("Reminders waiting in memory for their due time")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("reminders.dispatch.lag")
+                .description("Delay between a reminder's due time and its dispatch")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::dispatchLoop, "reminder-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    // Must run more often than the look-ahead, so a window is loaded before it is due.
+    // Reminders missed while the server was down are still sent if at most catch-up late.
+    @Scheduled(fixedDelayString = "${app.reminders.refresh-interval-ms:60000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(lookAhead);
+        // moved before the query so reminders created while it runs are not missed
+        horizon = until;
+
+        // keyset pages of one chunk each, until the window or max-loaded is exhausted
+        LocalDateTime afterDate = now.minus(catchUp);
+        long afterId = 0;
+        int loaded = 0;
+        int added = 0;
+        while (loaded < maxLoaded) {
+            int limit = Math.min(chunkSize, maxLoaded - loaded);
+            List<ReminderDue> page = reminderRepository.findUnsentDue(afterDate, afterId, until, now,
+                    Limit.of(limit));
+            for (ReminderDue reminder : page) {
+                if (enqueue(reminder)) {
+                    added++;
+                }
+            }
+            loaded += page.size();
+            if (page.size() < limit) {
+                break;
+            }
+            ReminderDue last = page.get(page.size() - 1);
+            afterDate = last.getReminderDate();
+            afterId = last.getReminderId();
+            if (loaded >= maxLoaded) {
+                // truncated window: only what was loaded is covered until the next refresh
+                horizon = afterDate;
+            }
+        }
+        log.debug("Reminder window refreshed up to {}: {} added, {} pending", horizon, added, pending.size());
+    }
+
+    // Called when a reminder is saved; it is queued once the transaction commits
+    public void schedule(Reminder reminder) {
+        if (reminder.getReminderDate() == null || !reminder.getReminderDate().isBefore(horizon)) {
+            return;
+        }
+        ReminderDue due = new ReminderDue(reminder.getId(), reminder.getTask().getId(), reminder.getReminderDate());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(due);
+                }
+            });
+        } else {
+            enqueue(due);
+        }
+    }
+
+    // Drops the pending reminders of these tasks. Done right away: if the transaction
+    // rolls back, the next refresh loads them again.
+    public void cancelForTasks(Collection<Long> taskIds) {
+        Set<Long> ids = new HashSet<>(taskIds);
+        for (ScheduledReminder reminder : pending.values()) {
+            if (ids.contains(reminder.taskId) && pending.remove(reminder.reminderId, reminder)) {
+                queue.remove(reminder);
+            }
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private boolean enqueue(ReminderDue due) {
+        ScheduledReminder reminder = new ScheduledReminder(due.getReminderId(), due.getTaskId(),
+                due.getReminderDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        if (pending.putIfAbsent(reminder.reminderId, reminder) != null) {
+            return false;
+        }
+        queue.add(reminder);
+        return true;
+    }
+
+    // Takes the next due reminder plus whatever else is already due, up to one chunk
+    private void dispatchLoop() {
+        List<ScheduledReminder> due = new ArrayList<>(chunkSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                due.add(queue.take());
+                queue.drainTo(due, chunkSize - 1);
+
+                long now = System.currentTimeMillis();
+                List<Long> reminderIds = new ArrayList<>(due.size());
+                for (ScheduledReminder reminder : due) {
+                    // not pending any more: cancelled after it was taken
+                    if (pending.remove(reminder.reminderId, reminder)) {
+                        reminderIds.add(reminder.reminderId);
+                        lagTimer.record(Math.max(0, now - reminder.dueAtMillis), TimeUnit.MILLISECONDS);
+                    }
+                }
+                reminderScheduler.sendReminders(reminderIds);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Reminder dispatch failed: {}", e.getMessage());
+            } finally {
+                due.clear();
+            }
+        }
+    }
+
+    private static final class ScheduledReminder implements Delayed {
+
+        private final long reminderId;
+        private final Long taskId;
+        private final long dueAtMillis;
+
+        private ScheduledReminder(long reminderId, Long taskId, long dueAtMillis) {
+            this.reminderId = reminderId;
+            this.taskId = taskId;
+            this.dueAtMillis = dueAtMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((ScheduledReminder) other).dueAtMillis);
+        }
+    }
+}
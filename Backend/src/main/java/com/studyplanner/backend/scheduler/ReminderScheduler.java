@@ -1,72 +1,226 @@
 package com.studyplanner.backend.scheduler;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-
-import org.springframework.scheduling.annotation.Scheduled;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
+import com.studyplanner.backend.dto.NotificationEvent;
+import com.studyplanner.backend.dto.ReminderNotificationDto;
 import com.studyplanner.backend.entity.Reminder;
 import com.studyplanner.backend.entity.Task;
 import com.studyplanner.backend.entity.User;
 import com.studyplanner.backend.repository.ReminderRepository;
 import com.studyplanner.backend.service.EmailService;
+import com.studyplanner.backend.service.NotificationService;
 
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
+// Sends the chunks of reminders ReminderDispatcher fires. Every instance fires
+// the same reminders, so a chunk is first leased to this instance (SKIP LOCKED);
+// only the reminders it won are read, and their emails are queued in the email
+// outbox in the same transaction that marks them sent with one bulk UPDATE.
+// Reminders cancelled, already sent or leased by another instance are skipped.
+// A lease left by a crashed instance expires and the reminder is claimed again
+// on a later refresh. Users who opted into digests get one email listing all
+// their reminders due within the digest window.
 @Component
-@AllArgsConstructor
 @Slf4j
 public class ReminderScheduler {
 
     private final EmailService emailService;
     private final ReminderRepository reminderRepository;
+    private final NotificationService notificationService;
+    private final TransactionOperations transactionOperations;
+    private final String nodeId;
+    private final Duration lease;
+    private final Duration digestWindow;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter skippedCounter;
+    private final Counter digestCounter;
+    private final Timer chunkTimer;
+
+    @Autowired
+    public ReminderScheduler(EmailService emailService, ReminderRepository reminderRepository,
+            NotificationService notificationService, TransactionOperations transactionOperations,
+            MeterRegistry meterRegistry,
+            @Value("${app.reminders.node-id:}") String nodeId,
+            @Value("${app.reminders.lease:PT5M}") Duration lease,
+            @Value("${app.reminders.digest-window:PT24H}") Duration digestWindow) {
+        this.emailService = emailService;
+        this.reminderRepository = reminderRepository;
+        this.notificationService = notificationService;
+        this.transactionOperations = transactionOperations;
+        // every instance needs its own owner name; a random one unless configured
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.lease = lease;
+        this.digestWindow = digestWindow;
+        this.sentCounter = Counter.builder("reminders.sent")
+                .description("Reminder emails queued and marked sent")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("reminders.failed")
+                .description("Reminders left unsent because the email could not be queued")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("reminders.skipped")
+                .description("Fired reminders that were cancelled, already sent or claimed by another instance")
+                .register(meterRegistry);
+        this.digestCounter = Counter.builder("reminders.digests")
+                .description("Digest emails sent in place of several reminder emails to one user")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("reminders.chunk.duration")
+                .description("Time to read, send and mark one chunk of reminders")
+                .register(meterRegistry);
+    }
 
-    // Run every day at server time of 8:00 Am
-    // Find all unsent reminders with in that time
-
-    @Scheduled(cron = "0 0 8 * * *")
-    @Transactional
-    public void processReminders() {
+    // Returns the number of reminders marked sent
+    public int sendReminders(Collection<Long> reminderIds) {
+        if (reminderIds.isEmpty()) {
+            return 0;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            return sendChunk(reminderIds);
+        } finally {
+            chunkTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
 
+    private int sendChunk(Collection<Long> reminderIds) {
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime windowEnd = now.plusHours(1); // to avoid double sending
+        if (reminderRepository.claim(reminderIds, nodeId, now, now.plus(lease)) == 0) {
+            skippedCounter.increment(reminderIds.size());
+            return 0;
+        }
+        List<Reminder> leased = reminderRepository.findLeasedWithTaskAndUser(reminderIds, nodeId);
+        skippedCounter.increment(reminderIds.size() - leased.size());
+
+        List<Reminder> reminders = withDigestReminders(leased, now);
+
+        // the emails are queued in the outbox in the same transaction that marks the
+        // reminders sent, so a reminder is either both queued and marked or neither
+        List<Long> sent = new ArrayList<>(reminders.size());
+        int marked = transactionOperations.execute(status -> {
+            Map<Long, List<Reminder>> digests = new LinkedHashMap<>();
+            for (Reminder reminder : reminders) {
+                User user = reminder.getTask().getUser();
+                if (user.isReminderDigest()) {
+                    digests.computeIfAbsent(user.getId(), id -> new ArrayList<>()).add(reminder);
+                } else {
+                    sendSingle(reminder, sent);
+                }
+            }
+            for (List<Reminder> digest : digests.values()) {
+                sendDigest(digest, sent);
+            }
+            return sent.isEmpty() ? 0 : reminderRepository.markSent(sent, nodeId, LocalDateTime.now());
+        });
+        sentCounter.increment(marked);
+        if (marked > 0) {
+            notifySent(reminders, sent);
+        }
+        log.info("Processed reminder chunk: {} fired, {} sent, {} failed", reminderIds.size(), marked,
+                reminders.size() - sent.size());
+        return marked;
+    }
 
-        log.info("Processing reminders for window: {} to {}", now, now, windowEnd);
+    // Users who opted into digests get the rest of their reminders due within the
+    // digest window claimed now as well, so one email covers all of them. Those
+    // reminders are skipped when they fire later, as they are already sent.
+    private List<Reminder> withDigestReminders(List<Reminder> reminders, LocalDateTime now) {
+        Set<Long> userIds = new HashSet<>();
+        LocalDateTime from = null;
+        for (Reminder reminder : reminders) {
+            User user = reminder.getTask().getUser();
+            if (user.isReminderDigest()) {
+                userIds.add(user.getId());
+                LocalDateTime date = reminder.getReminderDate();
+                if (date != null && (from == null || date.isBefore(from))) {
+                    from = date;
+                }
+            }
+        }
+        if (userIds.isEmpty()) {
+            return reminders;
+        }
+        Set<Long> fired = reminders.stream().map(Reminder::getId).collect(Collectors.toSet());
+        List<Long> extraIds = reminderRepository.findUnsentIdsForUsers(userIds,
+                from != null ? from : now, now.plus(digestWindow), now).stream()
+                .filter(id -> !fired.contains(id))
+                .toList();
+        if (extraIds.isEmpty() || reminderRepository.claim(extraIds, nodeId, now, now.plus(lease)) == 0) {
+            return reminders;
+        }
+        List<Reminder> all = new ArrayList<>(reminders);
+        all.addAll(reminderRepository.findLeasedWithTaskAndUser(extraIds, nodeId));
+        return all;
+    }
 
-        List<Reminder> reminders = reminderRepository.findUnsentRemindersInWindow(now, windowEnd);
+    private void sendSingle(Reminder reminder, List<Long> sent) {
+        try {
+            Task task = reminder.getTask();
+            User user = task.getUser();
+
+            // send email
+            emailService.sendTaskReminderEmail(user.getEmail(), fullName(user), task);
+            sent.add(reminder.getId());
+        } catch (Exception e) {
+            // stays unsent and leased; retried by a refresh once the lease expires
+            failedCounter.increment();
+            log.error("Failed to process reminder id={}: {} ", reminder.getId(),
+                    e.getMessage());
+        }
+    }
 
-        if (reminders.isEmpty()) {
-            log.info("No reminders to send ");
+    private void sendDigest(List<Reminder> reminders, List<Long> sent) {
+        if (reminders.size() == 1) {
+            // nothing to collapse; the regular reminder reads better
+            sendSingle(reminders.get(0), sent);
             return;
         }
+        User user = reminders.get(0).getTask().getUser();
+        try {
+            List<Task> tasks = reminders.stream().map(Reminder::getTask).toList();
+            emailService.sendReminderDigestEmail(user.getEmail(), fullName(user), tasks);
+            reminders.forEach(reminder -> sent.add(reminder.getId()));
+            digestCounter.increment();
+        } catch (Exception e) {
+            failedCounter.increment(reminders.size());
+            log.error("Failed to send reminder digest to user id={}: {}", user.getId(), e.getMessage());
+        }
+    }
 
+    // In-app counterpart of the email, for users with the planner open
+    private void notifySent(List<Reminder> reminders, List<Long> sent) {
+        Set<Long> sentIds = new HashSet<>(sent);
         for (Reminder reminder : reminders) {
-            try {
+            if (sentIds.contains(reminder.getId())) {
                 Task task = reminder.getTask();
-                User user = task.getUser();
-
-                String fullName = user.getFirstName() + " " + user.getLastName();
-
-                // send enail
-                emailService.sendTaskReminderEmail(user.getEmail(), fullName, task);
-
-                // Mark reminders as a sent
-                reminder.setReminderSent(true);
-                reminder.setSentAt(LocalDateTime.now());
-                reminderRepository.save(reminder);
-
-                log.info("Proccessed reminder id={} for task='{}' user='{}'", reminder.getId(), task.getTaskName(),
-                        user.getEmail());
-            } catch (Exception e) {
-                log.error("Failed to process reminder id={}: {} ", reminder.getId(),
-                        e.getMessage());
+                notificationService.publish(task.getUser().getId(), NotificationEvent.Type.REMINDER,
+                        new ReminderNotificationDto(reminder.getId(), task.getId(), task.getTaskName(),
+                                task.getTaskDeadline()));
             }
         }
+    }
 
-        log.info("Reminder scheduler completed. Processed {} reminders.", reminders.size());
+    private static String fullName(User user) {
+        return user.getFirstName() + " " + user.getLastName();
     }
 
 }
@@ -0,0 +1,29 @@
+package com.studyplanner.backend.security;
+
+import java.io.Serializable;
+import java.security.Principal;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+// Lightweight principal built from verified JWT claims.
+// Carries the userId so controllers never have to reload the User entity
+// just to find out who is calling.
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class AuthenticatedUser implements Principal, Serializable {
+
+    private final Long userId;
+    private final String email;
+
+    // Authentication.getName() resolves to this, so code that still looks up
+    // the user by email keeps working
+    @Override
+    public String getName() {
+        return email;
+    }
+}
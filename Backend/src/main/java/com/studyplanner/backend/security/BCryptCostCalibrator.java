@@ -0,0 +1,42 @@
+package com.studyplanner.backend.security;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Picks the BCrypt cost factor for this machine at startup.
+// Each extra round doubles the hash time, so we walk up from the minimum and
+// keep the highest cost whose single hash still fits in the target time.
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Password-123";
+
+    private BCryptCostCalibrator() {
+        /* This utility class should not be instantiated */
+    }
+
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        // warm up the JIT so the first measurement isn't inflated
+        BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(4));
+
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long elapsed = measure(strength);
+            log.debug("BCrypt cost {} took {} ms", strength, elapsed);
+            if (elapsed > targetMillis) {
+                break;
+            }
+            chosen = strength;
+        }
+
+        log.info("BCrypt cost factor calibrated to {} (target {} ms)", chosen, targetMillis);
+        return chosen;
+    }
+
+    private static long measure(int strength) {
+        long start = System.nanoTime();
+        BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(strength));
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
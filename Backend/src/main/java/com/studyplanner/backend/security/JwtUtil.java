@@ -7,21 +7,72 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
+    // tokens without an exp claim are only trusted from the cache this long
+    private static final long DEFAULT_CACHE_TTL_MS = TimeUnit.MINUTES.toMillis(5);
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private long expirationMs;
 
+    @Value("${jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize = 10_000;
+
+    // built once on first use (fields are injected after construction)
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+    private volatile Cache<String, Claims> verifiedTokens;
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes());
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parser().verifyWith(getSigningKey()).build();
+            parser = current;
+        }
+        return current;
+    }
+
+    private Cache<String, Claims> getVerifiedTokens() {
+        Cache<String, Claims> cache = verifiedTokens;
+        if (cache == null) {
+            synchronized (this) {
+                cache = verifiedTokens;
+                if (cache == null) {
+                    cache = Caffeine.newBuilder()
+                            .maximumSize(verifiedCacheSize)
+                            .expireAfter(new TokenExpiry())
+                            .build();
+                    verifiedTokens = cache;
+                }
+            }
+        }
+        return cache;
     }
 
     // called at login - pass the userId (Long) from the User entity
@@ -35,28 +86,54 @@ public class JwtUtil {
                 .compact();
     }
 
+    // Single entry point for incoming tokens: verifies the signature and
+    // returns the claims. Recently verified tokens are served from a bounded
+    // cache keyed by the token hash until the token itself expires.
+    public Claims verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Token must not be empty");
+        }
+
+        String key = hash(token);
+        Cache<String, Claims> cache = getVerifiedTokens();
+        Claims cached = cache.getIfPresent(key);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
+
+        // throws JwtException for a bad signature, malformed or expired token
+        Claims claims = getParser().parseSignedClaims(token).getPayload();
+        cache.put(key, claims);
+        return claims;
+    }
+
     // Extract userId from any incoming request with a JWT token
+    // returns null when the token has no numeric userId claim (older tokens)
     public Long extractUserId(String token) {
-        Object userId = getClaims(token).get("userId");
+        return extractUserId(verify(token));
+    }
+
+    public Long extractUserId(Claims claims) {
+        Object userId = claims.get("userId");
 
-        if (userId instanceof Integer integer)
-            return integer.longValue();
+        if (userId instanceof Number number)
+            return number.longValue();
 
-        return ((Long) userId);
+        return null;
     }
 
     public String extractEmail(String token) {
-        return getClaims(token).getSubject();
+        return verify(token).getSubject();
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        String email = extractEmail(token);
-        return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        Claims claims = verify(token);
+        return (claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims));
     }
 
     public boolean validateToken(String token) {
         try {
-            getClaims(token);
+            verify(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             // Log the exception or handle it as needed
@@ -64,15 +141,42 @@ public class JwtUtil {
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return getClaims(token).getExpiration().before(new Date());
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory on every JVM
+            throw new IllegalStateException(e);
+        }
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    // Cache entries live until the token's own exp claim
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            long ttlMs = expiration != null
+                    ? expiration.getTime() - System.currentTimeMillis()
+                    : DEFAULT_CACHE_TTL_MS;
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package com.studyplanner.backend.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.studyplanner.backend.dto.CalendarSyncBatch;
+import com.studyplanner.backend.dto.CalendarSyncResult;
+import com.studyplanner.backend.entity.Task;
+
+public interface CalendarOutboxService {
+
+    // queue a calendar insert/patch in the caller's transaction; tasks without a deadline,
+    // users without a Google token and tasks already waiting are skipped
+    void enqueue(Task task);
+
+    void enqueueAll(Collection<Task> tasks);
+
+    // queue removal of the tasks' events; tasks that were never pushed are skipped
+    void enqueueDeletes(Collection<Task> tasks);
+
+    // lease up to limit due rows to the worker, grouped per user
+    List<CalendarSyncBatch> claimDue(int limit);
+
+    // record what the Calendar API answered for each claimed row (keyed by outbox id):
+    // event ids and etags go onto the tasks, failures are retried later
+    void complete(Map<Long, CalendarSyncResult> results);
+}
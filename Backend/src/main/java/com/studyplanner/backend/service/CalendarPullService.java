@@ -0,0 +1,20 @@
+package com.studyplanner.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.google.api.services.calendar.model.Event;
+
+public interface CalendarPullService {
+
+    // lease the user's pull sync to owner; false if another instance holds it
+    boolean claim(Long userId, String owner, LocalDateTime now, LocalDateTime leaseUntil);
+
+    // token of the last completed sync, null if the user was never synced
+    String getSyncToken(Long userId);
+
+    void saveSyncToken(Long userId, String syncToken);
+
+    // apply one page of changed events to the user's tasks; returns the number of tasks changed
+    int applyChanges(Long userId, List<Event> events);
+}
@@ -0,0 +1,23 @@
+package com.studyplanner.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.studyplanner.backend.dto.EmailDeliveryResult;
+import com.studyplanner.backend.entity.EmailOutbox;
+
+public interface EmailOutboxService {
+
+    // queue a rendered email in the caller's transaction
+    void enqueue(EmailOutbox.Type type, String recipient, String subject, String htmlBody);
+
+    // lease up to limit due emails to this worker
+    List<EmailOutbox> claimDue(int limit);
+
+    // record the outcome of each claimed email (keyed by outbox id); failures are retried with backoff
+    void complete(Map<Long, EmailDeliveryResult> results);
+
+    // drop sent emails older than the cutoff; returns the number removed
+    int purgeSent(LocalDateTime before);
+}
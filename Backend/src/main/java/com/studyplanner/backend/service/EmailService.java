@@ -1,5 +1,7 @@
 package com.studyplanner.backend.service;
 
+import java.util.List;
+
 import com.studyplanner.backend.entity.Task;
 import com.studyplanner.backend.entity.User;
 
@@ -7,6 +9,9 @@ public interface EmailService {
 
     void sendTaskReminderEmail(String email, String firstName, Task task);
 
+    // One email listing several tasks, for users who opted into reminder digests
+    void sendReminderDigestEmail(String email, String firstName, List<Task> tasks);
+
     void sendWelcomeEmail(String email, String firstName);
 
     void sendShareInviteEmail(String toEmail,
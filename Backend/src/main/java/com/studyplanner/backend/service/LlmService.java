@@ -2,6 +2,8 @@ package com.studyplanner.backend.service;
 
 import com.studyplanner.backend.dto.LlmTaskGenerationRequest;
 import com.studyplanner.backend.dto.LlmTaskGenerationResponse;
+import com.studyplanner.backend.dto.SuggestionJobDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface LlmService {
 
@@ -9,6 +11,17 @@ public interface LlmService {
 
     LlmTaskGenerationResponse generateTaskSuggestions(LlmTaskGenerationRequest request, Long userId);
 
+    // check the quota and queue the generation as a job; the LLM is called on a
+    // worker pool and the caller polls getSuggestionJob for the outcome
+    SuggestionJobDto submitSuggestionJob(LlmTaskGenerationRequest request, Long userId);
+
+    // status of one of the user's jobs, with its suggestions once it has succeeded
+    SuggestionJobDto getSuggestionJob(Long jobId, Long userId);
+
+    // same as generateTaskSuggestions, but each suggestion is saved and sent as a
+    // "suggestion" event as soon as the model finishes it, followed by a "done" event
+    SseEmitter streamTaskSuggestions(LlmTaskGenerationRequest request, Long userId);
+
     // check if user has exceeded their LLM limit for the period of time.
     // user can have 50 suggestion per month
     boolean canUserRequestMoreSuggestions(Long userId);
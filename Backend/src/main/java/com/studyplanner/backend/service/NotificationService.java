@@ -0,0 +1,14 @@
+package com.studyplanner.backend.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.studyplanner.backend.dto.NotificationEvent;
+
+public interface NotificationService {
+
+    // Opens a notification stream for the user
+    SseEmitter subscribe(Long userId);
+
+    // Pushes the event to the user's open streams once the current transaction commits
+    void publish(Long userId, NotificationEvent.Type type, Object data);
+}
@@ -1,5 +1,8 @@
 package com.studyplanner.backend.service;
 
+import java.util.Collection;
+import java.util.List;
+
 import com.studyplanner.backend.entity.Task;
 
 public interface ReminderService {
@@ -10,4 +13,14 @@ public interface ReminderService {
     // cancel a reminder for a task incase the task is deleted or deadline is
     // changed or completed
     void cancelReminderForTask(Long taskId);
+
+    // bulk variants: one saveAll / one delete statement for many tasks.
+    // createRemindersForTasks expects tasks without an unsent reminder
+    // (new tasks, or tasks whose reminders were just cancelled)
+    void createRemindersForTasks(List<Task> tasks);
+
+    void cancelRemindersForTasks(Collection<Long> taskIds);
+
+    // removes sent and unsent reminders, before the tasks themselves are deleted
+    void deleteRemindersForTasks(Collection<Long> taskIds);
 }
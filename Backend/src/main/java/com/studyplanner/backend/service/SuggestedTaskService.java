@@ -3,6 +3,7 @@ package com.studyplanner.backend.service;
 import java.util.List;
 import java.util.Map;
 
+import com.studyplanner.backend.dto.CursorPage;
 import com.studyplanner.backend.dto.SuggestedTasksDto;
 import com.studyplanner.backend.dto.SuggestionBatchResponseDto;
 import com.studyplanner.backend.dto.SuggestionResponseDto;
@@ -16,6 +17,9 @@ public interface SuggestedTaskService {
     // get all suggestions for a user regardless of status, for analytics
     List<SuggestedTasksDto> getAllSuggestions(Long userId);
 
+    // one page of the suggestion history, newest first
+    CursorPage<SuggestedTasksDto> getSuggestionsPage(Long userId, String cursor, Integer limit);
+
     // accept a suggested task and copies it to the task table and also create a
     // reminder for it if deadline qualifies.
     TaskDto acceptSuggestion(Long suggestionId, Long userId);
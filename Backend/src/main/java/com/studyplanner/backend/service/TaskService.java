@@ -2,8 +2,13 @@ package com.studyplanner.backend.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import com.studyplanner.backend.dto.BulkTaskRequestDto;
+import com.studyplanner.backend.dto.BulkTaskResponseDto;
+import com.studyplanner.backend.dto.CursorPage;
 import com.studyplanner.backend.dto.TaskDto;
+import com.studyplanner.backend.dto.TaskFilterDto;
 import com.studyplanner.backend.entity.Task.Priority;
 import com.studyplanner.backend.entity.Task.Status;
 
@@ -19,6 +24,12 @@ public interface TaskService {
     // get all tasks belonging to user
     List<TaskDto> getTasksByUserId(Long userId);
 
+    // hands every task of the user to the consumer, one row at a time (export)
+    void forEachTask(Long userId, Consumer<TaskDto> consumer);
+
+    // one page of the user's tasks ordered by (deadline, id), undated tasks last
+    CursorPage<TaskDto> getTasksPage(Long userId, String cursor, Integer limit);
+
     // Filter by priority
     List<TaskDto> getTasksByPriority(Long userId, Priority priority);
 
@@ -37,6 +48,9 @@ public interface TaskService {
     // Filter by status and priority for a user
     List<TaskDto> getTasksByStatusAndPriority(Long userId, Status status, Priority priority);
 
+    // Apply any combination of filters and sorting in a single query
+    List<TaskDto> filterTasks(Long userId, TaskFilterDto filter);
+
     // -----UPDATE-------
     // update task by id
     TaskDto updateTask(Long userId, Long taskId, TaskDto taskDto);
@@ -53,4 +67,8 @@ public interface TaskService {
     // -----DELETE-------
     // delete task by id
     void deleteTask(Long taskId, Long userId);
+
+    // -----BULK-------
+    // create, update and delete many tasks of one user in a single transaction
+    BulkTaskResponseDto applyBulk(Long userId, BulkTaskRequestDto request);
 }
@@ -2,6 +2,7 @@ package com.studyplanner.backend.service;
 
 import java.util.List;
 
+import com.studyplanner.backend.dto.CursorPage;
 import com.studyplanner.backend.dto.ShareTaskDto;
 import com.studyplanner.backend.dto.TaskShareInviteDto;
 import com.studyplanner.backend.dto.UserLoginDto;
@@ -37,6 +38,9 @@ public interface UserService {
     // Get full history
     List<TaskShareInviteDto> getAllReceivedInvites(Long userId);
 
+    // One page of the received history, newest first
+    CursorPage<TaskShareInviteDto> getReceivedInvitesPage(Long userId, String cursor, Integer limit);
+
     // count unread invites for in-app notification badge
     long countPendingInvites(Long userId);
 
@@ -0,0 +1,112 @@
+package com.studyplanner.backend.service.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.services.calendar.Calendar;
+import com.google.api.services.calendar.model.Event;
+import com.studyplanner.backend.dto.CalendarSyncItem;
+import com.studyplanner.backend.dto.CalendarSyncResult;
+
+// Sends many event changes of one user as Calendar batch requests:
+// one HTTP round trip per batchSize calls instead of one per event.
+@Component
+public class CalendarBatchClient {
+
+    private static final String CALENDAR_ID = "primary";
+
+    private final CalendarClientFactory clientFactory;
+    private final int batchSize;
+
+    @Autowired
+    public CalendarBatchClient(CalendarClientFactory clientFactory,
+            @Value("${app.calendar.outbox.batch-size:50}") int batchSize) {
+        this.clientFactory = clientFactory;
+        this.batchSize = batchSize;
+    }
+
+    // Applies the items to the user's primary calendar. Every key ends up in the result,
+    // either with the API's answer for its part or with the error of its whole batch request.
+    public Map<Long, CalendarSyncResult> send(String accessToken, Map<Long, CalendarSyncItem> items) {
+        Calendar calendar = clientFactory.forToken(accessToken);
+        Map<Long, CalendarSyncResult> results = new HashMap<>();
+
+        List<Map.Entry<Long, CalendarSyncItem>> entries = new ArrayList<>(items.entrySet());
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            BatchRequest batch = calendar.batch(calendar.getRequestFactory().getInitializer())
+                    .setBatchUrl(new GenericUrl(calendar.getRootUrl() + "batch/calendar/v3"));
+            List<Map.Entry<Long, CalendarSyncItem>> chunk = entries.subList(from, Math.min(from + batchSize, entries.size()));
+            try {
+                for (Map.Entry<Long, CalendarSyncItem> entry : chunk) {
+                    queue(calendar, batch, entry.getKey(), entry.getValue(), results);
+                }
+                batch.execute();
+            } catch (IOException e) {
+                for (Map.Entry<Long, CalendarSyncItem> entry : chunk) {
+                    results.putIfAbsent(entry.getKey(), CalendarSyncResult.failed(0, e.getMessage()));
+                }
+            }
+        }
+        return results;
+    }
+
+    private void queue(Calendar calendar, BatchRequest batch, Long key, CalendarSyncItem item,
+            Map<Long, CalendarSyncResult> results) throws IOException {
+        switch (item.getAction()) {
+            case INSERT -> calendar.events().insert(CALENDAR_ID, item.getEvent())
+                    .queue(batch, eventCallback(key, results));
+            case PATCH -> {
+                Calendar.Events.Patch patch = calendar.events().patch(CALENDAR_ID, item.getEventId(), item.getEvent());
+                if (item.getEtag() != null) {
+                    patch.setRequestHeaders(new HttpHeaders().setIfMatch(item.getEtag()));
+                }
+                patch.queue(batch, eventCallback(key, results));
+            }
+            case DELETE -> calendar.events().delete(CALENDAR_ID, item.getEventId())
+                    .queue(batch, new JsonBatchCallback<Void>() {
+                        @Override
+                        public void onSuccess(Void empty, HttpHeaders responseHeaders) {
+                            results.put(key, CalendarSyncResult.deleted());
+                        }
+
+                        @Override
+                        public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                            results.put(key, failure(error));
+                        }
+                    });
+        }
+    }
+
+    private static JsonBatchCallback<Event> eventCallback(Long key, Map<Long, CalendarSyncResult> results) {
+        return new JsonBatchCallback<>() {
+            @Override
+            public void onSuccess(Event event, HttpHeaders responseHeaders) {
+                results.put(key, CalendarSyncResult.synced(event.getId(), event.getEtag()));
+            }
+
+            @Override
+            public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                results.put(key, failure(error));
+            }
+        };
+    }
+
+    private static CalendarSyncResult failure(GoogleJsonError error) {
+        if (error == null) {
+            return CalendarSyncResult.failed(0, "Calendar API error without details");
+        }
+        return CalendarSyncResult.failed(error.getCode(), error.getCode() + " " + error.getMessage());
+    }
+}
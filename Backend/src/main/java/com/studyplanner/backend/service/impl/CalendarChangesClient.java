@@ -0,0 +1,76 @@
+package com.studyplanner.backend.service.impl;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.services.calendar.Calendar;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.Events;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Lists what changed in a user's primary calendar since the last sync token.
+// Without a token (first sync, or Google invalidated it) the whole calendar is
+// listed once; its nextSyncToken makes every later call incremental.
+@Component
+@Slf4j
+public class CalendarChangesClient {
+
+    private static final String CALENDAR_ID = "primary";
+    // only what the pull sync reads; cancelled events come back with just id and status
+    private static final String FIELDS = "items(id,etag,status,summary,description,start),nextPageToken,nextSyncToken";
+
+    private final CalendarClientFactory clientFactory;
+    private final int pageSize;
+
+    @Autowired
+    public CalendarChangesClient(CalendarClientFactory clientFactory,
+            @Value("${app.calendar.pull.page-size:250}") int pageSize) {
+        this.clientFactory = clientFactory;
+        this.pageSize = pageSize;
+    }
+
+    // Hands every page of changed events to the consumer and returns the next sync token
+    public String forEachChangePage(String accessToken, String syncToken, Consumer<List<Event>> pageConsumer)
+            throws IOException {
+        Calendar calendar = clientFactory.forToken(accessToken);
+        try {
+            return listPages(calendar, syncToken, pageConsumer);
+        } catch (GoogleJsonResponseException e) {
+            if (e.getStatusCode() != 410 || syncToken == null) {
+                throw e;
+            }
+            // 410 Gone: the token expired, Google wants a full listing again
+            log.info("Calendar sync token expired, running a full sync");
+            return listPages(calendar, null, pageConsumer);
+        }
+    }
+
+    private String listPages(Calendar calendar, String syncToken, Consumer<List<Event>> pageConsumer)
+            throws IOException {
+        String pageToken = null;
+        Events page;
+        do {
+            Calendar.Events.List request = calendar.events().list(CALENDAR_ID)
+                    .setMaxResults(pageSize)
+                    .setPageToken(pageToken)
+                    .setFields(FIELDS);
+            if (syncToken != null) {
+                request.setSyncToken(syncToken);
+            }
+            page = request.execute();
+            if (page.getItems() != null && !page.getItems().isEmpty()) {
+                pageConsumer.accept(page.getItems());
+            }
+            pageToken = page.getNextPageToken();
+        } while (pageToken != null);
+        // only the last page carries the token
+        return page.getNextSyncToken();
+    }
+}
@@ -0,0 +1,81 @@
+package com.studyplanner.backend.service.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.api.client.http.apache.ApacheHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.calendar.Calendar;
+import com.google.auth.http.HttpCredentialsAdapter;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Hands out Calendar clients that all share one pooled HTTP transport, so
+// connections (and their TLS handshakes) are reused across pushes. Clients are
+// cached per access token and dropped after the configured TTL, which is kept
+// just under the lifetime of a Google access token.
+@Component
+@Slf4j
+public class CalendarClientFactory {
+
+    private final ApacheHttpTransport transport;
+    private final String rootUrl;
+    private final Cache<String, Calendar> clients;
+
+    @Autowired
+    @SuppressWarnings("deprecation") // google-http-client 1.23 only accepts the legacy HttpClient API
+    public CalendarClientFactory(MeterRegistry meterRegistry,
+            @Value("${app.calendar.api-root-url:https://www.googleapis.com/}") String rootUrl,
+            @Value("${app.calendar.http.max-connections:50}") int maxConnections,
+            @Value("${app.calendar.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${app.calendar.client-cache.max-size:1000}") long maxClients,
+            @Value("${app.calendar.client-cache.ttl:PT55M}") Duration clientTtl) {
+        this.rootUrl = rootUrl.endsWith("/") ? rootUrl : rootUrl + "/";
+
+        DefaultHttpClient httpClient = ApacheHttpTransport.newDefaultHttpClient();
+        ThreadSafeClientConnManager pool = (ThreadSafeClientConnManager) httpClient.getConnectionManager();
+        pool.setMaxTotal(maxConnections);
+        // every call goes to the same host
+        pool.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        this.transport = new ApacheHttpTransport(httpClient);
+
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterWrite(clientTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, clients, "calendar.clients");
+    }
+
+    public Calendar forToken(String accessToken) {
+        return clients.get(accessToken, this::createCalendar);
+    }
+
+    private Calendar createCalendar(String accessToken) {
+        // no expiry on the credential itself: it cannot refresh, the cache drops it instead
+        GoogleCredentials credentials = GoogleCredentials.create(new AccessToken(accessToken, null));
+        return new Calendar.Builder(transport, GsonFactory.getDefaultInstance(), new HttpCredentialsAdapter(credentials))
+                .setRootUrl(rootUrl)
+                .setApplicationName("Study Planner")
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        clients.invalidateAll();
+        transport.shutdown();
+    }
+}
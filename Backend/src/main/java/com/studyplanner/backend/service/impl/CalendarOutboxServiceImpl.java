@@ -0,0 +1,228 @@
+package com.studyplanner.backend.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.google.api.services.calendar.model.Event;
+import com.studyplanner.backend.dto.CalendarSyncBatch;
+import com.studyplanner.backend.dto.CalendarSyncItem;
+import com.studyplanner.backend.dto.CalendarSyncResult;
+import com.studyplanner.backend.entity.CalendarSyncOutbox;
+import com.studyplanner.backend.entity.CalendarSyncOutbox.Operation;
+import com.studyplanner.backend.entity.CalendarSyncOutbox.Status;
+import com.studyplanner.backend.entity.Task;
+import com.studyplanner.backend.entity.User;
+import com.studyplanner.backend.mapper.CalendarEventMapper;
+import com.studyplanner.backend.repository.CalendarSyncOutboxRepository;
+import com.studyplanner.backend.repository.TaskRepository;
+import com.studyplanner.backend.repository.UserRepository;
+import com.studyplanner.backend.service.CalendarOutboxService;
+import com.studyplanner.backend.util.RetryBackoff;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class CalendarOutboxServiceImpl implements CalendarOutboxService {
+
+    private final CalendarSyncOutboxRepository outboxRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final Duration lease;
+    private final RetryBackoff retryBackoff;
+    private final int maxAttempts;
+
+    @Autowired
+    public CalendarOutboxServiceImpl(CalendarSyncOutboxRepository outboxRepository,
+            TaskRepository taskRepository,
+            UserRepository userRepository,
+            @Value("${app.calendar.outbox.lease:PT5M}") Duration lease,
+            @Value("${app.calendar.outbox.retry-base-delay:PT30S}") Duration retryBaseDelay,
+            @Value("${app.calendar.outbox.retry-max-delay:PT1H}") Duration retryMaxDelay,
+            @Value("${app.calendar.outbox.max-attempts:8}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.lease = lease;
+        this.retryBackoff = new RetryBackoff(retryBaseDelay, retryMaxDelay);
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    @Transactional
+    public void enqueue(Task task) {
+        enqueueAll(List.of(task));
+    }
+
+    @Override
+    @Transactional
+    public void enqueueAll(Collection<Task> tasks) {
+        List<Task> syncable = tasks.stream()
+                .filter(task -> task.getTaskDeadline() != null)
+                .filter(task -> task.getUser().getGoogleAccessToken() != null)
+                .toList();
+        if (syncable.isEmpty()) {
+            return;
+        }
+
+        // a pending row is sent with the task's state at send time, so it already covers this change
+        Set<Long> waiting = new HashSet<>(outboxRepository.findTaskIdsByOperationAndStatus(Operation.UPSERT,
+                Status.PENDING, syncable.stream().map(Task::getId).toList()));
+        LocalDateTime now = LocalDateTime.now();
+        List<CalendarSyncOutbox> rows = new ArrayList<>();
+        for (Task task : syncable) {
+            if (waiting.add(task.getId())) {
+                rows.add(CalendarSyncOutbox.builder()
+                        .taskId(task.getId())
+                        .userId(task.getUser().getId())
+                        .operation(Operation.UPSERT)
+                        .status(Status.PENDING)
+                        .nextAttemptAt(now)
+                        .build());
+            }
+        }
+        outboxRepository.saveAll(rows);
+    }
+
+    @Override
+    @Transactional
+    public void enqueueDeletes(Collection<Task> tasks) {
+        LocalDateTime now = LocalDateTime.now();
+        List<CalendarSyncOutbox> rows = tasks.stream()
+                .filter(task -> task.getGoogleEventId() != null)
+                .map(task -> CalendarSyncOutbox.builder()
+                        .taskId(task.getId())
+                        .userId(task.getUser().getId())
+                        .operation(Operation.DELETE)
+                        .googleEventId(task.getGoogleEventId())
+                        .status(Status.PENDING)
+                        .nextAttemptAt(now)
+                        .build())
+                .toList();
+        outboxRepository.saveAll(rows);
+    }
+
+    // Marks the claimed rows PROCESSING until the lease runs out, so a crashed
+    // worker's rows are picked up again by the next poll
+    @Override
+    @Transactional
+    public List<CalendarSyncBatch> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<CalendarSyncOutbox> due = outboxRepository.findDueForUpdate(
+                List.of(Status.PENDING.name(), Status.PROCESSING.name()), now, limit);
+        if (due.isEmpty()) {
+            return List.of();
+        }
+
+        // one query each for the tasks and their owners, whatever the number of rows
+        Map<Long, Task> tasks = taskRepository.findAllById(due.stream().map(CalendarSyncOutbox::getTaskId).toList())
+                .stream().collect(Collectors.toMap(Task::getId, Function.identity()));
+        Map<Long, User> users = userRepository.findAllById(due.stream().map(CalendarSyncOutbox::getUserId).toList())
+                .stream().collect(Collectors.toMap(User::getId, Function.identity()));
+
+        Map<Long, Map<Long, CalendarSyncItem>> itemsByUser = new LinkedHashMap<>();
+        for (CalendarSyncOutbox row : due) {
+            User user = users.get(row.getUserId());
+            CalendarSyncItem item = row.getOperation() == Operation.DELETE
+                    ? CalendarSyncItem.delete(row.getGoogleEventId())
+                    : upsertItem(tasks.get(row.getTaskId()));
+            if (item == null) {
+                // deleted or undated since it was queued - nothing left to push
+                row.setStatus(Status.DONE);
+                continue;
+            }
+            if (user == null || user.getGoogleAccessToken() == null) {
+                row.setStatus(Status.FAILED);
+                row.setLastError("No Google access token");
+                continue;
+            }
+            row.setStatus(Status.PROCESSING);
+            row.setNextAttemptAt(now.plus(lease));
+            itemsByUser.computeIfAbsent(row.getUserId(), id -> new LinkedHashMap<>()).put(row.getId(), item);
+        }
+
+        return itemsByUser.entrySet().stream()
+                .map(entry -> new CalendarSyncBatch(entry.getKey(),
+                        users.get(entry.getKey()).getGoogleAccessToken(), entry.getValue()))
+                .toList();
+    }
+
+    // first push inserts the event, later ones patch it conditionally on the stored etag
+    private static CalendarSyncItem upsertItem(Task task) {
+        if (task == null || task.getTaskDeadline() == null) {
+            return null;
+        }
+        Event event = CalendarEventMapper.mapToEvent(task);
+        return task.getGoogleEventId() == null
+                ? CalendarSyncItem.insert(event)
+                : CalendarSyncItem.patch(task.getGoogleEventId(), task.getGoogleEventEtag(), event);
+    }
+
+    @Override
+    @Transactional
+    public void complete(Map<Long, CalendarSyncResult> results) {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (CalendarSyncOutbox row : outboxRepository.findAllById(results.keySet())) {
+            CalendarSyncResult result = results.get(row.getId());
+            boolean delete = row.getOperation() == Operation.DELETE;
+
+            if (result.isSuccess() || (delete && result.isGone())) {
+                row.setStatus(Status.DONE);
+                row.setLastError(null);
+                if (!delete) {
+                    row.setGoogleEventId(result.getEventId());
+                    if (taskRepository.updateGoogleEvent(row.getTaskId(), result.getEventId(), result.getEtag()) == 0) {
+                        // the task was deleted while its event was being created - remove the event again
+                        outboxRepository.save(CalendarSyncOutbox.builder()
+                                .taskId(row.getTaskId())
+                                .userId(row.getUserId())
+                                .operation(Operation.DELETE)
+                                .googleEventId(result.getEventId())
+                                .status(Status.PENDING)
+                                .nextAttemptAt(now)
+                                .build());
+                    }
+                    log.info("Task {} synced to Google Calendar with event ID: {}", row.getTaskId(), result.getEventId());
+                }
+                continue;
+            }
+
+            row.setAttempts(row.getAttempts() + 1);
+            row.setLastError(RetryBackoff.truncateError(result.getError()));
+            if (result.isConflict()) {
+                // the user edited the event in Google Calendar; their version wins
+                row.setStatus(Status.DONE);
+                log.info("Event of task {} changed in Google Calendar, update skipped", row.getTaskId());
+            } else if (result.isGone()) {
+                // the patched event was deleted in Google Calendar; forget it so the retry inserts a new one
+                taskRepository.updateGoogleEvent(row.getTaskId(), null, null);
+                row.setStatus(Status.PENDING);
+                row.setNextAttemptAt(now);
+            } else if (row.getAttempts() >= maxAttempts) {
+                row.setStatus(Status.FAILED);
+                log.error("Giving up on calendar sync of task {} after {} attempts: {}",
+                        row.getTaskId(), row.getAttempts(), row.getLastError());
+            } else {
+                row.setStatus(Status.PENDING);
+                row.setNextAttemptAt(now.plus(retryBackoff.delay(row.getAttempts())));
+                log.warn("Calendar sync of task {} failed (attempt {}), retrying at {}: {}",
+                        row.getTaskId(), row.getAttempts(), row.getNextAttemptAt(), row.getLastError());
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.studyplanner.backend.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.google.api.services.calendar.model.Event;
+import com.studyplanner.backend.cache.TaskListVersions;
+import com.studyplanner.backend.entity.CalendarSyncState;
+import com.studyplanner.backend.entity.Task;
+import com.studyplanner.backend.mapper.CalendarEventMapper;
+import com.studyplanner.backend.repository.CalendarSyncStateRepository;
+import com.studyplanner.backend.repository.TaskRepository;
+import com.studyplanner.backend.service.CalendarPullService;
+import com.studyplanner.backend.service.ReminderService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@AllArgsConstructor
+@Slf4j
+public class CalendarPullServiceImpl implements CalendarPullService {
+
+    // task_name and task_description are VARCHAR(255)
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final CalendarSyncStateRepository syncStateRepository;
+    private final TaskRepository taskRepository;
+    private final ReminderService reminderService;
+    private final TaskListVersions taskListVersions;
+
+    // No surrounding transaction: each statement commits on its own, so a lost insert
+    // race does not roll back the claim after it.
+    @Override
+    public boolean claim(Long userId, String owner, LocalDateTime now, LocalDateTime leaseUntil) {
+        try {
+            syncStateRepository.insertIfMissing(userId);
+        } catch (DataIntegrityViolationException e) {
+            // another instance created the row first; the claim below decides who syncs
+            log.debug("Calendar sync state of user {} created concurrently", userId);
+        }
+        return syncStateRepository.claim(userId, owner, now, leaseUntil) > 0;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getSyncToken(Long userId) {
+        return syncStateRepository.findById(userId).map(CalendarSyncState::getSyncToken).orElse(null);
+    }
+
+    @Override
+    @Transactional
+    public void saveSyncToken(Long userId, String syncToken) {
+        CalendarSyncState state = syncStateRepository.findById(userId)
+                .orElseGet(() -> CalendarSyncState.builder().userId(userId).build());
+        state.setSyncToken(syncToken);
+        state.setLastSyncedAt(LocalDateTime.now());
+        syncStateRepository.save(state);
+    }
+
+    // Events that are not ours (no task has their id) are ignored. An event whose
+    // etag matches the task's is the echo of our own push and is skipped too.
+    @Override
+    @Transactional
+    public int applyChanges(Long userId, List<Event> events) {
+        Map<String, Event> byId = events.stream()
+                .filter(event -> event.getId() != null)
+                .collect(Collectors.toMap(Event::getId, Function.identity(), (older, newer) -> newer));
+        if (byId.isEmpty()) {
+            return 0;
+        }
+
+        int changed = 0;
+        for (Task task : taskRepository.findByUserIdAndGoogleEventIdIn(userId, byId.keySet())) {
+            Event event = byId.get(task.getGoogleEventId());
+            if ("cancelled".equals(event.getStatus())) {
+                // deleted in Google Calendar: the task stays, it is just no longer linked
+                task.setGoogleEventId(null);
+                task.setGoogleEventEtag(null);
+                changed++;
+                continue;
+            }
+            if (Objects.equals(event.getEtag(), task.getGoogleEventEtag())) {
+                continue;
+            }
+
+            LocalDateTime oldDeadline = task.getTaskDeadline();
+            applyEvent(task, event);
+            task.setGoogleEventEtag(event.getEtag());
+            if (!Objects.equals(oldDeadline, task.getTaskDeadline())) {
+                // moved in the calendar: same rule as updateTask, the reminder follows the deadline
+                reminderService.cancelReminderForTask(task.getId());
+                reminderService.createReminderForTask(task);
+            }
+            changed++;
+        }
+
+        if (changed > 0) {
+            taskListVersions.bump(userId);
+            log.info("Pulled {} calendar changes into tasks of user {}", changed, userId);
+        }
+        return changed;
+    }
+
+    // Fields cleared in the calendar keep the task's value; the columns are NOT NULL
+    private static void applyEvent(Task task, Event event) {
+        if (event.getSummary() != null) {
+            task.setTaskName(truncate(event.getSummary()));
+        }
+        if (event.getDescription() != null) {
+            task.setTaskDescription(truncate(event.getDescription()));
+        }
+        LocalDateTime deadline = CalendarEventMapper.mapToDeadline(event);
+        if (deadline != null) {
+            task.setTaskDeadline(deadline);
+        }
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_TEXT_LENGTH ? value : value.substring(0, MAX_TEXT_LENGTH);
+    }
+}
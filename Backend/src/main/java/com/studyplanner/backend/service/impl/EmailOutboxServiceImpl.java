@@ -0,0 +1,148 @@
+package com.studyplanner.backend.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.studyplanner.backend.dto.EmailDeliveryResult;
+import com.studyplanner.backend.entity.EmailOutbox;
+import com.studyplanner.backend.entity.EmailOutbox.Status;
+import com.studyplanner.backend.entity.EmailOutbox.Type;
+import com.studyplanner.backend.repository.EmailOutboxRepository;
+import com.studyplanner.backend.service.EmailOutboxService;
+import com.studyplanner.backend.util.RetryBackoff;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final Duration lease;
+    private final RetryBackoff retryBackoff;
+    private final int maxAttempts;
+    private final Map<Type, Counter> enqueuedCounters = new EnumMap<>(Type.class);
+    private final Map<Type, Counter> sentCounters = new EnumMap<>(Type.class);
+    private final Map<Type, Counter> retriedCounters = new EnumMap<>(Type.class);
+    private final Map<Type, Counter> deadCounters = new EnumMap<>(Type.class);
+    private final Map<Type, Timer> latencyTimers = new EnumMap<>(Type.class);
+
+    @Autowired
+    public EmailOutboxServiceImpl(EmailOutboxRepository outboxRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.outbox.lease:PT5M}") Duration lease,
+            @Value("${app.mail.outbox.retry-base-delay:PT30S}") Duration retryBaseDelay,
+            @Value("${app.mail.outbox.retry-max-delay:PT1H}") Duration retryMaxDelay,
+            @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.lease = lease;
+        this.retryBackoff = new RetryBackoff(retryBaseDelay, retryMaxDelay);
+        this.maxAttempts = maxAttempts;
+        for (Type type : Type.values()) {
+            String tag = type.name().toLowerCase(Locale.ROOT);
+            enqueuedCounters.put(type, Counter.builder("email.outbox.enqueued")
+                    .description("Emails written to the outbox")
+                    .tag("type", tag)
+                    .register(meterRegistry));
+            sentCounters.put(type, Counter.builder("email.outbox.sent")
+                    .description("Outbox emails accepted by the SMTP server")
+                    .tag("type", tag)
+                    .register(meterRegistry));
+            retriedCounters.put(type, Counter.builder("email.outbox.retried")
+                    .description("Failed sends scheduled for another attempt")
+                    .tag("type", tag)
+                    .register(meterRegistry));
+            deadCounters.put(type, Counter.builder("email.outbox.dead")
+                    .description("Emails given up on and left in the DEAD state")
+                    .tag("type", tag)
+                    .register(meterRegistry));
+            latencyTimers.put(type, Timer.builder("email.outbox.delivery.latency")
+                    .description("Time from queueing an email to the SMTP server accepting it")
+                    .tag("type", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void enqueue(Type type, String recipient, String subject, String htmlBody) {
+        outboxRepository.save(EmailOutbox.builder()
+                .type(type)
+                .recipient(recipient)
+                .subject(subject)
+                .body(htmlBody)
+                .status(Status.PENDING)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        enqueuedCounters.get(type).increment();
+    }
+
+    // Marks the claimed rows PROCESSING until the lease runs out, so a crashed
+    // worker's emails are picked up again by a later poll
+    @Override
+    @Transactional
+    public List<EmailOutbox> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> due = outboxRepository.findDueForUpdate(
+                List.of(Status.PENDING, Status.PROCESSING), now, Limit.of(limit));
+        for (EmailOutbox row : due) {
+            row.setStatus(Status.PROCESSING);
+            row.setNextAttemptAt(now.plus(lease));
+        }
+        return due;
+    }
+
+    @Override
+    @Transactional
+    public void complete(Map<Long, EmailDeliveryResult> results) {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (EmailOutbox row : outboxRepository.findAllById(results.keySet())) {
+            EmailDeliveryResult result = results.get(row.getId());
+            if (result.isSuccess()) {
+                row.setStatus(Status.SENT);
+                row.setSentAt(now);
+                row.setLastError(null);
+                sentCounters.get(row.getType()).increment();
+                if (row.getCreatedAt() != null) {
+                    latencyTimers.get(row.getType()).record(Duration.between(row.getCreatedAt(), now));
+                }
+                continue;
+            }
+
+            row.setAttempts(row.getAttempts() + 1);
+            row.setLastError(RetryBackoff.truncateError(result.getError()));
+            if (result.isPermanent() || row.getAttempts() >= maxAttempts) {
+                row.setStatus(Status.DEAD);
+                deadCounters.get(row.getType()).increment();
+                log.error("Giving up on {} email {} to {} after {} attempts: {}", row.getType(), row.getId(),
+                        row.getRecipient(), row.getAttempts(), row.getLastError());
+            } else {
+                row.setStatus(Status.PENDING);
+                row.setNextAttemptAt(now.plus(retryBackoff.delay(row.getAttempts())));
+                retriedCounters.get(row.getType()).increment();
+                log.warn("{} email {} failed (attempt {}), retrying at {}: {}", row.getType(), row.getId(),
+                        row.getAttempts(), row.getNextAttemptAt(), row.getLastError());
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public int purgeSent(LocalDateTime before) {
+        return outboxRepository.deleteSentBefore(Status.SENT, before);
+    }
+}
@@ -2,106 +2,123 @@ package com.studyplanner.backend.service.impl;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.studyplanner.backend.cache.SuggestionPromptCache;
+import com.studyplanner.backend.config.LlmConfig;
 import com.studyplanner.backend.dto.LlmTaskGenerationRequest;
+import com.studyplanner.backend.dto.NotificationEvent;
 import com.studyplanner.backend.dto.LlmTaskGenerationResponse;
 import com.studyplanner.backend.dto.SuggestedTasksDto;
+import com.studyplanner.backend.dto.SuggestionJobDto;
 import com.studyplanner.backend.entity.SuggestedLLM;
 import com.studyplanner.backend.entity.SuggestedLLM.Priority;
 import com.studyplanner.backend.entity.SuggestedLLM.Status;
 import com.studyplanner.backend.entity.SuggestedLLM.SuggestedStatus;
+import com.studyplanner.backend.entity.SuggestionJob;
 import com.studyplanner.backend.entity.User;
 import com.studyplanner.backend.exception.LlmResponseParseException;
 import com.studyplanner.backend.exception.ResourceNotFoundException;
+import com.studyplanner.backend.exception.ServiceOverloadedException;
 import com.studyplanner.backend.mapper.SuggestedTasksMapper;
 import com.studyplanner.backend.repository.SuggestedTaskRepository;
+import com.studyplanner.backend.repository.SuggestionJobRepository;
 import com.studyplanner.backend.repository.UserRepository;
 import com.studyplanner.backend.service.LlmService;
+import com.studyplanner.backend.service.NotificationService;
+import com.studyplanner.backend.util.JsonObjectStreamParser;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
 public class LlmServiceImpl implements LlmService {
 
+    private static final String LLM_MODEL = "gemini-1.5-flash";
+    private static final String QUOTA_EXCEEDED =
+            "Monthly LLM quota exceeded. You can request more suggestions next month.";
+    private static final List<SuggestionJob.Status> UNFINISHED_JOBS =
+            List.of(SuggestionJob.Status.QUEUED, SuggestionJob.Status.RUNNING);
+
     private final ChatClient chatClient;
     private final UserRepository userRepository;
     private final SuggestedTaskRepository suggestedTaskRepository;
+    private final SuggestionJobRepository suggestionJobRepository;
     private final ObjectMapper objectMapper;
+    private final NotificationService notificationService;
+    private final SuggestionPromptCache promptCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor llmExecutor;
     private final int monthlyQuota;
+    private final Duration streamTimeout;
+    private final Duration jobTimeout;
 
     public LlmServiceImpl(ChatClient.Builder chatClientBuilder,
                           UserRepository userRepository,
                           SuggestedTaskRepository suggestedTaskRepository,
+                          SuggestionJobRepository suggestionJobRepository,
                           ObjectMapper objectMapper,
-                          @Value("${app.llm.monthly-quota:50}") int monthlyQuota) {
+                          NotificationService notificationService,
+                          SuggestionPromptCache promptCache,
+                          PlatformTransactionManager transactionManager,
+                          @Qualifier(LlmConfig.LLM_EXECUTOR) Executor llmExecutor,
+                          @Value("${app.llm.monthly-quota:50}") int monthlyQuota,
+                          @Value("${app.llm.stream-timeout:PT2M}") Duration streamTimeout,
+                          @Value("${app.llm.jobs.timeout:PT5M}") Duration jobTimeout) {
         this.chatClient = chatClientBuilder.build();
         this.userRepository = userRepository;
         this.suggestedTaskRepository = suggestedTaskRepository;
+        this.suggestionJobRepository = suggestionJobRepository;
         this.objectMapper = objectMapper;
+        this.notificationService = notificationService;
+        this.promptCache = promptCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.llmExecutor = llmExecutor;
         this.monthlyQuota = monthlyQuota;
+        this.streamTimeout = streamTimeout;
+        this.jobTimeout = jobTimeout;
     }
 
+    // Not @Transactional: the LLM round trip takes seconds and must not pin a
+    // pooled connection. Only the final save runs in a (short) transaction.
     @Override
-    @Transactional
     public LlmTaskGenerationResponse generateTaskSuggestions(
             LlmTaskGenerationRequest request, Long userId) {
 
-        if (!canUserRequestMoreSuggestions(userId)) {
-            throw new IllegalStateException(
-                    "Monthly LLM quota exceeded. You can request more suggestions next month.");
-        }
-
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        // Build prompts
-        String systemPrompt = buildSystemPrompt(request.getLanguage());
-        String userPrompt = "User request: " + request.getPrompt();
-        if (request.getAdditionalContext() != null && !request.getAdditionalContext().isBlank()) {
-            userPrompt += "\nAdditional context: " + request.getAdditionalContext();
-        }
-
-        // Call Spring AI ChatClient — replaces your manual HTTP client
-        String rawResponse = chatClient.prompt()
-                .system(systemPrompt)
-                .user(userPrompt)
-                .call()
-                .content();
-
-        log.info("LLM raw response: {}", rawResponse);
-
-        // Parse response
-        List<SuggestedTasksDto> parsedTasks = parseLlmResponse(rawResponse);
+        User user = requireUserWithQuota(userId);
+        GeneratedTasks generated = generateTasks(request);
 
         // Save to database
-        List<SuggestedTasksDto> savedSuggestions = new ArrayList<>();
-        for (SuggestedTasksDto taskDto : parsedTasks) {
-            SuggestedLLM entity = SuggestedLLM.builder()
-                    .user(user)
-                    .taskName(taskDto.getTaskName())
-                    .taskDescription(taskDto.getTaskDescription())
-                    .taskDeadline(taskDto.getTaskDeadline())
-                    .priority(taskDto.getPriority() != null ? taskDto.getPriority() : Priority.MEDIUM)
-                    .status(Status.PENDING)
-                    .suggestedStatus(SuggestedStatus.PENDING)
-                    .llmResponse(rawResponse)
-                    .llmModel("gemini-1.5-flash")
-                    .build();
-
-            SuggestedLLM saved = suggestedTaskRepository.save(entity);
-            savedSuggestions.add(SuggestedTasksMapper.toDto(saved));
+        List<SuggestedTasksDto> savedSuggestions = transactionTemplate.execute(
+                status -> saveSuggestions(user, generated.tasks, generated.rawResponse, null));
+        if (!savedSuggestions.isEmpty()) {
+            notificationService.publish(userId, NotificationEvent.Type.SUGGESTION, savedSuggestions);
         }
 
         return LlmTaskGenerationResponse.builder()
@@ -111,6 +128,91 @@ public class LlmServiceImpl implements LlmService {
                 .build();
     }
 
+    @Override
+    public SuggestionJobDto submitSuggestionJob(LlmTaskGenerationRequest request, Long userId) {
+        SuggestionJob job = transactionTemplate.execute(status -> {
+            // with the user's row locked, a burst of submissions is checked one at a time
+            userRepository.findByIdForUpdate(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+            // a queued or running job will use quota too; each counts as at least one suggestion.
+            // Jobs past the timeout are never finished by a worker and no longer count.
+            long inFlight = suggestionJobRepository.countByUserIdAndStatusInAndCreatedAtAfter(userId,
+                    UNFINISHED_JOBS, LocalDateTime.now().minus(jobTimeout));
+            if (getRemainingMonthlyQuota(userId) <= inFlight) {
+                throw new IllegalStateException(QUOTA_EXCEEDED);
+            }
+            return suggestionJobRepository.save(SuggestionJob.builder()
+                    .userId(userId)
+                    .prompt(request.getPrompt())
+                    .additionalContext(request.getAdditionalContext())
+                    .language(request.getLanguage())
+                    .status(SuggestionJob.Status.QUEUED)
+                    .build());
+        });
+
+        Long jobId = job.getId();
+        try {
+            llmExecutor.execute(() -> runSuggestionJob(jobId));
+        } catch (RejectedExecutionException e) {
+            finishJob(jobId, SuggestionJob.Status.FAILED, null, "Too many suggestion requests in progress");
+            throw new ServiceOverloadedException("Too many suggestion requests, please retry shortly");
+        }
+        log.info("Queued suggestion job {} for user {}", jobId, userId);
+        return toJobDto(job, List.of());
+    }
+
+    @Override
+    public SuggestionJobDto getSuggestionJob(Long jobId, Long userId) {
+        SuggestionJob job = suggestionJobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Suggestion job not found"));
+
+        // a worker lost to a restart never finishes its job; report it instead of
+        // leaving the client polling forever
+        if (!job.getStatus().isFinished()
+                && job.getCreatedAt() != null
+                && job.getCreatedAt().isBefore(LocalDateTime.now().minus(jobTimeout))) {
+            finishJob(jobId, SuggestionJob.Status.FAILED, null, "Suggestion generation timed out");
+            job = suggestionJobRepository.findByIdAndUserId(jobId, userId).orElseThrow();
+        }
+
+        List<SuggestedTasksDto> suggestions = job.getStatus() == SuggestionJob.Status.SUCCEEDED
+                ? suggestedTaskRepository.findDtosByJobId(jobId)
+                : List.of();
+        return toJobDto(job, suggestions);
+    }
+
+    @Override
+    public SseEmitter streamTaskSuggestions(LlmTaskGenerationRequest request, Long userId) {
+        User user = requireUserWithQuota(userId);
+
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        LocalDate today = LocalDate.now();
+        Optional<List<SuggestedTasksDto>> cached = promptCache.get(request, today);
+        // a cache hit is replayed through the same parser as one chunk
+        Flux<String> content = cached.isPresent()
+                ? Flux.just(toTasksJson(cached.get()))
+                : chatClient.prompt()
+                        .system(buildSystemPrompt(request.getLanguage()))
+                        .user(buildUserPrompt(request))
+                        .stream()
+                        .content();
+        SuggestionStream stream = new SuggestionStream(user, emitter, cached.isPresent() ? null : request, today);
+
+        // client went away or the stream timed out: stop generating. Registered
+        // before subscribing, since the generation may end before this method returns.
+        Disposable.Swap generation = Disposables.swap();
+        emitter.onCompletion(generation::dispose);
+        emitter.onTimeout(generation::dispose);
+        emitter.onError(e -> generation.dispose());
+
+        // The model's stream iterates a blocking response; subscribing on this thread
+        // would generate the whole answer before the emitter reaches the client.
+        generation.update(content
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(stream::onChunk, stream::onError, stream::onComplete));
+        return emitter;
+    }
+
     @Override
     public boolean canUserRequestMoreSuggestions(Long userId) {
         return getRemainingMonthlyQuota(userId) > 0;
@@ -135,6 +237,153 @@ public class LlmServiceImpl implements LlmService {
     // Private helpers
     // ─────────────────────────────────────────────────────────────────────────────
 
+    private User requireUserWithQuota(Long userId) {
+        if (!canUserRequestMoreSuggestions(userId)) {
+            throw new IllegalStateException(QUOTA_EXCEEDED);
+        }
+
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+
+    // Parsed tasks for the request: from the prompt cache when an equivalent request
+    // was answered recently, otherwise from the model, whose answer is then cached
+    private GeneratedTasks generateTasks(LlmTaskGenerationRequest request) {
+        LocalDate today = LocalDate.now();
+        Optional<List<SuggestedTasksDto>> cached = promptCache.get(request, today);
+        if (cached.isPresent()) {
+            log.info("Serving {} suggestion(s) from the prompt cache", cached.get().size());
+            return new GeneratedTasks(cached.get(), toTasksJson(cached.get()));
+        }
+
+        String rawResponse = chatClient.prompt()
+                .system(buildSystemPrompt(request.getLanguage()))
+                .user(buildUserPrompt(request))
+                .call()
+                .content();
+
+        log.info("LLM raw response: {}", rawResponse);
+
+        List<SuggestedTasksDto> parsedTasks = parseLlmResponse(rawResponse);
+        promptCache.put(request, today, parsedTasks);
+        return new GeneratedTasks(parsedTasks, rawResponse);
+    }
+
+    // same shape as the model's answer; kept as llmResponse for cached suggestions
+    private String toTasksJson(List<SuggestedTasksDto> tasks) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode taskArray = root.putArray("tasks");
+        for (SuggestedTasksDto task : tasks) {
+            taskArray.addObject()
+                    .put("taskName", task.getTaskName())
+                    .put("taskDescription", task.getTaskDescription())
+                    .put("taskDeadline", task.getTaskDeadline().toString())
+                    .put("priority", task.getPriority() != null ? task.getPriority().name() : null);
+        }
+        return root.toString();
+    }
+
+    // Runs on the LLM pool. Each database step is its own short transaction;
+    // the model call in between holds no connection.
+    private void runSuggestionJob(Long jobId) {
+        SuggestionJob job = transactionTemplate.execute(status -> {
+            SuggestionJob queued = suggestionJobRepository.findById(jobId).orElse(null);
+            if (queued == null || queued.getStatus() != SuggestionJob.Status.QUEUED) {
+                return null;
+            }
+            queued.setStatus(SuggestionJob.Status.RUNNING);
+            queued.setStartedAt(LocalDateTime.now());
+            return suggestionJobRepository.save(queued);
+        });
+        if (job == null) {
+            return;
+        }
+
+        try {
+            LlmTaskGenerationRequest request = LlmTaskGenerationRequest.builder()
+                    .prompt(job.getPrompt())
+                    .additionalContext(job.getAdditionalContext())
+                    .language(job.getLanguage())
+                    .build();
+            GeneratedTasks generated = generateTasks(request);
+
+            List<SuggestedTasksDto> saved = transactionTemplate.execute(status -> {
+                List<SuggestedTasksDto> suggestions = saveSuggestions(
+                        userRepository.getReferenceById(job.getUserId()), generated.tasks,
+                        generated.rawResponse, jobId);
+                markFinished(jobId, SuggestionJob.Status.SUCCEEDED, suggestions.size(), null);
+                return suggestions;
+            });
+            notificationService.publish(job.getUserId(), NotificationEvent.Type.SUGGESTION, saved);
+            log.info("Suggestion job {} generated {} suggestion(s)", jobId, saved.size());
+        } catch (RuntimeException e) {
+            log.error("Suggestion job {} failed: {}", jobId, e.getMessage());
+            finishJob(jobId, SuggestionJob.Status.FAILED, null,
+                    e instanceof LlmResponseParseException ? e.getMessage() : "Suggestion generation failed");
+        }
+    }
+
+    private void finishJob(Long jobId, SuggestionJob.Status status, Integer totalGenerated, String error) {
+        transactionTemplate.executeWithoutResult(tx -> markFinished(jobId, status, totalGenerated, error));
+    }
+
+    // a job that already finished keeps its outcome
+    private void markFinished(Long jobId, SuggestionJob.Status status, Integer totalGenerated, String error) {
+        suggestionJobRepository.findById(jobId).filter(job -> !job.getStatus().isFinished()).ifPresent(job -> {
+            job.setStatus(status);
+            job.setTotalGenerated(totalGenerated);
+            job.setError(error);
+            job.setFinishedAt(LocalDateTime.now());
+            suggestionJobRepository.save(job);
+        });
+    }
+
+    private List<SuggestedTasksDto> saveSuggestions(User user, List<SuggestedTasksDto> parsedTasks,
+            String rawResponse, Long jobId) {
+        List<SuggestedTasksDto> savedSuggestions = new ArrayList<>();
+        for (SuggestedTasksDto taskDto : parsedTasks) {
+            SuggestedLLM entity = toEntity(user, taskDto, rawResponse);
+            entity.setJobId(jobId);
+            SuggestedLLM saved = suggestedTaskRepository.save(entity);
+            savedSuggestions.add(SuggestedTasksMapper.toDto(saved));
+        }
+        return savedSuggestions;
+    }
+
+    private SuggestionJobDto toJobDto(SuggestionJob job, List<SuggestedTasksDto> suggestions) {
+        return SuggestionJobDto.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .totalGenerated(job.getTotalGenerated())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .suggestions(suggestions)
+                .build();
+    }
+
+    private String buildUserPrompt(LlmTaskGenerationRequest request) {
+        String userPrompt = "User request: " + request.getPrompt();
+        if (request.getAdditionalContext() != null && !request.getAdditionalContext().isBlank()) {
+            userPrompt += "\nAdditional context: " + request.getAdditionalContext();
+        }
+        return userPrompt;
+    }
+
+    private SuggestedLLM toEntity(User user, SuggestedTasksDto taskDto, String rawResponse) {
+        return SuggestedLLM.builder()
+                .user(user)
+                .taskName(taskDto.getTaskName())
+                .taskDescription(taskDto.getTaskDescription())
+                .taskDeadline(taskDto.getTaskDeadline())
+                .priority(taskDto.getPriority() != null ? taskDto.getPriority() : Priority.MEDIUM)
+                .status(Status.PENDING)
+                .suggestedStatus(SuggestedStatus.PENDING)
+                .llmResponse(rawResponse)
+                .llmModel(LLM_MODEL)
+                .build();
+    }
+
     private String buildSystemPrompt(String language) {
         Map<String, String> languageNames = Map.of(
                 "en", "English",
@@ -218,6 +467,111 @@ public class LlmServiceImpl implements LlmService {
         }
     }
 
+    private static final class GeneratedTasks {
+        private final List<SuggestedTasksDto> tasks;
+        private final String rawResponse;
+
+        private GeneratedTasks(List<SuggestedTasksDto> tasks, String rawResponse) {
+            this.tasks = tasks;
+            this.rawResponse = rawResponse;
+        }
+    }
+
+    // Receives the model output chunk by chunk on a boundedElastic thread. Every task
+    // object is saved and sent the moment it closes; llmResponse keeps that
+    // object's own JSON since the full answer does not exist yet.
+    private final class SuggestionStream {
+
+        private final JsonObjectStreamParser parser = new JsonObjectStreamParser();
+        private final List<SuggestedTasksDto> saved = new ArrayList<>();
+        private final long startedAt = System.nanoTime();
+        private final User user;
+        private final SseEmitter emitter;
+        // null when the answer already came from the prompt cache
+        private final LlmTaskGenerationRequest cacheRequest;
+        private final LocalDate requestDate;
+
+        private SuggestionStream(User user, SseEmitter emitter, LlmTaskGenerationRequest cacheRequest,
+                LocalDate requestDate) {
+            this.user = user;
+            this.emitter = emitter;
+            this.cacheRequest = cacheRequest;
+            this.requestDate = requestDate;
+        }
+
+        private void onChunk(String chunk) {
+            for (String taskJson : parser.feed(chunk)) {
+                SuggestedTasksDto taskDto = parseTaskJson(taskJson);
+                if (taskDto == null) {
+                    continue;
+                }
+                SuggestedTasksDto suggestion = SuggestedTasksMapper.toDto(
+                        suggestedTaskRepository.save(toEntity(user, taskDto, taskJson)));
+                if (saved.isEmpty()) {
+                    log.info("First streamed suggestion for user {} after {} ms", user.getId(),
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+                }
+                saved.add(suggestion);
+                // a failed send cancels the generation through onError
+                send("suggestion", suggestion);
+            }
+        }
+
+        private void onComplete() {
+            if (saved.isEmpty()) {
+                finish("LLM generated no valid tasks");
+                return;
+            }
+            notificationService.publish(user.getId(), NotificationEvent.Type.SUGGESTION, List.copyOf(saved));
+            // only a stream that ran to the end is cached
+            if (cacheRequest != null) {
+                promptCache.put(cacheRequest, requestDate, List.copyOf(saved));
+            }
+            try {
+                send("done", LlmTaskGenerationResponse.builder()
+                        .totalGenerated(saved.size())
+                        .message("Generated " + saved.size() + " task suggestions for you")
+                        .build());
+            } catch (IllegalStateException e) {
+                log.debug("Suggestion stream for user {} closed before completion", user.getId());
+            }
+            emitter.complete();
+        }
+
+        private void onError(Throwable error) {
+            log.error("Streaming suggestion generation failed for user {}: {}", user.getId(), error.getMessage());
+            if (!saved.isEmpty()) {
+                notificationService.publish(user.getId(), NotificationEvent.Type.SUGGESTION, List.copyOf(saved));
+            }
+            finish("Suggestion generation failed");
+        }
+
+        // ends the stream with an "error" event; suggestions already sent stay saved
+        private void finish(String message) {
+            try {
+                send("error", Map.of("message", message, "totalGenerated", saved.size()));
+            } catch (IllegalStateException e) {
+                log.debug("Suggestion stream for user {} closed before completion", user.getId());
+            }
+            emitter.complete();
+        }
 
+        private SuggestedTasksDto parseTaskJson(String taskJson) {
+            try {
+                return parseTaskNode(objectMapper.readTree(taskJson));
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping malformed streamed task: {}", e.getMessage());
+                return null;
+            }
+        }
 
-}
\ No newline at end of file
+        // throws IllegalStateException once the client is gone or the emitter timed out
+        private void send(String name, Object data) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException e) {
+                throw new IllegalStateException("Suggestion stream closed", e);
+            }
+        }
+    }
+}
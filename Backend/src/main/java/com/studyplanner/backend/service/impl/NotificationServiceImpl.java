@@ -0,0 +1,310 @@
+package com.studyplanner.backend.service.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.studyplanner.backend.dto.NotificationEvent;
+import com.studyplanner.backend.dto.NotificationEvent.Type;
+import com.studyplanner.backend.entity.TaskShareInvite.InviteStatus;
+import com.studyplanner.backend.repository.TaskShareInviteRepository;
+import com.studyplanner.backend.service.NotificationService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Per-user registry of open SSE streams. An idle stream is an async request with
+// no thread attached plus a small buffer, so open tabs cost no queries; the only
+// periodic work is a heartbeat comment that keeps proxies from closing the
+// connection, written from a thread of its own. Events are written by a few sender threads, never by the publisher:
+// each stream buffers at most buffer-size events and one sender drains it at a
+// time. A client too slow to keep up has its buffer replaced by a single resync
+// event instead of growing without bound.
+@Service
+@Slf4j
+public class NotificationServiceImpl implements NotificationService {
+
+    // buffered in place of a real event; written as an SSE comment
+    private static final NotificationEvent HEARTBEAT = new NotificationEvent(null, null);
+
+    private final TaskShareInviteRepository inviteRepository;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService senders;
+    // own thread: a heartbeat delayed behind a long scheduled job lets proxies close idle streams
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sse-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long timeoutMs;
+    private final int bufferSize;
+    private final int maxStreamsPerUser;
+    private final Counter sentCounter;
+    private final Counter droppedCounter;
+
+    @Autowired
+    public NotificationServiceImpl(TaskShareInviteRepository inviteRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.timeout:PT30M}") Duration timeout,
+            @Value("${app.notifications.buffer-size:32}") int bufferSize,
+            @Value("${app.notifications.max-streams-per-user:5}") int maxStreamsPerUser,
+            @Value("${app.notifications.sender-threads:2}") int senderThreads,
+            @Value("${app.notifications.heartbeat-interval-ms:25000}") long heartbeatIntervalMs) {
+        this(inviteRepository, meterRegistry, timeout, bufferSize, maxStreamsPerUser, senderPool(senderThreads));
+        startHeartbeat(Duration.ofMillis(heartbeatIntervalMs));
+    }
+
+    NotificationServiceImpl(TaskShareInviteRepository inviteRepository, MeterRegistry meterRegistry,
+            Duration timeout, int bufferSize, int maxStreamsPerUser, ExecutorService senders) {
+        this.inviteRepository = inviteRepository;
+        this.timeoutMs = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.senders = senders;
+        Gauge.builder("notifications.connections", connections, AtomicInteger::get)
+                .description("Open notification streams")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("notifications.sent")
+                .description("Events written to notification streams")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("notifications.dropped")
+                .description("Events dropped for clients that could not keep up; replaced by a resync event")
+                .register(meterRegistry);
+    }
+
+    // at most one drain task per stream is queued, so the queue is bounded by the streams
+    private static ExecutorService senderPool(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "sse-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        Set<Subscriber> streams = subscribers.compute(userId, (id, current) -> {
+            Set<Subscriber> set = current != null ? current : ConcurrentHashMap.newKeySet();
+            if (set.add(subscriber)) {
+                connections.incrementAndGet();
+            }
+            return set;
+        });
+        evictOldest(streams);
+
+        // the client starts from the current count instead of polling for it
+        subscriber.offer(new NotificationEvent(Type.PENDING_INVITES,
+                inviteRepository.countByReceiverIdAndStatus(userId, InviteStatus.PENDING)));
+        return emitter;
+    }
+
+    @Override
+    public void publish(Long userId, Type type, Object data) {
+        NotificationEvent event = new NotificationEvent(type, data);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(userId, event);
+                }
+            });
+        } else {
+            deliver(userId, event);
+        }
+    }
+
+    private void deliver(Long userId, NotificationEvent event) {
+        Set<Subscriber> streams = subscribers.get(userId);
+        if (streams == null) {
+            return;
+        }
+        for (Subscriber subscriber : streams) {
+            subscriber.offer(event);
+        }
+    }
+
+    void startHeartbeat(Duration interval) {
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    // Keeps idle connections open through proxies and finds the dead ones
+    void heartbeat() {
+        for (Set<Subscriber> streams : subscribers.values()) {
+            for (Subscriber subscriber : streams) {
+                subscriber.offerHeartbeat();
+            }
+        }
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        for (Set<Subscriber> streams : subscribers.values()) {
+            for (Subscriber subscriber : streams) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    // A user opening more tabs than allowed closes their oldest stream
+    private void evictOldest(Set<Subscriber> streams) {
+        while (streams.size() > maxStreamsPerUser) {
+            Subscriber oldest = null;
+            for (Subscriber subscriber : streams) {
+                if (oldest == null || subscriber.openedAt < oldest.openedAt) {
+                    oldest = subscriber;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            oldest.close();
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        // compute keeps a concurrent subscribe from adding to a set that is being dropped
+        subscribers.computeIfPresent(subscriber.userId, (id, streams) -> {
+            if (streams.remove(subscriber)) {
+                connections.decrementAndGet();
+            }
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final long openedAt = System.nanoTime();
+        // guarded by this
+        private final ArrayDeque<NotificationEvent> buffer = new ArrayDeque<>(4);
+        private boolean draining;
+        private volatile boolean closed;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(NotificationEvent event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() >= bufferSize) {
+                    droppedCounter.increment(buffer.size());
+                    buffer.clear();
+                    buffer.add(new NotificationEvent(Type.RESYNC, null));
+                } else if (buffer.peekLast() == null || buffer.peekLast().getType() != Type.RESYNC) {
+                    buffer.add(event);
+                } else {
+                    // already told to reload; anything after it is covered by that
+                    droppedCounter.increment();
+                }
+                startDrain();
+            }
+        }
+
+        private void offerHeartbeat() {
+            synchronized (this) {
+                // a stream with events still queued is not idle
+                if (closed || !buffer.isEmpty()) {
+                    return;
+                }
+                buffer.add(HEARTBEAT);
+                startDrain();
+            }
+        }
+
+        // caller holds the lock
+        private void startDrain() {
+            if (draining) {
+                return;
+            }
+            draining = true;
+            try {
+                senders.execute(this::drain);
+            } catch (RuntimeException e) {
+                // shutting down
+                draining = false;
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                NotificationEvent event;
+                synchronized (this) {
+                    event = buffer.poll();
+                    if (event == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    if (event == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .name(event.getType().eventName())
+                                .data(event.getData() != null ? event.getData() : Map.of(), MediaType.APPLICATION_JSON));
+                        sentCounter.increment();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // client went away; the container completes the async request
+                    log.debug("Notification stream of user {} closed: {}", userId, e.getMessage());
+                    close();
+                }
+            }
+        }
+
+        private void close() {
+            synchronized (this) {
+                closed = true;
+                buffer.clear();
+            }
+            remove(this);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // already completed
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.studyplanner.backend.service.impl;
+
+import java.util.Date;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import com.studyplanner.backend.util.TokenBucket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+// JavaMailSenderImpl connects, sends and disconnects on every send() call, so each
+// email paid for a TCP connect, STARTTLS and AUTH. This sender keeps connected
+// transports in a small pool and reuses each for up to maxMessagesPerConnection
+// messages. A connection idle for longer than idleTimeout is assumed dropped by the
+// server and replaced. Every message first takes a token from the rate limiter,
+// so a burst of reminders stays within the provider's sending limit.
+@Slf4j
+public class PooledJavaMailSender extends JavaMailSenderImpl {
+
+    private final int maxConnections;
+    private final Semaphore connections;
+    // most recently used first, so the busiest connections stay warm
+    private final Deque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+    private final int maxMessagesPerConnection;
+    private final long idleTimeoutNanos;
+    private final TokenBucket rateLimiter;
+
+    private final Timer sendTimer;
+    private final Timer throttleTimer;
+    private final Counter connectsCounter;
+
+    public PooledJavaMailSender(MeterRegistry meterRegistry, int maxConnections, int maxMessagesPerConnection,
+            long idleTimeoutMs, TokenBucket rateLimiter) {
+        this.maxConnections = maxConnections;
+        this.connections = new Semaphore(maxConnections, true);
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        this.rateLimiter = rateLimiter;
+
+        Gauge.builder("mail.connections.idle", idle, Deque::size)
+                .description("Open SMTP connections waiting for the next message")
+                .register(meterRegistry);
+        Gauge.builder("mail.connections.active", connections, c -> this.maxConnections - c.availablePermits())
+                .description("SMTP connections sending right now")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("mail.send")
+                .description("Time to hand one message to the SMTP server")
+                .register(meterRegistry);
+        this.throttleTimer = Timer.builder("mail.rate-limit.wait")
+                .description("Time a message waited for the sending rate limit")
+                .register(meterRegistry);
+        this.connectsCounter = Counter.builder("mail.connections.opened")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        for (int i = 0; i < mimeMessages.length; i++) {
+            MimeMessage message = mimeMessages[i];
+            try {
+                throttleTimer.record(rateLimiter.acquire(), TimeUnit.NANOSECONDS);
+                sendPooled(message);
+            } catch (MessagingException e) {
+                failedMessages.put(originalMessages != null ? originalMessages[i] : message, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failedMessages.put(originalMessages != null ? originalMessages[i] : message, e);
+                break;
+            }
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    private void sendPooled(MimeMessage message) throws MessagingException, InterruptedException {
+        prepare(message);
+        connections.acquire();
+        try {
+            PooledTransport pooled = idle.pollFirst();
+            if (pooled != null && System.nanoTime() - pooled.lastUsedAt > idleTimeoutNanos) {
+                close(pooled);
+                pooled = null;
+            }
+            if (pooled != null) {
+                try {
+                    sendOn(pooled, message);
+                    return;
+                } catch (MessagingException e) {
+                    // the server may have dropped the connection since its last use: retry once on a new one
+                    log.debug("Pooled SMTP connection failed, reconnecting: {}", e.getMessage());
+                }
+            }
+            connectsCounter.increment();
+            sendOn(new PooledTransport(connectTransport()), message);
+        } finally {
+            connections.release();
+        }
+    }
+
+    // Returns the transport to the pool on success; closes it otherwise
+    private void sendOn(PooledTransport pooled, MimeMessage message) throws MessagingException {
+        long startedAt = System.nanoTime();
+        try {
+            Address[] recipients = message.getAllRecipients();
+            pooled.transport.sendMessage(message, recipients != null ? recipients : new Address[0]);
+        } catch (MessagingException | RuntimeException e) {
+            close(pooled);
+            throw e;
+        }
+        sendTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        pooled.sent++;
+        pooled.lastUsedAt = System.nanoTime();
+        if (pooled.sent >= maxMessagesPerConnection) {
+            close(pooled);
+        } else {
+            idle.offerFirst(pooled);
+        }
+    }
+
+    // Same preparation JavaMailSenderImpl does before sending
+    private static void prepare(MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        String messageId = message.getMessageID();
+        message.saveChanges();
+        if (messageId != null) {
+            message.setHeader("Message-ID", messageId);
+        }
+    }
+
+    private static void close(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    // Closes the idle connections; called when the context shuts down
+    public void close() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+
+    private static final class PooledTransport {
+
+        private final Transport transport;
+        private int sent;
+        private long lastUsedAt;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
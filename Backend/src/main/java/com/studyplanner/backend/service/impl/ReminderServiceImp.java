@@ -1,6 +1,8 @@
 package com.studyplanner.backend.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
@@ -9,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.studyplanner.backend.entity.Reminder;
 import com.studyplanner.backend.entity.Task;
 import com.studyplanner.backend.repository.ReminderRepository;
+import com.studyplanner.backend.scheduler.ReminderDispatcher;
 import com.studyplanner.backend.service.ReminderService;
 
 import lombok.AllArgsConstructor;
@@ -20,6 +23,7 @@ import lombok.extern.slf4j.Slf4j;
 public class ReminderServiceImp implements ReminderService {
 
     private final ReminderRepository reminderRepository;
+    private final ReminderDispatcher reminderDispatcher;
 
     @Override
     @Transactional
@@ -46,15 +50,35 @@ public class ReminderServiceImp implements ReminderService {
             return;
         }
 
-        Reminder reminder = Reminder.builder()
+        reminderDispatcher.schedule(reminderRepository.save(buildReminder(task, reminderDate)));
+
+        log.info("Reminder created for task '{}'", task.getTaskName());
+    }
+
+    @Override
+    @Transactional
+    public void createRemindersForTasks(List<Task> tasks) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Reminder> reminders = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            // same rules as the single version: deadline set and reminder date not in the past
+            if (task.getTaskDeadline() != null && !task.getTaskDeadline().minusDays(1).isBefore(now)) {
+                reminders.add(buildReminder(task, task.getTaskDeadline().minusDays(1)));
+            }
+        }
+
+        if (!reminders.isEmpty()) {
+            reminderRepository.saveAll(reminders).forEach(reminderDispatcher::schedule);
+            log.info("Created {} reminder(s) for {} task(s)", reminders.size(), tasks.size());
+        }
+    }
+
+    private Reminder buildReminder(Task task, LocalDateTime reminderDate) {
+        return Reminder.builder()
                 .task(task)
                 .reminderDate(reminderDate)
                 .reminderSent(false)
                 .build();
-
-        reminderRepository.save(reminder);
-
-        log.info("Reminder created for task '{}'", task.getTaskName());
     }
 
     @Override
@@ -68,9 +92,30 @@ public class ReminderServiceImp implements ReminderService {
 
         if (!unsent.isEmpty()) {
             reminderRepository.deleteAll(unsent);
+            reminderDispatcher.cancelForTasks(List.of(taskId));
             log.info("Cancelled {} unsent reminder(s) for task id={}", unsent.size(), taskId);
         }
 
     }
 
+    @Override
+    @Transactional
+    public void cancelRemindersForTasks(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        int cancelled = reminderRepository.deleteUnsentByTaskIds(taskIds);
+        reminderDispatcher.cancelForTasks(taskIds);
+        log.info("Cancelled {} unsent reminder(s) for {} task(s)", cancelled, taskIds.size());
+    }
+
+    @Override
+    @Transactional
+    public void deleteRemindersForTasks(Collection<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            reminderRepository.deleteByTaskIds(taskIds);
+            reminderDispatcher.cancelForTasks(taskIds);
+        }
+    }
+
 }
@@ -5,13 +5,16 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.studyplanner.backend.cache.TaskListVersions;
+import com.studyplanner.backend.dto.CursorPage;
 import com.studyplanner.backend.dto.SuggestedTasksDto;
 import com.studyplanner.backend.dto.SuggestionBatchResponseDto;
 import com.studyplanner.backend.dto.SuggestionResponseDto;
@@ -27,6 +30,7 @@ import com.studyplanner.backend.repository.SuggestedTaskRepository;
 import com.studyplanner.backend.repository.TaskRepository;
 import com.studyplanner.backend.service.ReminderService;
 import com.studyplanner.backend.service.SuggestedTaskService;
+import com.studyplanner.backend.util.CursorCodec;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -37,6 +41,7 @@ public class SuggestedTaskServiceImpl implements SuggestedTaskService {
     private final SuggestedTaskRepository suggestedTaskRepository;
     private final TaskRepository taskRepository;
     private final ReminderService reminderService;
+    private final TaskListVersions taskListVersions;
     private final SuggestedTaskService transactionalService;
 
     @Autowired
@@ -44,10 +49,12 @@ public class SuggestedTaskServiceImpl implements SuggestedTaskService {
             SuggestedTaskRepository suggestedTaskRepository,
             TaskRepository taskRepository,
             ReminderService reminderService,
+            TaskListVersions taskListVersions,
             @Lazy SuggestedTaskService transactionalService) {
         this.suggestedTaskRepository = suggestedTaskRepository;
         this.taskRepository = taskRepository;
         this.reminderService = reminderService;
+        this.taskListVersions = taskListVersions;
         this.transactionalService = transactionalService;
     }
 
@@ -55,20 +62,19 @@ public class SuggestedTaskServiceImpl implements SuggestedTaskService {
     SuggestedTaskServiceImpl(
             SuggestedTaskRepository suggestedTaskRepository,
             TaskRepository taskRepository,
-            ReminderService reminderService) {
+            ReminderService reminderService,
+            TaskListVersions taskListVersions) {
         this.suggestedTaskRepository = suggestedTaskRepository;
         this.taskRepository = taskRepository;
         this.reminderService = reminderService;
+        this.taskListVersions = taskListVersions;
         this.transactionalService = null;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<SuggestedTasksDto> getPendingSuggestions(Long userId) {
-        return suggestedTaskRepository.findByUserIdAndSuggestedStatus(userId, SuggestedStatus.PENDING)
-                .stream()
-                .map(SuggestedTasksMapper::toDto)
-                .toList();
+        return suggestedTaskRepository.findDtosByUserIdAndSuggestedStatus(userId, SuggestedStatus.PENDING);
     }
 
     @Override
@@ -110,6 +116,7 @@ public class SuggestedTaskServiceImpl implements SuggestedTaskService {
         suggestion.setAcceptedTask(savedTask);
         // keep the task work as pending
         suggestedTaskRepository.save(suggestion);
+        taskListVersions.bump(userId);
 
         log.info("User {} accepted suggestion {} -> created task {}",
                 userId, suggestionId, savedTask.getId());
@@ -200,7 +207,7 @@ public class SuggestedTaskServiceImpl implements SuggestedTaskService {
     @Override
     @Transactional(readOnly = true)
     public Map<String, Object> getUserAnalytics(Long userId) {
-        long total = suggestedTaskRepository.findByUserId(userId).size();
+        long total = suggestedTaskRepository.countByUserId(userId);
         long accepted = suggestedTaskRepository.countByUserIdAndSuggestedStatus(userId, SuggestedStatus.ACCEPTED);
         long declined = suggestedTaskRepository.countByUserIdAndSuggestedStatus(userId, SuggestedStatus.DECLINED);
         long pending = suggestedTaskRepository.countByUserIdAndSuggestedStatus(userId, SuggestedStatus.PENDING);
@@ -215,11 +222,7 @@ public class SuggestedTaskServiceImpl implements SuggestedTaskService {
         analytics.put("pending", pending);
         analytics.put("acceptanceRate", Math.round(acceptanceRate * 100));
         analytics.put("mostRecentSuggestions",
-                suggestedTaskRepository.findRecentSuggestionsByUserId(
-                                userId, LocalDateTime.now().minusDays(30))
-                        .stream()
-                        .map(SuggestedTasksMapper::toDto)
-                        .collect(Collectors.toList()));
+                suggestedTaskRepository.findRecentDtosByUserId(userId, LocalDateTime.now().minusDays(30)));
 
         return analytics;
 
@@ -228,10 +231,23 @@ public class SuggestedTaskServiceImpl implements SuggestedTaskService {
     @Override
     @Transactional(readOnly = true)
     public List<SuggestedTasksDto> getAllSuggestions(Long userId) {
-        return suggestedTaskRepository.findByUserId(userId)
-                .stream()
-                .map(SuggestedTasksMapper::toDto)
-                .collect(Collectors.toList());
+        return suggestedTaskRepository.findDtosByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<SuggestedTasksDto> getSuggestionsPage(Long userId, String cursor, Integer limit) {
+        int size = CursorPage.resolveLimit(limit);
+        List<SuggestedTasksDto> rows;
+        if (cursor == null) {
+            rows = suggestedTaskRepository.findFirstPage(userId, Limit.of(size + 1));
+        } else {
+            CursorCodec.Position before = CursorCodec.decode(cursor);
+            rows = suggestedTaskRepository.findPageBefore(userId, before.getKey(), before.getId(), Limit.of(size + 1));
+        }
+
+        return CursorPage.of(rows, size, Function.identity(),
+                suggestion -> CursorCodec.encode(suggestion.getCreatedAt(), suggestion.getTaskId()));
     }
 
     private SuggestedTaskService getTransactionalDelegate() {
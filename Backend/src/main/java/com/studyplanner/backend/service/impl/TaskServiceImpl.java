@@ -1,14 +1,28 @@
 package com.studyplanner.backend.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.studyplanner.backend.cache.TaskListVersions;
+import com.studyplanner.backend.dto.BulkTaskRequestDto;
+import com.studyplanner.backend.dto.BulkTaskResponseDto;
+import com.studyplanner.backend.dto.CursorPage;
 import com.studyplanner.backend.dto.TaskDto;
+import com.studyplanner.backend.dto.TaskFilterDto;
 import com.studyplanner.backend.entity.Task;
 import com.studyplanner.backend.entity.User;
 import com.studyplanner.backend.entity.Task.Priority;
@@ -17,9 +31,12 @@ import com.studyplanner.backend.exception.ResourceNotFoundException;
 import com.studyplanner.backend.exception.UnauthorizedAccessException;
 import com.studyplanner.backend.mapper.TaskMapper;
 import com.studyplanner.backend.repository.TaskRepository;
+import com.studyplanner.backend.repository.TaskSpecifications;
 import com.studyplanner.backend.repository.UserRepository;
+import com.studyplanner.backend.service.CalendarOutboxService;
 import com.studyplanner.backend.service.ReminderService;
 import com.studyplanner.backend.service.TaskService;
+import com.studyplanner.backend.util.CursorCodec;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,7 +49,20 @@ public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final ReminderService reminderService;
-    private final CalendarServiceImpl calendarService;
+    private final CalendarOutboxService calendarOutboxService;
+    private final TaskListVersions taskListVersions;
+
+    // tasks read per query by the export
+    private static final int EXPORT_PAGE_SIZE = 500;
+
+    // API sort names -> entity attributes; anything else is rejected
+    private static final Map<String, String> SORTABLE_FIELDS = Map.of(
+            "deadline", "taskDeadline",
+            "priority", "priority",
+            "status", "status",
+            "taskname", "taskName",
+            "createdat", "createdAt",
+            "updatedat", "updatedAt");
 
     // --- Helper ---
     // Load a User
@@ -64,59 +94,94 @@ public class TaskServiceImpl implements TaskService {
 
         // Auto create a reminder for the task
         reminderService.createReminderForTask(saved);
-        syncTaskToCalendar(saved);
+        // pushed to Google Calendar by CalendarSyncScheduler after commit
+        calendarOutboxService.enqueue(saved);
+        taskListVersions.bump(user.getId());
         return TaskMapper.mapToTaskDto(saved);
     }
 
     // --- READ ---
+    // Reads select straight into TaskDto, no entities enter the persistence context.
+    // The user id comes from a verified token, so there is no user lookup first;
+    // an unknown id simply owns no tasks.
     // Get Task by Id
     @Override
     @Transactional(readOnly = true)
     public TaskDto getTaskById(Long taskId, Long userId) {
-        Task task = findTask(taskId);
-        verifyOwnership(task, userId);
-        return TaskMapper.mapToTaskDto(task);
+        TaskDto task = taskRepository.findDtoById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not Found "));
+        if (!task.getUserId().equals(userId)) {
+            throw new UnauthorizedAccessException("Access Denied");
+        }
+        return task;
     }
 
     // Get all tasks for a user
     @Override
     @Transactional(readOnly = true)
     public List<TaskDto> getTasksByUserId(Long userId) {
-        findUser(userId);
-        return taskRepository.findByUserId(userId).stream().map(TaskMapper::mapToTaskDto).collect(Collectors.toList());
+        return taskRepository.findDtosByUserId(userId);
+    }
+
+    // Hand every task of a user to the consumer, page by page. No transaction spans
+    // the loop: each page is read in its own short one, so a slow download does not
+    // hold a connection. Rows are projections; the persistence context stays empty.
+    @Override
+    public void forEachTask(Long userId, Consumer<TaskDto> consumer) {
+        long afterId = 0L;
+        List<TaskDto> page;
+        do {
+            page = taskRepository.findDtoPageAfterId(userId, afterId, Limit.of(EXPORT_PAGE_SIZE));
+            page.forEach(consumer);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getTaskId();
+            }
+        } while (page.size() == EXPORT_PAGE_SIZE);
+    }
+
+    // Keyset page of a user's tasks: dated tasks by (deadline, id), then undated ones by id
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TaskDto> getTasksPage(Long userId, String cursor, Integer limit) {
+        int size = CursorPage.resolveLimit(limit);
+        CursorCodec.Position after = cursor != null ? CursorCodec.decode(cursor) : null;
+        List<TaskDto> rows = new ArrayList<>(size + 1);
+
+        if (after == null) {
+            rows.addAll(taskRepository.findFirstDatedPage(userId, Limit.of(size + 1)));
+        } else if (after.getKey() != null) {
+            rows.addAll(taskRepository.findDatedPageAfter(userId, after.getKey(), after.getId(), Limit.of(size + 1)));
+        }
+
+        // dated tasks ran out on this page - continue with the undated ones
+        if (rows.size() <= size) {
+            Long afterId = after != null && after.getKey() == null ? after.getId() : 0L;
+            rows.addAll(taskRepository.findUndatedPageAfter(userId, afterId, Limit.of(size + 1 - rows.size())));
+        }
+
+        return CursorPage.of(rows, size, Function.identity(),
+                task -> CursorCodec.encode(task.getTaskDeadline(), task.getTaskId()));
     }
 
     // Filter by priority
     @Override
     @Transactional(readOnly = true)
     public List<TaskDto> getTasksByPriority(Long userId, Priority priority) {
-        findUser(userId); // validate user exists
-        return taskRepository.findByUserIdAndPriority(userId, priority)
-                .stream()
-                .map(TaskMapper::mapToTaskDto)
-                .collect(Collectors.toList());
+        return taskRepository.findDtosByUserIdAndPriority(userId, priority);
     }
 
     // Filter by status
     @Override
     @Transactional(readOnly = true)
     public List<TaskDto> getTasksByStatus(Long userId, Status status) {
-        findUser(userId);
-        return taskRepository.findByUserIdAndStatus(userId, status)
-                .stream()
-                .map(TaskMapper::mapToTaskDto)
-                .collect(Collectors.toList());
+        return taskRepository.findDtosByUserIdAndStatus(userId, status);
     }
 
     // Filter by isCompleted
     @Override
     @Transactional(readOnly = true)
     public List<TaskDto> getTasksByCompleted(Long userId, boolean completed) {
-        findUser(userId);
-        return taskRepository.findByUserIdAndCompleted(userId, completed)
-                .stream()
-                .map(TaskMapper::mapToTaskDto)
-                .collect(Collectors.toList());
+        return taskRepository.findDtosByUserIdAndCompleted(userId, completed);
     }
 
     // Filter by date range
@@ -125,34 +190,47 @@ public class TaskServiceImpl implements TaskService {
     public List<TaskDto> getTasksByDateRange(Long userId,
                                              LocalDateTime start,
                                              LocalDateTime end) {
-        findUser(userId);
-        return taskRepository
-                .findByUserIdAndTaskDeadlineBetween(userId, start, end)
-                .stream()
-                .map(TaskMapper::mapToTaskDto)
-                .collect(Collectors.toList());
+        return taskRepository.findDtosByUserIdAndTaskDeadlineBetween(userId, start, end);
     }
 
     // Filter by deadline
     @Override
     @Transactional(readOnly = true)
     public List<TaskDto> getTasksByDeadline(Long userId, LocalDateTime taskDeadline) {
-        findUser(userId);
-        return taskRepository.findByUserIdAndTaskDeadline(userId, taskDeadline)
-                .stream()
-                .map(TaskMapper::mapToTaskDto)
-                .collect(Collectors.toList());
+        return taskRepository.findDtosByUserIdAndTaskDeadline(userId, taskDeadline);
     }
 
     // Filter by status and priority
     @Override
     @Transactional(readOnly = true)
     public List<TaskDto> getTasksByStatusAndPriority(Long userId, Status status, Priority priority) {
-        findUser(userId);
-        return taskRepository.findByUserIdAndStatusAndPriority(userId, status, priority)
-                .stream()
-                .map(TaskMapper::mapToTaskDto)
-                .collect(Collectors.toList());
+        return taskRepository.findDtosByUserIdAndStatusAndPriority(userId, status, priority);
+    }
+
+    // Filter with any combination of criteria - one query, no user lookup
+    // (the user id comes from the token and scopes the WHERE clause)
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskDto> filterTasks(Long userId, TaskFilterDto filter) {
+        return taskRepository.findDtos(TaskSpecifications.matching(userId, filter), resolveSort(filter));
+    }
+
+    private Sort resolveSort(TaskFilterDto filter) {
+        String sortBy = filter != null && filter.getSortBy() != null ? filter.getSortBy() : "deadline";
+        String property = SORTABLE_FIELDS.get(sortBy.toLowerCase(Locale.ROOT));
+        if (property == null) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortBy);
+        }
+
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (filter != null && filter.getSortDirection() != null) {
+            direction = Sort.Direction.fromOptionalString(filter.getSortDirection())
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "Unsupported sort direction: " + filter.getSortDirection()));
+        }
+
+        // id as tie-breaker keeps the order stable between requests
+        return Sort.by(direction, property).and(Sort.by(direction, "id"));
     }
 
     // --- UPDATE ---
@@ -164,6 +242,7 @@ public class TaskServiceImpl implements TaskService {
         verifyOwnership(task, userId);
 
         LocalDateTime oldDeadline = task.getTaskDeadline();
+        boolean eventChanged = changesCalendarEvent(task, taskDto);
         TaskMapper.updateTask(task, taskDto);
         Task updated = taskRepository.save(task);
 
@@ -174,7 +253,10 @@ public class TaskServiceImpl implements TaskService {
             reminderService.createReminderForTask(updated);
         }
 
-        syncTaskToCalendar(updated);
+        if (eventChanged) {
+            queueCalendarUpdates(List.of(updated));
+        }
+        taskListVersions.bump(userId);
 
         return TaskMapper.mapToTaskDto(updated);
     }
@@ -190,6 +272,7 @@ public class TaskServiceImpl implements TaskService {
             // Task is done - no need for a reminder
             reminderService.cancelReminderForTask(taskId);
         }
+        taskListVersions.bump(userId);
         return TaskMapper.mapToTaskDto(taskRepository.save(task));
     }
 
@@ -199,6 +282,7 @@ public class TaskServiceImpl implements TaskService {
         Task task = findTask(taskId);
         verifyOwnership(task, userId);
         task.setStatus(Status.valueOf(status));
+        taskListVersions.bump(userId);
         return TaskMapper.mapToTaskDto(taskRepository.save(task));
     }
 
@@ -209,6 +293,7 @@ public class TaskServiceImpl implements TaskService {
         Task task = findTask(taskId);
         verifyOwnership(task, userId);
         task.setPriority(priority);
+        taskListVersions.bump(userId);
         return TaskMapper.mapToTaskDto(taskRepository.save(task));
     }
 
@@ -220,17 +305,141 @@ public class TaskServiceImpl implements TaskService {
         verifyOwnership(task, userId);
         // cancel reminder before deleting task
         reminderService.cancelReminderForTask(taskId);
+        calendarOutboxService.enqueueDeletes(List.of(task));
         taskRepository.delete(task);
+        taskListVersions.bump(userId);
+    }
+
+    // --- BULK ---
+    // One transaction for the whole request. Task ids come from a pooled sequence,
+    // so inserts and updates are flushed as JDBC batches, and reminders are
+    // written with a single saveAll / bulk delete instead of one call per task.
+    @Override
+    @Transactional
+    public BulkTaskResponseDto applyBulk(Long userId, BulkTaskRequestDto request) {
+        List<TaskDto> creates = request.getCreate() != null ? request.getCreate() : List.of();
+        List<TaskDto> updates = request.getUpdate() != null ? request.getUpdate() : List.of();
+        List<Long> deletes = request.getDelete() != null ? request.getDelete() : List.of();
+
+        int operations = creates.size() + updates.size() + deletes.size();
+        if (operations > BulkTaskRequestDto.MAX_OPERATIONS) {
+            throw new IllegalArgumentException(
+                    "A bulk request can contain at most " + BulkTaskRequestDto.MAX_OPERATIONS + " operations");
+        }
+
+        List<TaskDto> created = bulkCreate(userId, creates);
+        List<TaskDto> updated = bulkUpdate(userId, updates);
+        List<Long> deleted = bulkDelete(userId, deletes);
+
+        if (operations > 0) {
+            taskListVersions.bump(userId);
+        }
+        return BulkTaskResponseDto.builder()
+                .created(created)
+                .updated(updated)
+                .deleted(deleted)
+                .build();
     }
 
-    private void syncTaskToCalendar(Task task) {
-        try {
-            String eventId = calendarService.pushToCalendar(task);
-            if (eventId != null) {
-                log.info("Task synced to Google Calendar with event ID: {}", eventId);
+    private List<TaskDto> bulkCreate(Long userId, List<TaskDto> taskDtos) {
+        if (taskDtos.isEmpty()) {
+            return List.of();
+        }
+
+        User user = findUser(userId);
+        List<Task> tasks = new ArrayList<>(taskDtos.size());
+        for (TaskDto taskDto : taskDtos) {
+            Task task = TaskMapper.mapToTask(taskDto, user);
+            task.setId(null); // ids come from the sequence, never from the client
+            tasks.add(task);
+        }
+
+        List<Task> saved = taskRepository.saveAll(tasks);
+        reminderService.createRemindersForTasks(saved);
+        calendarOutboxService.enqueueAll(saved);
+        return saved.stream().map(TaskMapper::mapToTaskDto).toList();
+    }
+
+    private List<TaskDto> bulkUpdate(Long userId, List<TaskDto> taskDtos) {
+        if (taskDtos.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Task> tasks = findOwnedTasks(userId, taskDtos.stream().map(TaskDto::getTaskId).toList());
+        List<Task> updated = new ArrayList<>(taskDtos.size());
+        List<Task> rescheduled = new ArrayList<>();
+        List<Task> eventChanged = new ArrayList<>();
+        for (TaskDto taskDto : taskDtos) {
+            Task task = tasks.get(taskDto.getTaskId());
+            LocalDateTime oldDeadline = task.getTaskDeadline();
+            if (changesCalendarEvent(task, taskDto)) {
+                eventChanged.add(task);
             }
-        } catch (Exception e) {
-            log.error("Failed to sync task to Google Calendar: {}", e.getMessage(), e);
+            TaskMapper.updateTask(task, taskDto);
+            if (!Objects.equals(oldDeadline, task.getTaskDeadline())) {
+                rescheduled.add(task);
+            }
+            updated.add(task);
+        }
+
+        // same rule as updateTask: a moved deadline replaces the pending reminder
+        if (!rescheduled.isEmpty()) {
+            reminderService.cancelRemindersForTasks(rescheduled.stream().map(Task::getId).toList());
+            reminderService.createRemindersForTasks(rescheduled);
+        }
+        queueCalendarUpdates(eventChanged);
+        return updated.stream().map(TaskMapper::mapToTaskDto).toList();
+    }
+
+    private List<Long> bulkDelete(Long userId, List<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Task> tasks = findOwnedTasks(userId, taskIds);
+        reminderService.deleteRemindersForTasks(tasks.keySet());
+        calendarOutboxService.enqueueDeletes(tasks.values());
+        taskRepository.deleteAllInBatch(tasks.values());
+        return List.copyOf(tasks.keySet());
+    }
+
+    // Calendar events only show name, description and deadline; other edits
+    // (status, priority, ...) leave the event alone and cost no API call
+    private static boolean changesCalendarEvent(Task task, TaskDto taskDto) {
+        return !Objects.equals(task.getTaskName(), taskDto.getTaskName())
+                || !Objects.equals(task.getTaskDescription(), taskDto.getTaskDescription())
+                || !Objects.equals(task.getTaskDeadline(), taskDto.getTaskDeadline());
+    }
+
+    // Patch the events of edited tasks; a task whose deadline was removed loses its event
+    private void queueCalendarUpdates(List<Task> tasks) {
+        List<Task> undated = tasks.stream()
+                .filter(task -> task.getTaskDeadline() == null && task.getGoogleEventId() != null)
+                .toList();
+        if (!undated.isEmpty()) {
+            calendarOutboxService.enqueueDeletes(undated);
+            undated.forEach(task -> {
+                task.setGoogleEventId(null);
+                task.setGoogleEventEtag(null);
+            });
+        }
+        calendarOutboxService.enqueueAll(tasks);
+    }
+
+    // Load many tasks in one query; every id has to exist and belong to the user
+    private Map<Long, Task> findOwnedTasks(Long userId, Collection<Long> taskIds) {
+        if (taskIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Every task in a bulk update or delete needs a taskId");
+        }
+
+        Map<Long, Task> tasks = new HashMap<>();
+        for (Task task : taskRepository.findAllById(taskIds)) {
+            verifyOwnership(task, userId);
+            tasks.put(task.getId(), task);
+        }
+        if (tasks.size() < new HashSet<>(taskIds).size()) {
+            throw new ResourceNotFoundException("Task not Found ");
         }
+        return tasks;
     }
 }
\ No newline at end of file
@@ -6,10 +6,13 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.studyplanner.backend.cache.TaskListVersions;
+import com.studyplanner.backend.dto.CursorPage;
+import com.studyplanner.backend.dto.NotificationEvent;
 import com.studyplanner.backend.dto.ShareTaskDto;
 import com.studyplanner.backend.dto.TaskShareInviteDto;
 import com.studyplanner.backend.dto.UserLoginDto;
@@ -27,9 +30,12 @@ import com.studyplanner.backend.mapper.UserMapper;
 import com.studyplanner.backend.repository.TaskRepository;
 import com.studyplanner.backend.repository.TaskShareInviteRepository;
 import com.studyplanner.backend.repository.UserRepository;
+import com.studyplanner.backend.security.PasswordHashingService;
 import com.studyplanner.backend.service.EmailService;
+import com.studyplanner.backend.service.NotificationService;
 import com.studyplanner.backend.service.ReminderService;
 import com.studyplanner.backend.service.UserService;
+import com.studyplanner.backend.util.CursorCodec;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -44,6 +50,9 @@ public class UserServiceImpl implements UserService {
     private final TaskRepository taskRepository;
     private final ReminderService reminderService;
     private final TaskShareInviteRepository inviteRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final TaskListVersions taskListVersions;
+    private final NotificationService notificationService;
     private final String backendBaseUrl;
 
     public UserServiceImpl(UserRepository userRepository,
@@ -51,12 +60,18 @@ public class UserServiceImpl implements UserService {
             TaskRepository taskRepository,
             ReminderService reminderService,
             TaskShareInviteRepository inviteRepository,
+            PasswordHashingService passwordHashingService,
+            TaskListVersions taskListVersions,
+            NotificationService notificationService,
             @Value("${app.backend.base-url}") String backendBaseUrl) {
         this.userRepository = userRepository;
         this.emailService = emailService;
         this.taskRepository = taskRepository;
         this.reminderService = reminderService;
         this.inviteRepository = inviteRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.taskListVersions = taskListVersions;
+        this.notificationService = notificationService;
         this.backendBaseUrl = backendBaseUrl;
     }
 
@@ -70,9 +85,8 @@ public class UserServiceImpl implements UserService {
             throw new UnauthorizedAccessException("Email already registered");
         }
 
-        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
         User user = UserMapper.mapToUser(userDto);
-        user.setPassword(passwordEncoder.encode(userDto.getPassword()));
+        user.setPassword(passwordHashingService.encode(userDto.getPassword()));
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
 
@@ -96,11 +110,17 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findByEmail(userDto.getEmail())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid email or password"));
 
-        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-        if (!passwordEncoder.matches(userDto.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(userDto.getPassword(), user.getPassword())) {
             throw new IllegalArgumentException("Invalid email or password");
         }
 
+        // the plain password is only available here - upgrade hashes stored with an older cost
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashingService.encode(userDto.getPassword()));
+            user.setUpdatedAt(LocalDateTime.now());
+            user = userRepository.save(user);
+        }
+
         return UserMapper.mapToUserDto(user);
     }
 
@@ -206,7 +226,9 @@ public class UserServiceImpl implements UserService {
                         acceptUrl,
                         declineUrl);
 
-                createdInvites.add(TaskShareInviteMapper.mapToDto(saved));
+                TaskShareInviteDto created = TaskShareInviteMapper.mapToDto(saved);
+                notificationService.publish(recipient.getId(), NotificationEvent.Type.INVITE, created);
+                createdInvites.add(created);
                 log.info("Invite created: task '{}' from user {} to user {}",
                         task.getTaskName(), sender.getId(), recipient.getId());
             }
@@ -251,11 +273,15 @@ public class UserServiceImpl implements UserService {
         invite.setRespondedAt(LocalDateTime.now());
         invite.setSharedTask(savedTask);
         inviteRepository.save(invite);
+        taskListVersions.bump(recipient.getId());
 
         log.info("Invite accepted: task '{}' added to user {} calendar",
                 original.getTaskName(), recipient.getId());
 
-        return TaskShareInviteMapper.mapToDto(invite);
+        // the recipient's other open tabs drop the invite from their list
+        TaskShareInviteDto accepted = TaskShareInviteMapper.mapToDto(invite);
+        notificationService.publish(recipient.getId(), NotificationEvent.Type.INVITE, accepted);
+        return accepted;
     }
 
     // ─────────────────────────────────────────────────────────────────────────────
@@ -280,7 +306,9 @@ public class UserServiceImpl implements UserService {
         log.info("Invite declined: task '{}' by user {}",
                 invite.getTask().getTaskName(), invite.getReceiver().getId());
 
-        return TaskShareInviteMapper.mapToDto(invite);
+        TaskShareInviteDto declined = TaskShareInviteMapper.mapToDto(invite);
+        notificationService.publish(invite.getReceiver().getId(), NotificationEvent.Type.INVITE, declined);
+        return declined;
     }
 
     // ─────────────────────────────────────────────────────────────────────────────
@@ -305,6 +333,22 @@ public class UserServiceImpl implements UserService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TaskShareInviteDto> getReceivedInvitesPage(Long userId, String cursor, Integer limit) {
+        int size = CursorPage.resolveLimit(limit);
+        List<TaskShareInvite> rows;
+        if (cursor == null) {
+            rows = inviteRepository.findFirstReceivedPage(userId, Limit.of(size + 1));
+        } else {
+            CursorCodec.Position before = CursorCodec.decode(cursor);
+            rows = inviteRepository.findReceivedPageBefore(userId, before.getKey(), before.getId(), Limit.of(size + 1));
+        }
+
+        return CursorPage.of(rows, size, TaskShareInviteMapper::mapToDto,
+                invite -> CursorCodec.encode(invite.getCreatedAt(), invite.getId()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public long countPendingInvites(Long userId) {
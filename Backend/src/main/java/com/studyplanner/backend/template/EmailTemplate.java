@@ -0,0 +1,170 @@
+package com.studyplanner.backend.template;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// A template parsed once into literal segments and typed slots:
+//   {{name}}       text; HTML-escaped in HTML templates, line breaks removed in plain ones
+//   {{url:name}}   link target; anything but http(s) and mailto becomes "#", then escaped
+//   {{html:name}}  markup built by our own code, inserted as is
+// Rendering appends the segments to a per-thread StringBuilder, so a render is
+// one pass over the segments plus the final String copy.
+public final class EmailTemplate {
+
+    private static final Pattern SLOT_NAME = Pattern.compile("[A-Za-z][A-Za-z0-9]*");
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+    // a builder grown by an unusually large render is not kept around
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+
+    private enum Kind { TEXT, PLAIN, URL, HTML }
+
+    private static final class Slot {
+        private final String name;
+        private final Kind kind;
+
+        private Slot(String name, Kind kind) {
+            this.name = name;
+            this.kind = kind;
+        }
+    }
+
+    // literals[i] comes before slots[i]; the last literal follows the last slot
+    private final String[] literals;
+    private final Slot[] slots;
+    private final int sizeHint;
+
+    private EmailTemplate(List<String> literals, List<Slot> slots) {
+        this.literals = literals.toArray(String[]::new);
+        this.slots = slots.toArray(Slot[]::new);
+        this.sizeHint = literals.stream().mapToInt(String::length).sum();
+    }
+
+    public static EmailTemplate html(String source) {
+        return parse(source, Kind.TEXT);
+    }
+
+    // For subjects and other plain-text parts: no HTML escaping
+    public static EmailTemplate plain(String source) {
+        return parse(source, Kind.PLAIN);
+    }
+
+    private static EmailTemplate parse(String source, Kind textKind) {
+        List<String> literals = new ArrayList<>();
+        List<Slot> slots = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed slot at offset " + open);
+            }
+            literals.add(source.substring(position, open));
+            slots.add(slot(source.substring(open + 2, close).trim(), textKind));
+            position = close + 2;
+        }
+        literals.add(source.substring(position));
+        return new EmailTemplate(literals, slots);
+    }
+
+    private static Slot slot(String declaration, Kind textKind) {
+        int colon = declaration.indexOf(':');
+        String name = colon < 0 ? declaration : declaration.substring(colon + 1).trim();
+        Kind kind = textKind;
+        if (colon >= 0) {
+            String type = declaration.substring(0, colon).trim();
+            kind = switch (type) {
+                case "url" -> Kind.URL;
+                case "html" -> Kind.HTML;
+                default -> throw new IllegalArgumentException("Unknown slot type: " + type);
+            };
+        }
+        if (!SLOT_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid slot name: " + declaration);
+        }
+        return new Slot(name, kind);
+    }
+
+    public Set<String> slotNames() {
+        Set<String> names = new LinkedHashSet<>();
+        for (Slot slot : slots) {
+            names.add(slot.name);
+        }
+        return names;
+    }
+
+    // Every slot needs an entry in values; a null value renders as empty
+    public String render(Map<String, ?> values) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        try {
+            renderTo(out, values);
+            return out.toString();
+        } finally {
+            if (out.capacity() > MAX_RETAINED_CAPACITY) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    public void renderTo(StringBuilder out, Map<String, ?> values) {
+        out.ensureCapacity(out.length() + sizeHint + 256);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            Slot slot = slots[i];
+            if (!values.containsKey(slot.name)) {
+                throw new IllegalArgumentException("No value for slot " + slot.name);
+            }
+            Object value = values.get(slot.name);
+            if (value != null) {
+                append(out, slot.kind, value.toString());
+            }
+        }
+        out.append(literals[slots.length]);
+    }
+
+    private static void append(StringBuilder out, Kind kind, String value) {
+        switch (kind) {
+            case TEXT -> escapeHtml(out, value);
+            case PLAIN -> appendSingleLine(out, value);
+            case URL -> escapeHtml(out, isSafeUrl(value) ? value.trim() : "#");
+            case HTML -> out.append(value);
+        }
+    }
+
+    private static boolean isSafeUrl(String value) {
+        String url = value.trim().toLowerCase(Locale.ROOT);
+        return url.startsWith("https://") || url.startsWith("http://") || url.startsWith("mailto:");
+    }
+
+    static void escapeHtml(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    // subjects end up in a mail header, where a line break would start a new header
+    private static void appendSingleLine(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            out.append(c == '\r' || c == '\n' ? ' ' : c);
+        }
+    }
+}
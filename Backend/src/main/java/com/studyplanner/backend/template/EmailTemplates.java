@@ -0,0 +1,67 @@
+package com.studyplanner.backend.template;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import com.studyplanner.backend.entity.Task.Language;
+
+// Email templates from classpath:email-templates, parsed on first use and kept.
+// <name>.html is the body and <name>.subject.txt the subject line; a language
+// variant is <name>_<code>.html. Languages without their own variant get the
+// default (English) one.
+@Component
+public class EmailTemplates {
+
+    private static final String LOCATION = "email-templates/";
+    // marks a language variant that does not exist, so the classpath is asked only once
+    private static final EmailTemplate MISSING = EmailTemplate.plain("");
+
+    private final Map<String, EmailTemplate> cache = new ConcurrentHashMap<>();
+
+    public EmailTemplate body(String name, Language language) {
+        return resolve(name, language, ".html", false);
+    }
+
+    public EmailTemplate subject(String name, Language language) {
+        return resolve(name, language, ".subject.txt", true);
+    }
+
+    public static Locale locale(Language language) {
+        return language == null ? Locale.ENGLISH : Locale.forLanguageTag(language.getCode());
+    }
+
+    private EmailTemplate resolve(String name, Language language, String extension, boolean plain) {
+        if (language != null && language != Language.EN) {
+            EmailTemplate variant = cache.computeIfAbsent(name + "_" + language.getCode() + extension,
+                    file -> load(file, plain, false));
+            if (variant != MISSING) {
+                return variant;
+            }
+        }
+        return cache.computeIfAbsent(name + extension, file -> load(file, plain, true));
+    }
+
+    private static EmailTemplate load(String file, boolean plain, boolean required) {
+        ClassPathResource resource = new ClassPathResource(LOCATION + file);
+        if (!resource.exists()) {
+            if (required) {
+                throw new IllegalStateException("Missing email template " + file);
+            }
+            return MISSING;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            String source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return plain ? EmailTemplate.plain(source.strip()) : EmailTemplate.html(source);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read email template " + file, e);
+        }
+    }
+}
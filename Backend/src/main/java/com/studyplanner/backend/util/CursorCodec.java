@@ -0,0 +1,49 @@
+package com.studyplanner.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Encodes a keyset position (sort key + id) as an opaque, URL-safe cursor.
+// Clients just echo the value back; they should not rely on its format.
+public class CursorCodec {
+    private CursorCodec() {
+        /* This utility class should not be instantiated */
+    }
+
+    private static final String SEPARATOR = "|";
+
+    public static String encode(LocalDateTime key, Long id) {
+        String raw = (key != null ? key.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String key = raw.substring(0, split);
+            Long id = Long.valueOf(raw.substring(split + 1));
+            return new Position(key.isEmpty() ? null : LocalDateTime.parse(key), id);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException too
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    // Last row of the previous page; key is null for rows without a sort value
+    @Getter
+    @AllArgsConstructor
+    public static class Position {
+        private final LocalDateTime key;
+        private final Long id;
+    }
+}
@@ -0,0 +1,74 @@
+package com.studyplanner.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Incremental splitter for a JSON document that arrives in arbitrary chunks.
+// Returns the text of every object that is an array element (e.g. each entry of
+// {"tasks": [...]}) as soon as its closing brace arrives, without waiting for the
+// rest of the document. Only brackets and string/escape state are tracked, so
+// markdown fences or chatter around the JSON are skipped, and a document that is
+// cut off simply yields the objects completed before the cut.
+// Not thread-safe: one instance per stream.
+public class JsonObjectStreamParser {
+
+    // open containers, '{' or '['; an array element object is captured whole
+    private final StringBuilder containers = new StringBuilder();
+    private final StringBuilder current = new StringBuilder();
+    private int captureDepth = -1;
+    private boolean inString;
+    private boolean escaped;
+
+    public List<String> feed(CharSequence chunk) {
+        List<String> completed = new ArrayList<>();
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (containers.isEmpty() && c != '{' && c != '[') {
+                // text before or after the document
+                continue;
+            }
+            if (captureDepth >= 0) {
+                current.append(c);
+            }
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> inString = true;
+                case '{', '[' -> {
+                    if (c == '{' && captureDepth < 0 && topIs('[')) {
+                        captureDepth = containers.length();
+                        current.setLength(0);
+                        current.append(c);
+                    }
+                    containers.append(c);
+                }
+                case '}', ']' -> {
+                    if (containers.isEmpty()) {
+                        continue;
+                    }
+                    containers.setLength(containers.length() - 1);
+                    if (captureDepth == containers.length()) {
+                        completed.add(current.toString());
+                        current.setLength(0);
+                        captureDepth = -1;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return completed;
+    }
+
+    private boolean topIs(char container) {
+        return !containers.isEmpty() && containers.charAt(containers.length() - 1) == container;
+    }
+}
@@ -0,0 +1,33 @@
+package com.studyplanner.backend.util;
+
+import java.time.Duration;
+
+// Retry schedule shared by the outboxes: base, 2x base, 4x base ... capped at
+// the max delay. Also trims error messages to what last_error can hold.
+public class RetryBackoff {
+
+    // last_error columns are VARCHAR(1000)
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+
+    public RetryBackoff(Duration baseDelay, Duration maxDelay) {
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    // Delay before the next try, after the given number of failed attempts
+    public Duration delay(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = baseDelay.multipliedBy(1L << doublings);
+        return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+    }
+
+    public static String truncateError(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -8,6 +8,7 @@ import com.studyplanner.backend.entity.User;
 import com.studyplanner.backend.exception.ResourceNotFoundException;
 import com.studyplanner.backend.exception.UnauthorizedAccessException;
 import com.studyplanner.backend.repository.UserRepository;
+import com.studyplanner.backend.security.AuthenticatedUser;
 
 import lombok.AllArgsConstructor;
 
@@ -20,11 +21,7 @@ public class SecurityUtils {
     // extreact the currently authenticated user's email from the security context
 
     public User getAuthenticatedUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new UnauthorizedAccessException("User is not Authenticated");
-        }
+        Authentication authentication = currentAuthentication();
 
         // return the email of the user from JWT token
         String email = authentication.getName();
@@ -33,8 +30,24 @@ public class SecurityUtils {
     }
 
     // return just the user id of the currently authenticated user
+    // JWT principals already carry the id, so no DB round trip is needed
     public Long getAuthenticatedUserId() {
+        Authentication authentication = currentAuthentication();
+
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.getUserId();
+        }
+
         return getAuthenticatedUser().getId();
     }
 
+    private Authentication currentAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedAccessException("User is not Authenticated");
+        }
+        return authentication;
+    }
+
 }
@@ -0,0 +1,42 @@
+package com.studyplanner.backend.util;
+
+import java.util.concurrent.TimeUnit;
+
+// Blocking token bucket: refills ratePerSecond tokens a second, holds at most
+// capacity. A caller that finds the bucket empty reserves the next token and
+// sleeps until it is due, so waiting callers are served in arrival order.
+// A rate of zero or less disables the limit.
+public class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(double ratePerSecond, int capacity) {
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1, capacity);
+        this.tokens = this.capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    // Takes one token; returns the nanoseconds spent waiting for it
+    public long acquire() throws InterruptedException {
+        if (tokensPerNano <= 0) {
+            return 0;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            // may go negative: the debt is what this caller sleeps off
+            tokens -= 1;
+            waitNanos = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return waitNanos;
+    }
+}
@@ -0,0 +1,23 @@
+-- Emails are written here in the caller's transaction and sent later by
+-- EmailOutboxScheduler, so a restart or SMTP outage does not lose them.
+CREATE SEQUENCE IF NOT EXISTS email_outbox_seq START WITH 50 INCREMENT BY 50;
+
+CREATE TABLE email_outbox (
+    outbox_id       BIGINT PRIMARY KEY,
+    type            VARCHAR(32) NOT NULL,
+    recipient       VARCHAR(320) NOT NULL,
+    subject         VARCHAR(1000) NOT NULL,
+    body            VARCHAR(65535) NOT NULL,
+    status          VARCHAR(16) NOT NULL CHECK (status IN ('PENDING', 'PROCESSING', 'SENT', 'DEAD')),
+    attempts        INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error      VARCHAR(1000),
+    sent_at         TIMESTAMP(6),
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6)
+);
+
+-- the worker polls for due rows: status IN (...) AND next_attempt_at <= now
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox (status, next_attempt_at);
+-- sent rows are purged after the retention period
+CREATE INDEX IF NOT EXISTS idx_email_outbox_sent ON email_outbox (sent_at);
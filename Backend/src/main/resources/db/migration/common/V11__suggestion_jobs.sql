@@ -0,0 +1,22 @@
+-- Suggestion generation runs as a job: the row is written in a short transaction,
+-- the LLM is called outside any transaction and the client polls the row.
+CREATE SEQUENCE IF NOT EXISTS suggestion_jobs_seq START WITH 50 INCREMENT BY 50;
+
+CREATE TABLE suggestion_jobs (
+    job_id             BIGINT PRIMARY KEY,
+    user_id            BIGINT NOT NULL,
+    prompt             TEXT NOT NULL,
+    additional_context TEXT,
+    language           VARCHAR(16),
+    status             VARCHAR(16) NOT NULL CHECK (status IN ('QUEUED', 'RUNNING', 'SUCCEEDED', 'FAILED')),
+    total_generated    INTEGER,
+    error              VARCHAR(1000),
+    started_at         TIMESTAMP(6),
+    finished_at        TIMESTAMP(6),
+    created_at         TIMESTAMP(6),
+    updated_at         TIMESTAMP(6)
+);
+
+-- suggestions saved by a job; null for the synchronous and streaming endpoints
+ALTER TABLE suggested_tasks ADD COLUMN job_id BIGINT;
+CREATE INDEX IF NOT EXISTS idx_suggested_tasks_job ON suggested_tasks (job_id);
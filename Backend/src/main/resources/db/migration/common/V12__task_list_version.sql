@@ -0,0 +1,3 @@
+-- Task list version used for the task list ETag and cache. Kept in the database
+-- so a write on one instance invalidates what every other instance serves.
+ALTER TABLE users ADD COLUMN task_list_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- a user's pull sync is leased to one instance per run; an expired lease can be claimed again
+ALTER TABLE calendar_sync_state ADD COLUMN lease_owner VARCHAR(64);
+ALTER TABLE calendar_sync_state ADD COLUMN lease_expires_at TIMESTAMP(6);
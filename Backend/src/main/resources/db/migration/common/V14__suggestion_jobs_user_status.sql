@@ -0,0 +1,2 @@
+-- unfinished jobs of a user are counted against the monthly quota on every submission
+CREATE INDEX IF NOT EXISTS idx_suggestion_jobs_user_status ON suggestion_jobs (user_id, status);
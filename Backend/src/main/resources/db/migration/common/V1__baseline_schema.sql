@@ -0,0 +1,85 @@
+-- Baseline: the schema as Hibernate created it with ddl-auto: update.
+-- Databases that already have these tables are baselined at version 1 and skip this script.
+
+CREATE TABLE users (
+    user_id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    public_id           VARCHAR(255) NOT NULL UNIQUE,
+    first_name          VARCHAR(255),
+    last_name           VARCHAR(255),
+    email               VARCHAR(255) NOT NULL UNIQUE,
+    password_hash       VARCHAR(255),
+    google_id           VARCHAR(255) UNIQUE,
+    auth_provider       VARCHAR(255) CHECK (auth_provider IN ('LOCAL', 'GOOGLE')),
+    profile_picture     VARCHAR(255),
+    google_access_token VARCHAR(2048),
+    created_at          TIMESTAMP(6),
+    updated_at          TIMESTAMP(6)
+);
+
+CREATE TABLE suggested_tasks (
+    task_id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          BIGINT NOT NULL,
+    task_name        VARCHAR(255) NOT NULL,
+    task_description TEXT,
+    task_deadline    TIMESTAMP(6),
+    priority         VARCHAR(255) CHECK (priority IN ('HIGH', 'MEDIUM', 'LOW')),
+    suggested_status VARCHAR(255) CHECK (suggested_status IN ('PENDING', 'ACCEPTED', 'DECLINED')),
+    status           VARCHAR(255) CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED')),
+    accepted_task_id BIGINT UNIQUE,
+    llm_response     TEXT,
+    llm_model        VARCHAR(255),
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6),
+    responded_at     TIMESTAMP(6)
+);
+
+-- priority and status are ordinal enums
+CREATE TABLE tasks (
+    task_id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id             BIGINT NOT NULL,
+    task_name           VARCHAR(255) NOT NULL,
+    task_description    VARCHAR(255) NOT NULL,
+    task_deadline       TIMESTAMP(6),
+    priority            SMALLINT CHECK (priority BETWEEN 0 AND 2),
+    status              SMALLINT CHECK (status BETWEEN 0 AND 2),
+    completed           BOOLEAN NOT NULL,
+    shared_by_email     VARCHAR(255),
+    from_llm_suggestion BOOLEAN,
+    suggested_task_id   BIGINT,
+    language            VARCHAR(255) CHECK (language IN ('EN', 'FI', 'NE', 'VI')),
+    created_at          TIMESTAMP(6) NOT NULL,
+    updated_at          TIMESTAMP(6)
+);
+
+CREATE TABLE reminder (
+    reminder_id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    task_id       BIGINT NOT NULL,
+    reminder_sent BOOLEAN NOT NULL,
+    reminder_date TIMESTAMP(6),
+    sent_at       TIMESTAMP(6),
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6)
+);
+
+CREATE TABLE task_share_invites (
+    invite_id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sender_id      BIGINT NOT NULL,
+    receiver_id    BIGINT NOT NULL,
+    task_id        BIGINT NOT NULL,
+    status         VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'ACCEPTED', 'DECLINED')),
+    invite_token   VARCHAR(255) NOT NULL UNIQUE,
+    responded_at   TIMESTAMP(6),
+    shared_task_id BIGINT,
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6)
+);
+
+ALTER TABLE suggested_tasks ADD CONSTRAINT fk_suggested_tasks_user FOREIGN KEY (user_id) REFERENCES users;
+ALTER TABLE suggested_tasks ADD CONSTRAINT fk_suggested_tasks_accepted_task FOREIGN KEY (accepted_task_id) REFERENCES tasks;
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users;
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_suggested_task FOREIGN KEY (suggested_task_id) REFERENCES suggested_tasks;
+ALTER TABLE reminder ADD CONSTRAINT fk_reminder_task FOREIGN KEY (task_id) REFERENCES tasks;
+ALTER TABLE task_share_invites ADD CONSTRAINT fk_invites_sender FOREIGN KEY (sender_id) REFERENCES users;
+ALTER TABLE task_share_invites ADD CONSTRAINT fk_invites_receiver FOREIGN KEY (receiver_id) REFERENCES users;
+ALTER TABLE task_share_invites ADD CONSTRAINT fk_invites_task FOREIGN KEY (task_id) REFERENCES tasks;
+ALTER TABLE task_share_invites ADD CONSTRAINT fk_invites_shared_task FOREIGN KEY (shared_task_id) REFERENCES tasks;
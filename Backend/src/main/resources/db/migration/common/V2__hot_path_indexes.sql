@@ -0,0 +1,27 @@
+-- One index per repository access path. IF NOT EXISTS because databases that ran
+-- ddl-auto: update may already have the ones declared with @Index on the entities.
+
+-- tasks: every list query is scoped by user_id first
+-- (findByUserId*, keyset pages, filter, export)
+CREATE INDEX IF NOT EXISTS idx_tasks_user_deadline ON tasks (user_id, task_deadline, task_id);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status_deadline ON tasks (user_id, status, task_deadline);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_priority_deadline ON tasks (user_id, priority, task_deadline);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_completed_deadline ON tasks (user_id, completed, task_deadline);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_name ON tasks (user_id, task_name);
+CREATE INDEX IF NOT EXISTS idx_tasks_suggested_task ON tasks (suggested_task_id);
+
+-- reminder: findByTaskId, existsByTaskIdAndReminderSentFalse
+CREATE INDEX IF NOT EXISTS idx_reminder_task_sent ON reminder (task_id, reminder_sent);
+
+-- suggested_tasks: findByUserIdAndSuggestedStatus, countByUserIdAndSuggestedStatus,
+-- countByUserIdAndTaskDeadlineBetween (monthly quota), keyset pages by created_at
+CREATE INDEX IF NOT EXISTS idx_suggested_tasks_user_created ON suggested_tasks (user_id, created_at, task_id);
+CREATE INDEX IF NOT EXISTS idx_suggested_tasks_user_status ON suggested_tasks (user_id, suggested_status);
+CREATE INDEX IF NOT EXISTS idx_suggested_tasks_user_deadline ON suggested_tasks (user_id, task_deadline);
+
+-- task_share_invites: findByReceiverIdAndStatus, countByReceiverIdAndStatus,
+-- existsByReceiverIdAndTaskIdAndStatus, findBySenderId, keyset pages by created_at
+CREATE INDEX IF NOT EXISTS idx_invites_receiver_created ON task_share_invites (receiver_id, created_at, invite_id);
+CREATE INDEX IF NOT EXISTS idx_invites_receiver_status_task ON task_share_invites (receiver_id, status, task_id);
+CREATE INDEX IF NOT EXISTS idx_invites_sender ON task_share_invites (sender_id);
+CREATE INDEX IF NOT EXISTS idx_invites_task ON task_share_invites (task_id);
@@ -0,0 +1,21 @@
+-- Calendar pushes are written here in the task's transaction and sent to Google
+-- later by CalendarSyncScheduler. No foreign keys: a row may outlive its task.
+CREATE SEQUENCE IF NOT EXISTS calendar_sync_outbox_seq START WITH 50 INCREMENT BY 50;
+
+CREATE TABLE calendar_sync_outbox (
+    outbox_id       BIGINT PRIMARY KEY,
+    task_id         BIGINT NOT NULL,
+    user_id         BIGINT NOT NULL,
+    status          VARCHAR(16) NOT NULL CHECK (status IN ('PENDING', 'PROCESSING', 'DONE', 'FAILED')),
+    attempts        INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error      VARCHAR(1000),
+    google_event_id VARCHAR(1024),
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6)
+);
+
+-- the worker polls for due rows: status IN (...) AND next_attempt_at <= now
+CREATE INDEX IF NOT EXISTS idx_calendar_sync_outbox_due ON calendar_sync_outbox (status, next_attempt_at);
+-- enqueue skips tasks that already have a pending row
+CREATE INDEX IF NOT EXISTS idx_calendar_sync_outbox_task ON calendar_sync_outbox (task_id, status);
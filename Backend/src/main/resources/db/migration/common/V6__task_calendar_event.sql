@@ -0,0 +1,9 @@
+-- tasks remember the Calendar event they were pushed to, so updates patch it
+-- (guarded by its etag) and deletes remove it instead of leaving duplicates behind
+ALTER TABLE tasks ADD COLUMN google_event_id VARCHAR(1024);
+ALTER TABLE tasks ADD COLUMN google_event_etag VARCHAR(255);
+
+-- existing outbox rows are all inserts/updates
+ALTER TABLE calendar_sync_outbox ADD COLUMN operation VARCHAR(16) DEFAULT 'UPSERT' NOT NULL;
+ALTER TABLE calendar_sync_outbox ADD CONSTRAINT chk_calendar_sync_outbox_operation
+    CHECK (operation IN ('UPSERT', 'DELETE'));
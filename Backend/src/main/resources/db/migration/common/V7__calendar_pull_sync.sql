@@ -0,0 +1,10 @@
+-- pull sync: the Calendar sync token per user, so each run only lists the changes since the last one
+CREATE TABLE calendar_sync_state (
+    user_id        BIGINT PRIMARY KEY,
+    sync_token     VARCHAR(1024),
+    last_synced_at TIMESTAMP(6),
+    updated_at     TIMESTAMP(6)
+);
+
+-- changed events are matched back to their tasks by event id
+CREATE INDEX IF NOT EXISTS idx_tasks_user_google_event ON tasks (user_id, google_event_id);
@@ -0,0 +1,3 @@
+-- reminders are claimed by one instance at a time; an expired lease can be claimed again
+ALTER TABLE reminder ADD COLUMN lease_owner VARCHAR(64);
+ALTER TABLE reminder ADD COLUMN lease_expires_at TIMESTAMP(6);
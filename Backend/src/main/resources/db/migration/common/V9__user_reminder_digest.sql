@@ -0,0 +1,2 @@
+-- users can opt in to a single digest email for reminders due close together
+ALTER TABLE users ADD COLUMN reminder_digest BOOLEAN DEFAULT FALSE NOT NULL;
@@ -0,0 +1,2 @@
+-- H2 has no partial indexes; same access path as the PostgreSQL version
+CREATE INDEX IF NOT EXISTS idx_reminder_unsent_date ON reminder (reminder_sent, reminder_date);
@@ -0,0 +1,3 @@
+-- same sequences as the PostgreSQL version; H2 databases start empty
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 50 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS reminder_seq START WITH 50 INCREMENT BY 50;
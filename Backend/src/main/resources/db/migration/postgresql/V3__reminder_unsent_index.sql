@@ -0,0 +1,2 @@
+-- findUnsentRemindersInWindow: only unsent rows are ever scanned, so index just those
+CREATE INDEX IF NOT EXISTS idx_reminder_unsent_date ON reminder (reminder_date) WHERE reminder_sent = false;
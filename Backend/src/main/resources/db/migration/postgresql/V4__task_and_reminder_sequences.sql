@@ -0,0 +1,7 @@
+-- tasks and reminder take ids from pooled sequences (allocationSize = 50) so Hibernate
+-- can batch their inserts; each sequence continues after the highest existing id
+CREATE SEQUENCE IF NOT EXISTS tasks_seq INCREMENT BY 50;
+SELECT setval('tasks_seq', (SELECT COALESCE(MAX(task_id), 0) FROM tasks) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS reminder_seq INCREMENT BY 50;
+SELECT setval('reminder_seq', (SELECT COALESCE(MAX(reminder_id), 0) FROM reminder) + 50, false);
@@ -0,0 +1,121 @@
+package com.studyplanner.backend.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.studyplanner.backend.entity.Task.Language;
+import com.studyplanner.backend.template.EmailTemplate;
+import com.studyplanner.backend.template.EmailTemplates;
+
+/**
+ * Compares rendering the reminder email body with the old String.formatted
+ * text block against the precompiled, escaping EmailTemplate.
+ *
+ * Not part of the test suite. Run the main method from the IDE, or after
+ * mvn test-compile with the test classpath:
+ * java -cp target/test-classes:target/classes:... org.openjdk.jmh.Main EmailTemplateBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("MMMM dd, yyyy 'at' hh:mm a");
+
+    // The reminder body as EmailServiceImpl built it before the template engine
+    private static final String LEGACY_REMINDER = """
+            <!DOCTYPE html><html><head><meta charset="UTF-8">
+            <style>
+              body{font-family:Arial,sans-serif;background:#f4f4f4;margin:0;padding:0}
+              .container{max-width:600px;margin:30px auto;background:#fff;border-radius:8px;
+                         overflow:hidden;box-shadow:0 2px 8px rgba(0,0,0,.1)}
+              .header{background:#2c3e50;padding:24px 32px;color:#fff}
+              .body{padding:32px}
+              .task-card{background:#f8f9fa;border-left:4px solid #2c3e50;border-radius:4px;padding:20px 24px;margin-bottom:24px}
+              .task-title{font-size:20px;font-weight:bold;color:#2c3e50;margin:0 0 12px}
+              .task-row{display:flex;margin-bottom:8px;font-size:14px}
+              .task-label{color:#7f8c8d;width:110px;flex-shrink:0}
+              .priority-badge{display:inline-block;padding:2px 10px;border-radius:12px;
+                              color:#fff;font-size:13px;font-weight:bold;background:%s}
+              .footer{background:#f8f9fa;padding:16px 32px;font-size:12px;
+                      color:#95a5a6;text-align:center;border-top:1px solid #e9ecef}
+            </style></head><body>
+            <div class="container">
+              <div class="header"><h1 style="margin:0;font-size:22px">📚 Study Planner</h1>
+                <p style="margin:6px 0 0;color:#bdc3c7;font-size:14px">Task Deadline Reminder</p></div>
+              <div class="body">
+                <p style="font-size:16px;color:#2c3e50">Hi <strong>%s</strong>,</p>
+                <p style="color:#555;font-size:15px">Your task is due <strong>tomorrow</strong>.</p>
+                <div class="task-card">
+                  <p class="task-title">%s</p>
+                  <div class="task-row"><span class="task-label">Description:</span><span>%s</span></div>
+                  <div class="task-row"><span class="task-label">Priority:</span>
+                    <span class="priority-badge">%s</span></div>
+                  <div class="task-row"><span class="task-label">Status:</span><span>%s</span></div>
+                  <div class="task-row"><span class="task-label">Deadline:</span><span>%s</span></div>
+                </div>
+                <div style="background:#fff3cd;border:1px solid #ffc107;border-radius:4px;
+                     padding:12px 16px;font-size:14px;color:#856404">
+                  ⚠️ <strong>Due tomorrow!</strong> Log in to complete this task.
+                </div>
+              </div>
+              <div class="footer">Automated reminder — please do not reply.</div>
+            </div></body></html>
+            """;
+
+    private EmailTemplate template;
+    private Map<String, Object> values;
+    private String deadline;
+
+    @Setup
+    public void setUp() {
+        template = new EmailTemplates().body("reminder", Language.EN);
+        deadline = LocalDateTime.of(2026, 3, 5, 14, 30).format(FORMATTER);
+        values = new HashMap<>();
+        values.put("priorityColor", "#e74c3c");
+        values.put("firstName", "Student");
+        values.put("taskName", "Physics practice");
+        values.put("taskDescription", "Solve chapter 2 numericals & review notes");
+        values.put("priority", "HIGH");
+        values.put("status", "🕐 Pending");
+        values.put("deadline", deadline);
+    }
+
+    // Parses the format string on every call and does no escaping
+    @Benchmark
+    public String legacyFormatted() {
+        return LEGACY_REMINDER.formatted("#e74c3c", "Student", "Physics practice",
+                "Solve chapter 2 numericals & review notes", "HIGH", "🕐 Pending", deadline);
+    }
+
+    @Benchmark
+    public String precompiledTemplate() {
+        return template.render(values);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
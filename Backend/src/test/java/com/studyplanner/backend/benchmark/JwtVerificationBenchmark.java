@@ -0,0 +1,126 @@
+package com.studyplanner.backend.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.studyplanner.backend.security.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Compares the per-request JWT work of the old filter (fresh key + parser,
+ * token parsed twice) with the new parse-once JwtUtil.verify path, both for a
+ * token seen before (verified-token cache hit) and for a new one (cache miss,
+ * so only the reused key and parser help).
+ *
+ * Not part of the test suite. Run the main method from the IDE, or after
+ * mvn test-compile with the test classpath:
+ * java -cp target/test-classes:target/classes:... org.openjdk.jmh.Main JwtVerificationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "abcdefghijklmnopqrstuvwxyz1234567890abcdefghijklmnopqrstuvwxyz";
+    // distinct tokens cycled through by the cache-miss case
+    private static final int MISS_TOKENS = 1 << 14;
+    private static final UserDetails STUDENT = User.withUsername("student@example.com").password("")
+            .authorities("ROLE_USER").build();
+
+    private JwtUtil jwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+    private String[] missTokens;
+    private int nextMiss;
+
+    @Setup
+    public void setUp() throws Exception {
+        jwtUtil = newJwtUtil(10_000);
+        token = jwtUtil.generateToken(Map.of("userId", 42L), STUDENT);
+
+        // no room in the verified-token cache, and a different token on every call
+        uncachedJwtUtil = newJwtUtil(0);
+        missTokens = new String[MISS_TOKENS];
+        for (int i = 0; i < MISS_TOKENS; i++) {
+            missTokens[i] = uncachedJwtUtil.generateToken(Map.of("userId", 42L, "n", i), STUDENT);
+        }
+    }
+
+    // What JwtAuthFilter used to do: validateToken() then extractEmail(),
+    // each rebuilding the HMAC key and parser
+    @Benchmark
+    public void oldValidateThenExtract(Blackhole bh) {
+        bh.consume(legacyClaims(token));
+        bh.consume(legacyClaims(token).getSubject());
+    }
+
+    // Repeated bearer token: served from the verified-token cache
+    @Benchmark
+    public void newVerifyCached(Blackhole bh) {
+        Claims claims = jwtUtil.verify(token);
+        bh.consume(claims.getSubject());
+        bh.consume(jwtUtil.extractUserId(claims));
+    }
+
+    // New bearer token: signature checked with the reused key and parser; the
+    // cache lookup and insert are still paid, as for a first request
+    @Benchmark
+    public void newVerifyUncached(Blackhole bh) {
+        String fresh = missTokens[nextMiss];
+        nextMiss = (nextMiss + 1) % MISS_TOKENS;
+        Claims claims = uncachedJwtUtil.verify(fresh);
+        bh.consume(claims.getSubject());
+        bh.consume(uncachedJwtUtil.extractUserId(claims));
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    private static JwtUtil newJwtUtil(long verifiedCacheSize) throws Exception {
+        JwtUtil util = new JwtUtil();
+        setField(util, "secret", SECRET);
+        setField(util, "expirationMs", 3_600_000L);
+        setField(util, "verifiedCacheSize", verifiedCacheSize);
+        return util;
+    }
+
+    private static void setField(JwtUtil target, String name, Object value) throws Exception {
+        Field field = JwtUtil.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
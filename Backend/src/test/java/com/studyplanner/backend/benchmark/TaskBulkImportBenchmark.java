@@ -0,0 +1,156 @@
+package com.studyplanner.backend.benchmark;
+
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studyplanner.backend.cache.TaskListVersions;
+import com.studyplanner.backend.dto.BulkTaskRequestDto;
+import com.studyplanner.backend.dto.BulkTaskResponseDto;
+import com.studyplanner.backend.dto.TaskDto;
+import com.studyplanner.backend.entity.Task;
+import com.studyplanner.backend.entity.User;
+import com.studyplanner.backend.repository.CalendarSyncOutboxRepository;
+import com.studyplanner.backend.repository.ReminderRepository;
+import com.studyplanner.backend.repository.TaskRepository;
+import com.studyplanner.backend.repository.UserRepository;
+import com.studyplanner.backend.scheduler.ReminderDispatcher;
+import com.studyplanner.backend.service.impl.CalendarOutboxServiceImpl;
+import com.studyplanner.backend.service.impl.ReminderServiceImp;
+import com.studyplanner.backend.service.impl.TaskServiceImpl;
+
+/**
+ * Imports a 1,000-task semester plan into in-memory H2, once as 1,000
+ * createTask calls (one transaction each, like 1,000 HTTP requests) and once
+ * as a single applyBulk call. Every dated task also gets a reminder.
+ *
+ * batchSize=1 switches JDBC batching off, batchSize=50 matches application.yaml.
+ * Not part of the test suite:
+ * java -cp target/test-classes:target/classes:... org.openjdk.jmh.Main TaskBulkImportBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskBulkImportBenchmark {
+
+    private static final int TASK_COUNT = 1_000;
+
+    @Param({ "1", "50" })
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskServiceImpl taskService;
+    private TaskRepository taskRepository;
+    private ReminderRepository reminderRepository;
+    private TransactionTemplate tx;
+    private Long userId;
+    private List<TaskDto> plan;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskReadProjectionBenchmark.JpaOnlyConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=task-bulk-benchmark",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.studyplanner=ERROR",
+                        "--spring.datasource.url=jdbc:h2:mem:bulkbench" + batchSize + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--spring.jpa.properties.hibernate.order_inserts=true",
+                        "--spring.jpa.properties.hibernate.order_updates=true");
+
+        taskRepository = context.getBean(TaskRepository.class);
+        reminderRepository = context.getBean(ReminderRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        CalendarOutboxServiceImpl calendarOutboxService = new CalendarOutboxServiceImpl(
+                context.getBean(CalendarSyncOutboxRepository.class), taskRepository, userRepository,
+                Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofHours(1), 8);
+        taskService = new TaskServiceImpl(taskRepository, userRepository,
+                new ReminderServiceImp(reminderRepository, mock(ReminderDispatcher.class)), calendarOutboxService, new TaskListVersions(userRepository));
+
+        userId = userRepository.save(User.builder().email("planner@example.com").build()).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(7);
+        plan = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            plan.add(TaskDto.builder()
+                    .userId(userId)
+                    .taskName("Week " + (i / 10) + " - item " + i)
+                    .taskDescription("Revise chapter " + (i % 40))
+                    .taskDeadline(start.plusHours(i * 5L))
+                    .priority(Task.Priority.values()[i % 3])
+                    .status(Task.Status.PENDING)
+                    .language(Task.Language.EN)
+                    .build());
+        }
+    }
+
+    // keep every invocation importing into the same table size
+    @TearDown(Level.Invocation)
+    public void clearTables() {
+        tx.executeWithoutResult(status -> {
+            reminderRepository.deleteAllInBatch();
+            taskRepository.deleteAllInBatch();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Old way: one request and one transaction per task
+    @Benchmark
+    public int createOneByOne() {
+        int created = 0;
+        for (TaskDto taskDto : plan) {
+            tx.execute(status -> taskService.createTask(taskDto));
+            created++;
+        }
+        return created;
+    }
+
+    // POST /api/v1/task/bulk
+    @Benchmark
+    public BulkTaskResponseDto bulkCreate() {
+        return tx.execute(status -> taskService.applyBulk(userId,
+                BulkTaskRequestDto.builder().create(plan).build()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskBulkImportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,138 @@
+package com.studyplanner.backend.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studyplanner.backend.dto.TaskDto;
+import com.studyplanner.backend.entity.Task;
+import com.studyplanner.backend.entity.User;
+import com.studyplanner.backend.mapper.TaskMapper;
+import com.studyplanner.backend.repository.TaskRepository;
+import com.studyplanner.backend.repository.UserRepository;
+
+/**
+ * Loads the task list of a user with 5,000 tasks from in-memory H2, once as
+ * entities mapped through TaskMapper (the old read path) and once through the
+ * TaskDto constructor-expression query.
+ *
+ * Not part of the test suite. Allocation numbers come from the GC profiler:
+ * java -cp target/test-classes:target/classes:... org.openjdk.jmh.Main TaskReadProjectionBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskReadProjectionBenchmark {
+
+    private static final int TASK_COUNT = 5_000;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TransactionTemplate readOnlyTx;
+    private Long userId;
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            DataSourceAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            JpaRepositoriesAutoConfiguration.class,
+            TransactionAutoConfiguration.class })
+    @EntityScan(basePackageClasses = Task.class)
+    @EnableJpaRepositories(basePackageClasses = TaskRepository.class)
+    static class JpaOnlyConfig {
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(JpaOnlyConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=task-read-benchmark",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--spring.datasource.url=jdbc:h2:mem:taskbench;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false");
+
+        taskRepository = context.getBean(TaskRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+
+        User user = userRepository.save(User.builder().email("power.user@example.com").build());
+        userId = user.getId();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            LocalDateTime start = LocalDateTime.of(2020, 1, 1, 9, 0);
+            for (int i = 0; i < TASK_COUNT; i++) {
+                taskRepository.save(Task.builder()
+                        .user(user)
+                        .taskName("Task " + i)
+                        .taskDescription("Revise chapter " + (i % 40))
+                        .taskDeadline(start.plusHours(i * 7L))
+                        .priority(Task.Priority.values()[i % 3])
+                        .status(Task.Status.values()[i % 3])
+                        .completed(i % 3 == 2)
+                        .language(Task.Language.EN)
+                        .build());
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Old read path: hydrate Task entities, then map each one
+    @Benchmark
+    public List<TaskDto> entitiesThenMapper() {
+        return readOnlyTx.execute(status -> taskRepository.findByUserId(userId)
+                .stream()
+                .map(TaskMapper::mapToTaskDto)
+                .toList());
+    }
+
+    // New read path: rows go straight into TaskDto
+    @Benchmark
+    public List<TaskDto> dtoProjection() {
+        return readOnlyTx.execute(status -> taskRepository.findDtosByUserId(userId));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskReadProjectionBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
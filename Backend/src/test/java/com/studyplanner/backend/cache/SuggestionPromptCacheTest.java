@@ -0,0 +1,77 @@
+package com.studyplanner.backend.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.studyplanner.backend.dto.LlmTaskGenerationRequest;
+import com.studyplanner.backend.dto.SuggestedTasksDto;
+import com.studyplanner.backend.entity.SuggestedLLM.Priority;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("SuggestionPromptCache Tests")
+class SuggestionPromptCacheTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 12);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SuggestionPromptCache cache = new SuggestionPromptCache(meterRegistry, 100, Duration.ofDays(7), 7);
+
+    @Test
+    void normalize_ShouldIgnoreCaseOrderPunctuationAndFillerWords() {
+        assertEquals(SuggestionPromptCache.normalize("docker exam plan"),
+                SuggestionPromptCache.normalize("Plan for Docker exam!"));
+        assertEquals("", SuggestionPromptCache.normalize(null));
+    }
+
+    @Test
+    void get_ShouldRebaseDeadlinesOntoTheRequestDay() {
+        cache.put(request("plan for Docker exam", "en"), MONDAY, List.of(SuggestedTasksDto.builder()
+                .taskName("Read docs")
+                .taskDeadline(MONDAY.plusDays(3).atTime(18, 0))
+                .priority(Priority.HIGH)
+                .build()));
+
+        List<SuggestedTasksDto> hit = cache.get(request("docker exam plan", "en"), MONDAY.plusDays(1)).orElseThrow();
+
+        assertEquals("Read docs", hit.get(0).getTaskName());
+        assertEquals(LocalDateTime.of(2026, 10, 16, 18, 0), hit.get(0).getTaskDeadline());
+        assertEquals(Priority.HIGH, hit.get(0).getPriority());
+    }
+
+    @Test
+    void get_ShouldMissForOtherLanguageOrContext() {
+        cache.put(request("docker exam", "en"), MONDAY, List.of(SuggestedTasksDto.builder()
+                .taskName("Read docs")
+                .taskDeadline(MONDAY.atTime(18, 0))
+                .build()));
+
+        assertTrue(cache.get(request("docker exam", "fi"), MONDAY).isEmpty());
+        assertTrue(cache.get(LlmTaskGenerationRequest.builder()
+                .prompt("docker exam").additionalContext("only two days left").language("en").build(), MONDAY)
+                .isEmpty());
+    }
+
+    @Test
+    void get_ShouldMissInTheNextDateBucket() {
+        cache.put(request("docker exam", "en"), MONDAY, List.of(SuggestedTasksDto.builder()
+                .taskName("Read docs")
+                .taskDeadline(MONDAY.atTime(18, 0))
+                .build()));
+
+        assertTrue(cache.get(request("docker exam", "en"), MONDAY.plusDays(7)).isEmpty());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    private static LlmTaskGenerationRequest request(String prompt, String language) {
+        return LlmTaskGenerationRequest.builder().prompt(prompt).language(language).build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.studyplanner.backend.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.studyplanner.backend.entity.User;
+import com.studyplanner.backend.repository.UserRepository;
+
+/**
+ * Runs the task list versions against the users.task_list_version column in H2.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@DisplayName("TaskListVersions Tests")
+class TaskListVersionsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private TaskListVersions versions;
+    private User first;
+    private User second;
+
+    @BeforeEach
+    void setUp() {
+        versions = new TaskListVersions(userRepository);
+        first = entityManager.persist(User.builder().email("first@example.com").build());
+        second = entityManager.persist(User.builder().email("second@example.com").build());
+        entityManager.flush();
+    }
+
+    @Test
+    void current_ShouldBeStableUntilBumped() {
+        long before = versions.current(first.getId());
+
+        assertEquals(before, versions.current(first.getId()));
+        versions.bump(first.getId());
+        assertNotEquals(before, versions.current(first.getId()));
+    }
+
+    @Test
+    void bump_ShouldOnlyAffectThatUser() {
+        long other = versions.current(second.getId());
+
+        versions.bump(first.getId());
+
+        assertEquals(other, versions.current(second.getId()));
+    }
+
+    @Test
+    void bump_ShouldSurviveSavesOfTheUserEntity() {
+        versions.bump(first.getId());
+        long bumped = versions.current(first.getId());
+
+        first.setFirstName("Renamed");
+        userRepository.saveAndFlush(first);
+
+        assertEquals(bumped, versions.current(first.getId()));
+    }
+
+    @Test
+    void current_ForUnknownUser_ShouldBeZero() {
+        assertEquals(0L, versions.current(-1L));
+    }
+
+    @Test
+    void matches_ShouldHandleListsAndWildcard() {
+        String etag = TaskListCache.etag(1L, 5L);
+
+        assertTrue(TaskListCache.matches(etag, etag));
+        assertTrue(TaskListCache.matches("\"x\", " + etag, etag));
+        assertTrue(TaskListCache.matches("*", etag));
+        assertFalse(TaskListCache.matches(TaskListCache.etag(1L, 4L), etag));
+        assertFalse(TaskListCache.matches(null, etag));
+    }
+}
@@ -8,6 +8,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDateTime;
@@ -24,16 +25,19 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.studyplanner.backend.dto.LlmTaskGenerationRequest;
 import com.studyplanner.backend.dto.LlmTaskGenerationResponse;
 import com.studyplanner.backend.dto.SuggestedTasksDto;
 import com.studyplanner.backend.dto.SuggestionBatchResponseDto;
+import com.studyplanner.backend.dto.SuggestionJobDto;
 import com.studyplanner.backend.dto.SuggestionResponseDto;
 import com.studyplanner.backend.dto.TaskDto;
 import com.studyplanner.backend.entity.SuggestedLLM.Priority;
 import com.studyplanner.backend.entity.SuggestedLLM.SuggestedStatus;
+import com.studyplanner.backend.entity.SuggestionJob;
 import com.studyplanner.backend.service.LlmService;
 import com.studyplanner.backend.service.SuggestedTaskService;
 import com.studyplanner.backend.util.SecurityUtils;
@@ -84,6 +88,48 @@ class SuggestedTasksControllerTest {
                 .andExpect(jsonPath("$.message").value("Generated"));
     }
 
+    @Test
+    void submitSuggestionJob_ShouldReturnAccepted() throws Exception {
+        testSecurityUtils.setAuthenticatedUserId(1L);
+        LlmTaskGenerationRequest req = LlmTaskGenerationRequest.builder().prompt("make tasks").build();
+        when(llmService.submitSuggestionJob(any(LlmTaskGenerationRequest.class), eq(1L))).thenReturn(
+                SuggestionJobDto.builder().jobId(7L).status(SuggestionJob.Status.QUEUED).build());
+
+        mockMvc.perform(post("/api/v1/suggestions/generate/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.jobId").value(7))
+                .andExpect(jsonPath("$.data.status").value("QUEUED"));
+    }
+
+    @Test
+    void getSuggestionJob_ShouldReturnStatus() throws Exception {
+        testSecurityUtils.setAuthenticatedUserId(1L);
+        when(llmService.getSuggestionJob(7L, 1L)).thenReturn(
+                SuggestionJobDto.builder().jobId(7L).status(SuggestionJob.Status.SUCCEEDED).totalGenerated(2).build());
+
+        mockMvc.perform(get("/api/v1/suggestions/jobs/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Suggestion job succeeded"))
+                .andExpect(jsonPath("$.data.totalGenerated").value(2));
+    }
+
+    @Test
+    void streamSuggestions_ShouldOpenEventStream() throws Exception {
+        testSecurityUtils.setAuthenticatedUserId(1L);
+        LlmTaskGenerationRequest req = LlmTaskGenerationRequest.builder().prompt("make tasks").build();
+        SseEmitter emitter = new SseEmitter();
+        when(llmService.streamTaskSuggestions(any(LlmTaskGenerationRequest.class), eq(1L))).thenReturn(emitter);
+
+        mockMvc.perform(post("/api/v1/suggestions/generate/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk());
+        emitter.complete();
+    }
+
     @Test
     void respondToSuggestions_ShouldReturnSummaryMessage() throws Exception {
         testSecurityUtils.setAuthenticatedUserId(1L);
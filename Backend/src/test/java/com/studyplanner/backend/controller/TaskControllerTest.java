@@ -1,24 +1,33 @@
 package com.studyplanner.backend.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -27,14 +36,23 @@ import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.studyplanner.backend.cache.TaskListCache;
+import com.studyplanner.backend.cache.TaskListVersions;
+import com.studyplanner.backend.dto.BulkTaskRequestDto;
+import com.studyplanner.backend.dto.BulkTaskResponseDto;
+import com.studyplanner.backend.dto.CursorPage;
 import com.studyplanner.backend.dto.TaskDto;
+import com.studyplanner.backend.dto.TaskFilterDto;
 import com.studyplanner.backend.entity.Task.Priority;
 import com.studyplanner.backend.entity.Task.Status;
 import com.studyplanner.backend.exception.ResourceNotFoundException;
 import com.studyplanner.backend.exception.UnauthorizedAccessException;
+import com.studyplanner.backend.repository.UserRepository;
 import com.studyplanner.backend.service.TaskService;
 import com.studyplanner.backend.util.SecurityUtils;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 /**
  * Unit tests for TaskController using standalone MockMvc and Mockito.
  */
@@ -56,12 +74,28 @@ class TaskControllerTest {
 
     private TaskController taskController;
 
+    private TaskListVersions taskListVersions;
+
+    // stands in for users.task_list_version
+    private final AtomicLong storedVersion = new AtomicLong();
+
     private TaskDto testTaskDto;
 
     @BeforeEach
     void setUp() {
         testSecurityUtils = new TestSecurityUtils();
-        taskController = new TaskController(taskService, testSecurityUtils);
+        UserRepository userRepository = mock(UserRepository.class);
+        lenient().when(userRepository.findTaskListVersion(anyLong()))
+                .thenAnswer(inv -> Optional.of(storedVersion.get()));
+        lenient().when(userRepository.incrementTaskListVersion(anyLong()))
+                .thenAnswer(inv -> {
+                    storedVersion.incrementAndGet();
+                    return 1;
+                });
+        taskListVersions = new TaskListVersions(userRepository);
+        TaskListCache taskListCache = new TaskListCache(taskListVersions, objectMapper,
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        taskController = new TaskController(taskService, testSecurityUtils, taskListCache, objectMapper);
 
         LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
         validator.afterPropertiesSet();
@@ -157,6 +191,24 @@ class TaskControllerTest {
                     .contentType(MediaType.APPLICATION_JSON))
                     .andExpect(status().isForbidden());
         }
+
+        @Test
+        @DisplayName("Should return 304 without loading the task when the ETag still matches")
+        void getTaskById_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+            // Arrange
+            testSecurityUtils.setAuthenticatedUserId(1L);
+            when(taskService.getTaskById(1L, 1L)).thenReturn(testTaskDto);
+            String etag = mockMvc.perform(get("/api/v1/task/1"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            // Act & Assert
+            mockMvc.perform(get("/api/v1/task/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+            verify(taskService, times(1)).getTaskById(1L, 1L);
+        }
     }
 
     @Nested
@@ -182,6 +234,26 @@ class TaskControllerTest {
             verify(taskService, times(1)).getTasksByUserId(1L);
         }
 
+        @Test
+        @DisplayName("Should return one page and the next cursor when paging is requested")
+        void getAllTasksByUser_WithLimit_ShouldReturnPageAndCursor() throws Exception {
+            // Arrange
+            testSecurityUtils.setAuthenticatedUserId(1L);
+            when(taskService.getTasksPage(1L, "abc", 20))
+                    .thenReturn(new CursorPage<>(List.of(testTaskDto), "next-cursor"));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/v1/task/user")
+                    .param("cursor", "abc")
+                    .param("limit", "20")
+                    .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(1))
+                    .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
+
+            verify(taskService, never()).getTasksByUserId(anyLong());
+        }
+
         @Test
         @DisplayName("Should return empty list when user has no tasks")
         void getAllTasksByUser_WithNoTasks_ShouldReturnEmptyList() throws Exception {
@@ -195,19 +267,87 @@ class TaskControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.data.length()").value(0));
         }
+
+        @Test
+        @DisplayName("Should serve the cached list and 304 until the list version changes")
+        void getAllTasksByUser_ShouldCacheUntilVersionBump() throws Exception {
+            // Arrange
+            testSecurityUtils.setAuthenticatedUserId(1L);
+            when(taskService.getTasksByUserId(1L)).thenReturn(List.of(testTaskDto));
+
+            String etag = mockMvc.perform(get("/api/v1/task/user"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            // Act & Assert - same version: 304 with the header, cached body without it
+            mockMvc.perform(get("/api/v1/task/user").header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified());
+            mockMvc.perform(get("/api/v1/task/user"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag))
+                    .andExpect(jsonPath("$.data[0].taskName").value("Test Task"));
+            verify(taskService, times(1)).getTasksByUserId(1L);
+
+            // a write bumps the version: old ETag no longer matches and the list is reloaded
+            taskListVersions.bump(1L);
+            mockMvc.perform(get("/api/v1/task/user").header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(1));
+            verify(taskService, times(2)).getTasksByUserId(1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/task/user/export Tests")
+    class ExportTasksTests {
+
+        @Test
+        @DisplayName("Should stream every task as a JSON array attachment")
+        @SuppressWarnings("unchecked")
+        void exportTasks_ShouldWriteEachTaskToTheResponse() throws Exception {
+            // Arrange
+            testSecurityUtils.setAuthenticatedUserId(1L);
+            TaskDto second = TaskDto.builder().taskId(2L).userId(1L).taskName("Second").build();
+            doAnswer(inv -> {
+                Consumer<TaskDto> consumer = inv.getArgument(1);
+                consumer.accept(testTaskDto);
+                consumer.accept(second);
+                return null;
+            }).when(taskService).forEachTask(eq(1L), any());
+
+            // Act
+            MvcResult result = mockMvc.perform(get("/api/v1/task/user/export"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Assert
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.json\""))
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].taskName").value("Test Task"))
+                    .andExpect(jsonPath("$[1].taskName").value("Second"));
+            verify(taskService, never()).getTasksByUserId(anyLong());
+        }
     }
 
     @Nested
     @DisplayName("GET /api/v1/task/user/filter Tests")
     class FilterTasksTests {
 
+        private TaskFilterDto captureFilter() {
+            ArgumentCaptor<TaskFilterDto> captor = ArgumentCaptor.forClass(TaskFilterDto.class);
+            verify(taskService, times(1)).filterTasks(eq(1L), captor.capture());
+            return captor.getValue();
+        }
+
         @Test
         @DisplayName("Should filter tasks by priority")
         void filterTasks_ByPriority_ShouldReturnFilteredTasks() throws Exception {
             // Arrange
             List<TaskDto> filteredTasks = List.of(testTaskDto);
             testSecurityUtils.setAuthenticatedUserId(1L);
-            when(taskService.getTasksByPriority(1L, Priority.HIGH)).thenReturn(filteredTasks);
+            when(taskService.filterTasks(eq(1L), any(TaskFilterDto.class))).thenReturn(filteredTasks);
 
             // Act & Assert
             mockMvc.perform(get("/api/v1/task/user/filter")
@@ -216,7 +356,9 @@ class TaskControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.data[0].priority").value("HIGH"));
 
-            verify(taskService, times(1)).getTasksByPriority(1L, Priority.HIGH);
+            TaskFilterDto filter = captureFilter();
+            assertEquals(Priority.HIGH, filter.getPriority());
+            assertNull(filter.getStatus());
         }
 
         @Test
@@ -225,7 +367,7 @@ class TaskControllerTest {
             // Arrange
             List<TaskDto> filteredTasks = List.of(testTaskDto);
             testSecurityUtils.setAuthenticatedUserId(1L);
-            when(taskService.getTasksByStatus(1L, Status.PENDING)).thenReturn(filteredTasks);
+            when(taskService.filterTasks(eq(1L), any(TaskFilterDto.class))).thenReturn(filteredTasks);
 
             // Act & Assert
             mockMvc.perform(get("/api/v1/task/user/filter")
@@ -233,6 +375,8 @@ class TaskControllerTest {
                     .contentType(MediaType.APPLICATION_JSON))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.data[0].status").value("PENDING"));
+
+            assertEquals(Status.PENDING, captureFilter().getStatus());
         }
 
         @Test
@@ -241,13 +385,15 @@ class TaskControllerTest {
             // Arrange
             List<TaskDto> filteredTasks = List.of(testTaskDto);
             testSecurityUtils.setAuthenticatedUserId(1L);
-            when(taskService.getTasksByCompleted(1L, false)).thenReturn(filteredTasks);
+            when(taskService.filterTasks(eq(1L), any(TaskFilterDto.class))).thenReturn(filteredTasks);
 
             // Act & Assert
             mockMvc.perform(get("/api/v1/task/user/filter")
                     .param("completed", "false")
                     .contentType(MediaType.APPLICATION_JSON))
                     .andExpect(status().isOk());
+
+            assertEquals(Boolean.FALSE, captureFilter().getCompleted());
         }
 
         @Test
@@ -256,8 +402,7 @@ class TaskControllerTest {
             // Arrange
             List<TaskDto> filteredTasks = List.of(testTaskDto);
             testSecurityUtils.setAuthenticatedUserId(1L);
-            when(taskService.getTasksByStatusAndPriority(1L, Status.PENDING, Priority.HIGH))
-                    .thenReturn(filteredTasks);
+            when(taskService.filterTasks(eq(1L), any(TaskFilterDto.class))).thenReturn(filteredTasks);
 
             // Act & Assert
             mockMvc.perform(get("/api/v1/task/user/filter")
@@ -267,6 +412,38 @@ class TaskControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.data[0].priority").value("HIGH"))
                     .andExpect(jsonPath("$.data[0].status").value("PENDING"));
+
+            TaskFilterDto filter = captureFilter();
+            assertEquals(Priority.HIGH, filter.getPriority());
+            assertEquals(Status.PENDING, filter.getStatus());
+        }
+
+        @Test
+        @DisplayName("Should pass every filter and the sort options together")
+        void filterTasks_WithCombinedFilters_ShouldPassAllCriteria() throws Exception {
+            // Arrange
+            testSecurityUtils.setAuthenticatedUserId(1L);
+            when(taskService.filterTasks(eq(1L), any(TaskFilterDto.class))).thenReturn(List.of(testTaskDto));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/v1/task/user/filter")
+                    .param("priority", "HIGH")
+                    .param("completed", "false")
+                    .param("from", "2024-12-01T00:00:00")
+                    .param("to", "2024-12-31T23:59:59")
+                    .param("sortBy", "priority")
+                    .param("sortDirection", "desc")
+                    .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(1));
+
+            TaskFilterDto filter = captureFilter();
+            assertEquals(Priority.HIGH, filter.getPriority());
+            assertEquals(Boolean.FALSE, filter.getCompleted());
+            assertEquals(LocalDateTime.of(2024, 12, 1, 0, 0), filter.getFrom());
+            assertEquals(LocalDateTime.of(2024, 12, 31, 23, 59, 59), filter.getTo());
+            assertEquals("priority", filter.getSortBy());
+            assertEquals("desc", filter.getSortDirection());
         }
     }
 
@@ -366,6 +543,33 @@ class TaskControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/v1/task/bulk Tests")
+    class BulkTaskTests {
+
+        @Test
+        @DisplayName("Should apply the bulk request for the authenticated user")
+        void bulkTasks_ShouldReturnCounts() throws Exception {
+            // Arrange
+            testSecurityUtils.setAuthenticatedUserId(1L);
+            BulkTaskRequestDto request = BulkTaskRequestDto.builder()
+                    .create(List.of(testTaskDto))
+                    .delete(List.of(5L, 6L))
+                    .build();
+            when(taskService.applyBulk(eq(1L), any(BulkTaskRequestDto.class)))
+                    .thenReturn(new BulkTaskResponseDto(List.of(testTaskDto), List.of(), List.of(5L, 6L)));
+
+            // Act & Assert
+            mockMvc.perform(post("/api/v1/task/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Bulk processed: 1 created, 0 updated, 2 deleted"))
+                    .andExpect(jsonPath("$.data.created[0].taskName").value("Test Task"))
+                    .andExpect(jsonPath("$.data.deleted.length()").value(2));
+        }
+    }
+
     @Nested
     @DisplayName("DELETE /api/v1/task/{taskId} Tests")
     class DeleteTaskTests {
@@ -39,6 +39,7 @@ import com.studyplanner.backend.dto.UserRegisterDto;
 import com.studyplanner.backend.dto.UserSearchdto;
 import com.studyplanner.backend.entity.TaskShareInvite.InviteStatus;
 import com.studyplanner.backend.security.JwtUtil;
+import com.studyplanner.backend.service.NotificationService;
 import com.studyplanner.backend.service.UserService;
 import com.studyplanner.backend.util.SecurityUtils;
 
@@ -59,6 +60,9 @@ class UserControllerTest {
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Mock
+    private NotificationService notificationService;
+
     private TestSecurityUtils testSecurityUtils;
 
     private UserController userController;
@@ -66,7 +70,8 @@ class UserControllerTest {
     @BeforeEach
     void setUp() {
         testSecurityUtils = new TestSecurityUtils();
-        userController = new UserController(userService, jwtUtil, userDetailsService, testSecurityUtils);
+        userController = new UserController(userService, jwtUtil, userDetailsService, testSecurityUtils,
+                        notificationService);
 
         LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
         validator.afterPropertiesSet();
@@ -0,0 +1,34 @@
+package com.studyplanner.backend.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.api.services.calendar.model.Event;
+import com.studyplanner.backend.entity.Task;
+
+/**
+ * Unit tests for CalendarEventMapper.
+ */
+class CalendarEventMapperTest {
+
+	@Test
+	@DisplayName("Should map a whole-minute deadline to a UTC start and end")
+	void mapToEvent_WithWholeMinuteDeadline_ShouldUseUtcTime() {
+		Task task = Task.builder()
+				.taskName("Exam")
+				.taskDescription("Final exam")
+				.taskDeadline(LocalDateTime.of(2025, 6, 1, 9, 0))
+				.build();
+
+		Event event = CalendarEventMapper.mapToEvent(task);
+
+		assertEquals("Exam", event.getSummary());
+		assertEquals("Final exam", event.getDescription());
+		assertEquals("2025-06-01T09:00:00.000Z", event.getStart().getDateTime().toStringRfc3339());
+		assertEquals(event.getStart(), event.getEnd());
+	}
+}
@@ -223,6 +223,28 @@ class UserMapperTest {
             assertEquals(originalProfilePicture, sampleUser.getProfilePicture());
         }
 
+        @Test
+        @DisplayName("Should toggle reminder digest only when set in DTO")
+        void applyProfileUpdate_ShouldToggleReminderDigestOnlyWhenSet() {
+            // Arrange
+            UserProfileUpdateDto optIn = UserProfileUpdateDto.builder()
+                    .userId(1L)
+                    .reminderDigest(true)
+                    .build();
+            UserProfileUpdateDto unrelated = UserProfileUpdateDto.builder()
+                    .userId(1L)
+                    .firstName("NewFirstName")
+                    .build();
+
+            // Act
+            UserMapper.applyProfileUpdate(sampleUser, optIn);
+            UserMapper.applyProfileUpdate(sampleUser, unrelated);
+
+            // Assert
+            assertTrue(sampleUser.isReminderDigest());
+            assertTrue(UserMapper.mapToUserDto(sampleUser).getReminderDigest());
+        }
+
         @Test
         @DisplayName("Should not modify email (read-only field)")
         void applyProfileUpdate_ShouldNotModifyEmail() {
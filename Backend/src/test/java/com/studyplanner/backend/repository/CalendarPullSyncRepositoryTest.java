@@ -0,0 +1,188 @@
+package com.studyplanner.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.EventDateTime;
+import com.studyplanner.backend.cache.TaskListVersions;
+import com.studyplanner.backend.entity.Reminder;
+import com.studyplanner.backend.entity.Task;
+import com.studyplanner.backend.entity.Task.Priority;
+import com.studyplanner.backend.entity.User;
+import com.studyplanner.backend.scheduler.ReminderDispatcher;
+import com.studyplanner.backend.service.impl.CalendarPullServiceImpl;
+import com.studyplanner.backend.service.impl.ReminderServiceImp;
+
+/**
+ * Applies pulled Calendar changes to tasks in an in-memory H2 database.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@DisplayName("Calendar pull sync Tests")
+class CalendarPullSyncRepositoryTest {
+
+    private static final LocalDateTime DEADLINE = LocalDateTime.now().plusDays(5).withNano(0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CalendarSyncStateRepository syncStateRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReminderRepository reminderRepository;
+
+    private TaskListVersions taskListVersions;
+    private CalendarPullServiceImpl pullService;
+    private User owner;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        taskListVersions = mock(TaskListVersions.class);
+        pullService = new CalendarPullServiceImpl(syncStateRepository, taskRepository,
+                new ReminderServiceImp(reminderRepository, mock(ReminderDispatcher.class)), taskListVersions);
+        owner = entityManager.persist(User.builder().email("owner@example.com").googleAccessToken("token").build());
+        other = entityManager.persist(User.builder().email("other@example.com").googleAccessToken("token").build());
+    }
+
+    private Task persistLinkedTask(User user, String name, String eventId, String etag) {
+        return entityManager.persist(Task.builder()
+                .user(user)
+                .taskName(name)
+                .taskDescription(name)
+                .taskDeadline(DEADLINE)
+                .priority(Priority.MEDIUM)
+                .status(Task.Status.PENDING)
+                .googleEventId(eventId)
+                .googleEventEtag(etag)
+                .build());
+    }
+
+    private static Event movedEvent(String eventId, String etag, LocalDateTime start) {
+        DateTime time = new DateTime(false, start.toInstant(ZoneOffset.UTC).toEpochMilli(), 0);
+        return new Event().setId(eventId).setEtag(etag).setStatus("confirmed")
+                .setSummary("renamed in calendar")
+                .setStart(new EventDateTime().setDateTime(time));
+    }
+
+    @Test
+    void applyChanges_WithMovedEvent_ShouldUpdateTheTaskAndItsReminder() {
+        Task task = persistLinkedTask(owner, "essay", "evt-1", "\"1\"");
+        entityManager.persist(Reminder.builder().task(task).reminderDate(DEADLINE.minusDays(1)).build());
+        entityManager.flush();
+
+        int changed = pullService.applyChanges(owner.getId(), List.of(movedEvent("evt-1", "\"2\"", DEADLINE.plusDays(2))));
+        entityManager.flush();
+        entityManager.clear();
+
+        Task updated = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(1, changed);
+        assertEquals("renamed in calendar", updated.getTaskName());
+        assertEquals("essay", updated.getTaskDescription());
+        assertEquals(DEADLINE.plusDays(2), updated.getTaskDeadline());
+        assertEquals("\"2\"", updated.getGoogleEventEtag());
+        List<Reminder> reminders = reminderRepository.findByTaskId(task.getId());
+        assertEquals(1, reminders.size());
+        assertEquals(DEADLINE.plusDays(1), reminders.get(0).getReminderDate());
+        verify(taskListVersions).bump(owner.getId());
+    }
+
+    @Test
+    void applyChanges_WithCancelledEvent_ShouldUnlinkButKeepTheTask() {
+        Task task = persistLinkedTask(owner, "essay", "evt-1", "\"1\"");
+        entityManager.flush();
+
+        pullService.applyChanges(owner.getId(), List.of(new Event().setId("evt-1").setStatus("cancelled")));
+        entityManager.flush();
+        entityManager.clear();
+
+        Task unlinked = taskRepository.findById(task.getId()).orElseThrow();
+        assertNull(unlinked.getGoogleEventId());
+        assertNull(unlinked.getGoogleEventEtag());
+        assertEquals(DEADLINE, unlinked.getTaskDeadline());
+    }
+
+    @Test
+    void applyChanges_WithOwnEchoOrUnknownEvents_ShouldChangeNothing() {
+        Task task = persistLinkedTask(owner, "essay", "evt-1", "\"1\"");
+        persistLinkedTask(other, "someone else's", "evt-2", "\"1\"");
+        entityManager.flush();
+
+        int changed = pullService.applyChanges(owner.getId(), List.of(
+                movedEvent("evt-1", "\"1\"", DEADLINE.plusDays(2)),
+                movedEvent("evt-2", "\"9\"", DEADLINE.plusDays(2)),
+                movedEvent("not-a-task", "\"9\"", DEADLINE.plusDays(2))));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(0, changed);
+        assertEquals("essay", taskRepository.findById(task.getId()).orElseThrow().getTaskName());
+        verify(taskListVersions, never()).bump(owner.getId());
+    }
+
+    @Test
+    void syncToken_ShouldRoundTripPerUser() {
+        assertNull(pullService.getSyncToken(owner.getId()));
+
+        pullService.saveSyncToken(owner.getId(), "sync-1");
+        pullService.saveSyncToken(owner.getId(), "sync-2");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals("sync-2", pullService.getSyncToken(owner.getId()));
+        assertNotNull(syncStateRepository.findById(owner.getId()).orElseThrow().getLastSyncedAt());
+        assertNull(pullService.getSyncToken(other.getId()));
+    }
+
+    @Test
+    void claim_ShouldLeaseAUserToOneInstanceUntilTheLeaseExpires() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        entityManager.flush();
+
+        assertTrue(pullService.claim(owner.getId(), "node-a", now, now.plusMinutes(4)));
+        assertFalse(pullService.claim(owner.getId(), "node-b", now.plusMinutes(1), now.plusMinutes(5)));
+        assertTrue(pullService.claim(owner.getId(), "node-b", now.plusMinutes(5), now.plusMinutes(9)));
+        entityManager.clear();
+
+        assertEquals("node-b", syncStateRepository.findById(owner.getId()).orElseThrow().getLeaseOwner());
+        // the state row created for the claim still means "never synced"
+        assertNull(pullService.getSyncToken(owner.getId()));
+    }
+
+    @Test
+    void findCalendarLinkedUsers_ShouldOnlyReturnUsersWithLinkedTasks() {
+        persistLinkedTask(owner, "essay", "evt-1", "\"1\"");
+        persistLinkedTask(other, "local only", null, null);
+        entityManager.persist(User.builder().email("nobody@example.com").build());
+        entityManager.flush();
+
+        List<User> users = userRepository.findCalendarLinkedUsers();
+
+        assertEquals(List.of(owner.getId()), users.stream().map(User::getId).toList());
+    }
+}
@@ -0,0 +1,94 @@
+package com.studyplanner.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studyplanner.backend.entity.CalendarSyncOutbox;
+import com.studyplanner.backend.entity.CalendarSyncOutbox.Operation;
+import com.studyplanner.backend.entity.CalendarSyncOutbox.Status;
+
+/**
+ * Two transactions claiming due outbox rows at once, as two instances would.
+ * Runs without the test transaction so each claim holds its own row locks.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("CalendarSyncOutbox claim Tests")
+class CalendarSyncOutboxClaimTest {
+
+    private static final List<String> CLAIMABLE = List.of(Status.PENDING.name(), Status.PROCESSING.name());
+
+    @Autowired
+    private CalendarSyncOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime due = LocalDateTime.now().minusMinutes(1);
+        outboxRepository.saveAll(IntStream.rangeClosed(1, 4)
+                .mapToObj(i -> CalendarSyncOutbox.builder()
+                        .taskId((long) i)
+                        .userId(1L)
+                        .operation(Operation.UPSERT)
+                        .status(Status.PENDING)
+                        .nextAttemptAt(due.plusSeconds(i))
+                        .build())
+                .toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void findDueForUpdate_ShouldSkipRowsAnotherInstanceIsClaiming() {
+        List<Long> ids = outboxRepository.findAll().stream().map(CalendarSyncOutbox::getId).sorted().toList();
+        List<Long> firstClaim = ids.subList(0, 2);
+        TransactionTemplate first = new TransactionTemplate(transactionManager);
+        TransactionTemplate second = new TransactionTemplate(transactionManager);
+        second.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        List<Long> secondClaim = new ArrayList<>();
+
+        first.executeWithoutResult(outer -> {
+            // the first instance holds its rows; H2 locks every row a FOR UPDATE scan
+            // reads, so they are locked by primary key rather than with the claim query
+            jdbcTemplate.queryForList("SELECT outbox_id FROM calendar_sync_outbox " +
+                    "WHERE outbox_id IN (?, ?) FOR UPDATE", Long.class, firstClaim.get(0), firstClaim.get(1));
+            // runs on its own connection while the first claim still holds its locks
+            second.executeWithoutResult(inner -> outboxRepository
+                    .findDueForUpdate(CLAIMABLE, LocalDateTime.now(), 10)
+                    .forEach(row -> secondClaim.add(row.getId())));
+        });
+
+        assertEquals(ids.subList(2, 4), secondClaim);
+        Set<Long> overlap = new HashSet<>(firstClaim);
+        overlap.retainAll(secondClaim);
+        assertTrue(overlap.isEmpty(), "rows claimed twice: " + overlap);
+    }
+}
@@ -0,0 +1,254 @@
+package com.studyplanner.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.studyplanner.backend.dto.CalendarSyncBatch;
+import com.studyplanner.backend.dto.CalendarSyncItem;
+import com.studyplanner.backend.dto.CalendarSyncItem.Action;
+import com.studyplanner.backend.dto.CalendarSyncResult;
+import com.studyplanner.backend.entity.CalendarSyncOutbox;
+import com.studyplanner.backend.entity.CalendarSyncOutbox.Operation;
+import com.studyplanner.backend.entity.CalendarSyncOutbox.Status;
+import com.studyplanner.backend.entity.Task;
+import com.studyplanner.backend.entity.Task.Priority;
+import com.studyplanner.backend.entity.User;
+import com.studyplanner.backend.service.impl.CalendarOutboxServiceImpl;
+
+/**
+ * Runs the calendar sync outbox (enqueue, claim, complete) against an in-memory H2 database.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@DisplayName("CalendarSyncOutbox Tests")
+class CalendarSyncOutboxRepositoryTest {
+
+    private static final LocalDateTime DEADLINE = LocalDateTime.now().plusDays(3).withNano(0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CalendarSyncOutboxRepository outboxRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private CalendarOutboxServiceImpl outboxService;
+    private User linked;
+    private User unlinked;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new CalendarOutboxServiceImpl(outboxRepository, taskRepository, userRepository,
+                Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofMinutes(10), 3);
+        linked = entityManager.persist(User.builder().email("linked@example.com").googleAccessToken("token").build());
+        unlinked = entityManager.persist(User.builder().email("local@example.com").build());
+    }
+
+    private Task persistTask(User user, String name, LocalDateTime deadline) {
+        return entityManager.persist(Task.builder()
+                .user(user)
+                .taskName(name)
+                .taskDescription(name)
+                .taskDeadline(deadline)
+                .priority(Priority.MEDIUM)
+                .status(Task.Status.PENDING)
+                .build());
+    }
+
+    private CalendarSyncOutbox onlyRow(Task task) {
+        List<CalendarSyncOutbox> rows = outboxRepository.findByTaskId(task.getId());
+        assertEquals(1, rows.size());
+        return rows.get(0);
+    }
+
+    @Test
+    void enqueueAll_ShouldSkipUndatedTasksUnlinkedUsersAndTasksAlreadyWaiting() {
+        Task dated = persistTask(linked, "dated", DEADLINE);
+        Task undated = persistTask(linked, "undated", null);
+        Task local = persistTask(unlinked, "local", DEADLINE);
+        entityManager.flush();
+
+        outboxService.enqueueAll(List.of(dated, undated, local));
+        outboxService.enqueue(dated);
+        entityManager.flush();
+
+        assertEquals(Status.PENDING, onlyRow(dated).getStatus());
+        assertTrue(outboxRepository.findByTaskId(undated.getId()).isEmpty());
+        assertTrue(outboxRepository.findByTaskId(local.getId()).isEmpty());
+    }
+
+    @Test
+    void claimDue_ShouldLeaseRowsAndGroupThemPerUser() {
+        Task first = persistTask(linked, "first", DEADLINE);
+        Task second = persistTask(linked, "second", DEADLINE.plusHours(1));
+        Task deleted = persistTask(linked, "deleted", DEADLINE);
+        outboxService.enqueueAll(List.of(first, second, deleted));
+        entityManager.flush();
+        entityManager.remove(deleted);
+        entityManager.flush();
+
+        List<CalendarSyncBatch> batches = outboxService.claimDue(10);
+        entityManager.flush();
+
+        assertEquals(1, batches.size());
+        CalendarSyncBatch batch = batches.get(0);
+        assertEquals(linked.getId(), batch.getUserId());
+        assertEquals("token", batch.getAccessToken());
+        assertEquals(List.of("first", "second"),
+                batch.getItems().values().stream().map(item -> item.getEvent().getSummary()).toList());
+        assertTrue(batch.getItems().values().stream().allMatch(item -> item.getAction() == Action.INSERT));
+        assertEquals(Status.PROCESSING, onlyRow(first).getStatus());
+        assertTrue(onlyRow(first).getNextAttemptAt().isAfter(LocalDateTime.now().plusMinutes(4)));
+        // the task is gone, nothing to push
+        assertEquals(Status.DONE, onlyRow(deleted).getStatus());
+        // leased rows are not handed out twice
+        assertTrue(outboxService.claimDue(10).isEmpty());
+    }
+
+    @Test
+    void claimDue_ShouldPatchPushedTasksAndDeleteRemovedOnes() {
+        Task pushed = persistTask(linked, "pushed", DEADLINE);
+        pushed.setGoogleEventId("evt-pushed");
+        pushed.setGoogleEventEtag("\"e1\"");
+        Task removed = persistTask(linked, "removed", DEADLINE);
+        removed.setGoogleEventId("evt-removed");
+        Task neverPushed = persistTask(linked, "never pushed", DEADLINE);
+        entityManager.flush();
+
+        outboxService.enqueue(pushed);
+        outboxService.enqueueDeletes(List.of(removed, neverPushed));
+        entityManager.remove(removed);
+        entityManager.flush();
+
+        Map<Long, CalendarSyncItem> items = outboxService.claimDue(10).get(0).getItems();
+
+        assertEquals(2, items.size());
+        CalendarSyncItem patch = items.get(onlyRow(pushed).getId());
+        assertEquals(Action.PATCH, patch.getAction());
+        assertEquals("evt-pushed", patch.getEventId());
+        assertEquals("\"e1\"", patch.getEtag());
+        CalendarSyncItem delete = items.get(onlyRow(removed).getId());
+        assertEquals(Action.DELETE, delete.getAction());
+        assertEquals("evt-removed", delete.getEventId());
+        assertTrue(outboxRepository.findByTaskId(neverPushed.getId()).isEmpty());
+    }
+
+    @Test
+    void complete_ShouldStoreTheEventOnTheTaskAndBackOffFailures() {
+        Task synced = persistTask(linked, "synced", DEADLINE);
+        Task retried = persistTask(linked, "retried", DEADLINE);
+        outboxService.enqueueAll(List.of(synced, retried));
+        entityManager.flush();
+        assertEquals(2, outboxService.claimDue(10).get(0).getItems().size());
+        Long syncedRow = onlyRow(synced).getId();
+        Long retriedRow = onlyRow(retried).getId();
+
+        outboxService.complete(Map.of(
+                syncedRow, CalendarSyncResult.synced("evt-1", "\"e1\""),
+                retriedRow, CalendarSyncResult.failed(503, "503 Backend Error")));
+        entityManager.flush();
+        entityManager.clear();
+
+        CalendarSyncOutbox done = onlyRow(synced);
+        assertEquals(Status.DONE, done.getStatus());
+        assertEquals("evt-1", done.getGoogleEventId());
+        assertNull(done.getLastError());
+        Task syncedTask = taskRepository.findById(synced.getId()).orElseThrow();
+        assertEquals("evt-1", syncedTask.getGoogleEventId());
+        assertEquals("\"e1\"", syncedTask.getGoogleEventEtag());
+        CalendarSyncOutbox pending = onlyRow(retried);
+        assertEquals(Status.PENDING, pending.getStatus());
+        assertEquals(1, pending.getAttempts());
+        assertEquals("503 Backend Error", pending.getLastError());
+        assertTrue(pending.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(20)));
+    }
+
+    @Test
+    void complete_WhenThePatchedEventIsGone_ShouldInsertItAgainOnTheNextPoll() {
+        Task task = persistTask(linked, "deleted in calendar", DEADLINE);
+        task.setGoogleEventId("evt-gone");
+        entityManager.flush();
+        outboxService.enqueue(task);
+        entityManager.flush();
+        Long row = onlyRow(task).getId();
+        outboxService.claimDue(10);
+
+        outboxService.complete(Map.of(row, CalendarSyncResult.failed(404, "404 Not Found")));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertNull(taskRepository.findById(task.getId()).orElseThrow().getGoogleEventId());
+        CalendarSyncItem retry = outboxService.claimDue(10).get(0).getItems().get(row);
+        assertEquals(Action.INSERT, retry.getAction());
+    }
+
+    @Test
+    void complete_WithConflict_ShouldKeepTheCalendarVersion() {
+        Task task = persistTask(linked, "edited in calendar", DEADLINE);
+        task.setGoogleEventId("evt-edited");
+        task.setGoogleEventEtag("\"old\"");
+        entityManager.flush();
+        outboxService.enqueue(task);
+        entityManager.flush();
+        Long row = onlyRow(task).getId();
+        outboxService.claimDue(10);
+
+        outboxService.complete(Map.of(row, CalendarSyncResult.failed(412, "412 Precondition Failed")));
+        entityManager.flush();
+
+        assertEquals(Status.DONE, onlyRow(task).getStatus());
+        assertEquals("412 Precondition Failed", onlyRow(task).getLastError());
+    }
+
+    @Test
+    void complete_WhenTheTaskWasDeletedMeanwhile_ShouldQueueRemovalOfTheNewEvent() {
+        Task task = persistTask(linked, "short lived", DEADLINE);
+        outboxService.enqueue(task);
+        entityManager.flush();
+        Long row = onlyRow(task).getId();
+        outboxService.claimDue(10);
+        entityManager.remove(task);
+        entityManager.flush();
+
+        outboxService.complete(Map.of(row, CalendarSyncResult.synced("evt-orphan", "\"e1\"")));
+        entityManager.flush();
+
+        List<CalendarSyncOutbox> rows = outboxRepository.findByTaskId(task.getId());
+        assertEquals(2, rows.size());
+        assertTrue(rows.stream().anyMatch(r -> r.getOperation() == Operation.DELETE
+                && "evt-orphan".equals(r.getGoogleEventId()) && r.getStatus() == Status.PENDING));
+    }
+
+    @Test
+    void complete_AfterMaxAttempts_ShouldGiveUp() {
+        Task task = persistTask(linked, "broken", DEADLINE);
+        outboxService.enqueue(task);
+        entityManager.flush();
+        CalendarSyncOutbox row = onlyRow(task);
+        row.setAttempts(2);
+        entityManager.flush();
+
+        outboxService.complete(Map.of(row.getId(), CalendarSyncResult.failed(400, "400 Invalid start time")));
+        entityManager.flush();
+
+        assertEquals(Status.FAILED, onlyRow(task).getStatus());
+        assertEquals(3, onlyRow(task).getAttempts());
+    }
+}
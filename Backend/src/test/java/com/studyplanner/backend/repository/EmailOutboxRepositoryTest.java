@@ -0,0 +1,140 @@
+package com.studyplanner.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.studyplanner.backend.dto.EmailDeliveryResult;
+import com.studyplanner.backend.entity.EmailOutbox;
+import com.studyplanner.backend.entity.EmailOutbox.Status;
+import com.studyplanner.backend.entity.EmailOutbox.Type;
+import com.studyplanner.backend.service.impl.EmailOutboxServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs the email outbox (enqueue, claim, complete, purge) against an in-memory H2 database.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@DisplayName("EmailOutbox Tests")
+class EmailOutboxRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmailOutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxService = new EmailOutboxServiceImpl(outboxRepository, meterRegistry,
+                Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofMinutes(10), 3);
+    }
+
+    private EmailOutbox claimOne() {
+        List<EmailOutbox> claimed = outboxService.claimDue(10);
+        assertEquals(1, claimed.size());
+        entityManager.flush();
+        return claimed.get(0);
+    }
+
+    private EmailOutbox reload(EmailOutbox row) {
+        entityManager.flush();
+        entityManager.clear();
+        return outboxRepository.findById(row.getId()).orElseThrow();
+    }
+
+    @Test
+    void claimDue_ShouldLeaseQueuedEmailsOnce() {
+        outboxService.enqueue(Type.WELCOME, "new@example.com", "Welcome", "<p>Hi</p>");
+
+        EmailOutbox claimed = claimOne();
+
+        assertEquals(Status.PROCESSING, reload(claimed).getStatus());
+        assertTrue(outboxService.claimDue(10).isEmpty());
+        assertEquals(1.0, meterRegistry.counter("email.outbox.enqueued", "type", "welcome").count());
+    }
+
+    @Test
+    void complete_Success_ShouldMarkSentAndRecordLatencyPerType() {
+        outboxService.enqueue(Type.REMINDER, "student@example.com", "Reminder", "<p>Due</p>");
+        EmailOutbox claimed = claimOne();
+
+        outboxService.complete(Map.of(claimed.getId(), EmailDeliveryResult.sent()));
+
+        EmailOutbox row = reload(claimed);
+        assertEquals(Status.SENT, row.getStatus());
+        assertNotNull(row.getSentAt());
+        assertEquals(1, meterRegistry.timer("email.outbox.delivery.latency", "type", "reminder").count());
+        assertEquals(1.0, meterRegistry.counter("email.outbox.sent", "type", "reminder").count());
+    }
+
+    @Test
+    void complete_TransientFailure_ShouldRetryWithBackoffThenGoDead() {
+        outboxService.enqueue(Type.SHARE_INVITE, "friend@example.com", "Invite", "<p>Join</p>");
+        EmailOutbox claimed = claimOne();
+
+        LocalDateTime before = LocalDateTime.now();
+        outboxService.complete(Map.of(claimed.getId(), EmailDeliveryResult.failed("421 try later")));
+        EmailOutbox row = reload(claimed);
+        assertEquals(Status.PENDING, row.getStatus());
+        assertEquals(1, row.getAttempts());
+        assertEquals("421 try later", row.getLastError());
+        assertTrue(!row.getNextAttemptAt().isBefore(before.plusSeconds(29)));
+
+        // second failure doubles the delay
+        outboxService.complete(Map.of(claimed.getId(), EmailDeliveryResult.failed("421 try later")));
+        row = reload(claimed);
+        assertTrue(!row.getNextAttemptAt().isBefore(before.plusSeconds(59)));
+
+        outboxService.complete(Map.of(claimed.getId(), EmailDeliveryResult.failed("421 try later")));
+        row = reload(claimed);
+        assertEquals(Status.DEAD, row.getStatus());
+        assertEquals(2.0, meterRegistry.counter("email.outbox.retried", "type", "share_invite").count());
+        assertEquals(1.0, meterRegistry.counter("email.outbox.dead", "type", "share_invite").count());
+    }
+
+    @Test
+    void complete_PermanentFailure_ShouldGoDeadRightAway() {
+        outboxService.enqueue(Type.WELCOME, "not an address", "Welcome", "<p>Hi</p>");
+        EmailOutbox claimed = claimOne();
+
+        outboxService.complete(Map.of(claimed.getId(), EmailDeliveryResult.rejected("Illegal address")));
+
+        assertEquals(Status.DEAD, reload(claimed).getStatus());
+    }
+
+    @Test
+    void purgeSent_ShouldOnlyDeleteOldSentEmails() {
+        outboxService.enqueue(Type.WELCOME, "old@example.com", "Welcome", "<p>Hi</p>");
+        outboxService.enqueue(Type.WELCOME, "pending@example.com", "Welcome", "<p>Hi</p>");
+        EmailOutbox old = outboxRepository.findAll().stream()
+                .filter(row -> row.getRecipient().startsWith("old")).findFirst().orElseThrow();
+        old.setStatus(Status.SENT);
+        old.setSentAt(LocalDateTime.now().minusDays(8));
+        entityManager.flush();
+
+        int purged = outboxService.purgeSent(LocalDateTime.now().minusDays(7));
+
+        assertEquals(1, purged);
+        entityManager.clear();
+        assertEquals(List.of("pending@example.com"),
+                outboxRepository.findAll().stream().map(EmailOutbox::getRecipient).toList());
+    }
+}
@@ -0,0 +1,61 @@
+package com.studyplanner.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Runs the Flyway migrations against H2 in PostgreSQL mode and lets Hibernate
+ * validate the entities against the result.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Schema migration Tests")
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrations_ShouldApplyInOrderAndLeaveNothingPending() {
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals("14", flyway.info().current().getVersion().getVersion());
+    }
+
+    @Test
+    void migrations_ShouldCreateHotPathIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT index_name FROM information_schema.indexes WHERE table_schema = 'public'", String.class);
+
+        for (String expected : List.of(
+                "idx_tasks_user_deadline",
+                "idx_tasks_user_status_deadline",
+                "idx_reminder_task_sent",
+                "idx_reminder_unsent_date",
+                "idx_suggested_tasks_user_deadline",
+                "idx_invites_receiver_status_task",
+                "idx_calendar_sync_outbox_due",
+                "idx_tasks_user_google_event",
+                "idx_suggested_tasks_job")) {
+            assertTrue(indexes.contains(expected), "missing index " + expected);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.studyplanner.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.studyplanner.backend.dto.SuggestedTasksDto;
+import com.studyplanner.backend.entity.SuggestedLLM;
+import com.studyplanner.backend.entity.SuggestedLLM.SuggestedStatus;
+import com.studyplanner.backend.entity.SuggestionJob;
+import com.studyplanner.backend.entity.Task;
+import com.studyplanner.backend.entity.User;
+
+/**
+ * Runs the suggestion projection queries against an in-memory H2 database.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@DisplayName("SuggestedTaskRepository query Tests")
+class SuggestedTaskRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SuggestedTaskRepository suggestedTaskRepository;
+
+    @Autowired
+    private SuggestionJobRepository suggestionJobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(User.builder().email("owner@example.com").build());
+    }
+
+    private SuggestedLLM persistSuggestion(String name, SuggestedStatus status, Task acceptedTask) {
+        return entityManager.persist(SuggestedLLM.builder()
+                .user(owner)
+                .taskName(name)
+                .taskDeadline(LocalDateTime.of(2025, 2, 1, 12, 0))
+                .priority(SuggestedLLM.Priority.MEDIUM)
+                .suggestedStatus(status)
+                .acceptedTask(acceptedTask)
+                .llmModel("test-model")
+                .build());
+    }
+
+    @Test
+    void findDtosByUserId_ShouldIncludeSuggestionsWithAndWithoutAcceptedTask() {
+        Task accepted = entityManager.persist(Task.builder()
+                .user(owner)
+                .taskName("accepted")
+                .taskDescription("accepted")
+                .build());
+        SuggestedLLM pending = persistSuggestion("pending", SuggestedStatus.PENDING, null);
+        SuggestedLLM done = persistSuggestion("done", SuggestedStatus.ACCEPTED, accepted);
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<Long, SuggestedTasksDto> byId = suggestedTaskRepository.findDtosByUserId(owner.getId()).stream()
+                .collect(Collectors.toMap(SuggestedTasksDto::getTaskId, Function.identity()));
+
+        assertEquals(2, byId.size());
+        assertNull(byId.get(pending.getId()).getAcceptedTaskId());
+        assertEquals(accepted.getId(), byId.get(done.getId()).getAcceptedTaskId());
+        assertEquals(owner.getId(), byId.get(done.getId()).getUserId());
+        assertEquals("test-model", byId.get(done.getId()).getLlmModel());
+    }
+
+    @Test
+    void pendingDtosAndCount_ShouldMatchStoredSuggestions() {
+        persistSuggestion("first", SuggestedStatus.PENDING, null);
+        persistSuggestion("second", SuggestedStatus.DECLINED, null);
+        entityManager.flush();
+
+        List<SuggestedTasksDto> pending = suggestedTaskRepository
+                .findDtosByUserIdAndSuggestedStatus(owner.getId(), SuggestedStatus.PENDING);
+
+        assertEquals(1, pending.size());
+        assertEquals("first", pending.get(0).getTaskName());
+        assertEquals(2L, suggestedTaskRepository.countByUserId(owner.getId()));
+    }
+
+    @Test
+    void countUnfinishedJobs_ShouldSkipFinishedAndTimedOutJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(5);
+        persistJob(SuggestionJob.Status.QUEUED);
+        persistJob(SuggestionJob.Status.RUNNING);
+        persistJob(SuggestionJob.Status.SUCCEEDED);
+        entityManager.flush();
+        List<SuggestionJob.Status> unfinished = List.of(SuggestionJob.Status.QUEUED, SuggestionJob.Status.RUNNING);
+
+        assertTrue(userRepository.findByIdForUpdate(owner.getId()).isPresent());
+        assertEquals(2L, suggestionJobRepository.countByUserIdAndStatusInAndCreatedAtAfter(
+                owner.getId(), unfinished, cutoff));
+        // created before the cutoff: the worker is gone and the job will be reported FAILED
+        assertEquals(0L, suggestionJobRepository.countByUserIdAndStatusInAndCreatedAtAfter(
+                owner.getId(), unfinished, LocalDateTime.now().plusMinutes(1)));
+    }
+
+    private SuggestionJob persistJob(SuggestionJob.Status status) {
+        return entityManager.persist(SuggestionJob.builder()
+                .userId(owner.getId())
+                .prompt("plan")
+                .status(status)
+                .build());
+    }
+}
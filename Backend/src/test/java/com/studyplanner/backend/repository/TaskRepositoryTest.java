@@ -0,0 +1,303 @@
+package com.studyplanner.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+
+import com.studyplanner.backend.cache.TaskListVersions;
+import com.studyplanner.backend.dto.BulkTaskRequestDto;
+import com.studyplanner.backend.dto.BulkTaskResponseDto;
+import com.studyplanner.backend.dto.CursorPage;
+import com.studyplanner.backend.dto.ReminderDue;
+import com.studyplanner.backend.dto.TaskDto;
+import com.studyplanner.backend.dto.TaskFilterDto;
+import com.studyplanner.backend.entity.Reminder;
+import com.studyplanner.backend.entity.Task;
+import com.studyplanner.backend.entity.Task.Priority;
+import com.studyplanner.backend.entity.Task.Status;
+import com.studyplanner.backend.entity.User;
+import com.studyplanner.backend.exception.UnauthorizedAccessException;
+import com.studyplanner.backend.scheduler.ReminderDispatcher;
+import com.studyplanner.backend.service.CalendarOutboxService;
+import com.studyplanner.backend.service.impl.ReminderServiceImp;
+import com.studyplanner.backend.service.impl.TaskServiceImpl;
+
+/**
+ * Runs the task list queries against an in-memory H2 database.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@DisplayName("TaskRepository query Tests")
+class TaskRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReminderRepository reminderRepository;
+
+    private ReminderServiceImp reminderService;
+    private TaskServiceImpl taskService;
+    private User owner;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        reminderService = new ReminderServiceImp(reminderRepository, mock(ReminderDispatcher.class));
+        taskService = new TaskServiceImpl(taskRepository, userRepository, reminderService,
+                mock(CalendarOutboxService.class), new TaskListVersions(userRepository));
+        owner = entityManager.persist(User.builder().email("owner@example.com").build());
+        other = entityManager.persist(User.builder().email("other@example.com").build());
+    }
+
+    private Task persistTask(User user, String name, LocalDateTime deadline, Priority priority,
+            Status status, boolean completed) {
+        return entityManager.persist(Task.builder()
+                .user(user)
+                .taskName(name)
+                .taskDescription(name)
+                .taskDeadline(deadline)
+                .priority(priority)
+                .status(status)
+                .completed(completed)
+                .build());
+    }
+
+    @Test
+    void filterTasks_WithCombinedCriteria_ShouldApplyEveryFilter() {
+        Task match = persistTask(owner, "match", BASE.plusDays(2), Priority.HIGH, Status.PENDING, false);
+        persistTask(owner, "wrong priority", BASE.plusDays(2), Priority.LOW, Status.PENDING, false);
+        persistTask(owner, "completed", BASE.plusDays(2), Priority.HIGH, Status.PENDING, true);
+        persistTask(owner, "too late", BASE.plusDays(30), Priority.HIGH, Status.PENDING, false);
+        persistTask(other, "other user", BASE.plusDays(2), Priority.HIGH, Status.PENDING, false);
+        entityManager.flush();
+
+        TaskFilterDto filter = TaskFilterDto.builder()
+                .priority(Priority.HIGH)
+                .completed(false)
+                .from(BASE)
+                .to(BASE.plusDays(7))
+                .build();
+
+        List<Task> result = taskRepository.findAll(TaskSpecifications.matching(owner.getId(), filter),
+                Sort.by("taskDeadline"));
+
+        assertEquals(List.of(match.getId()), result.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void getTasksPage_ShouldWalkAllTasksInDeadlineOrderWithUndatedLast() {
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // two tasks per deadline so the id tie-breaker is exercised
+            expected.add(persistTask(owner, "dated " + i, BASE.plusDays(i / 2), Priority.MEDIUM, Status.PENDING, false));
+        }
+        for (int i = 0; i < 3; i++) {
+            expected.add(persistTask(owner, "undated " + i, null, Priority.LOW, Status.PENDING, false));
+        }
+        persistTask(other, "other user", BASE, Priority.HIGH, Status.PENDING, false);
+        entityManager.flush();
+        expected.sort(Comparator.comparing(Task::getTaskDeadline, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Task::getId));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<TaskDto> page = taskService.getTasksPage(owner.getId(), cursor, 3);
+            page.getItems().forEach(task -> seen.add(task.getTaskId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected.stream().map(Task::getId).toList(), seen);
+        assertEquals(4, pages);
+    }
+
+    @Test
+    void getTasksPage_WhenEverythingFits_ShouldNotReturnCursor() {
+        persistTask(owner, "only", BASE, Priority.HIGH, Status.PENDING, false);
+        entityManager.flush();
+
+        CursorPage<TaskDto> page = taskService.getTasksPage(owner.getId(), null, 10);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void readPaths_ShouldNotLoadEntitiesIntoPersistenceContext() {
+        Task task = persistTask(owner, "projected", BASE, Priority.HIGH, Status.IN_PROGRESS, false);
+        entityManager.flush();
+        entityManager.clear();
+
+        TaskDto byId = taskService.getTaskById(task.getId(), owner.getId());
+        List<TaskDto> filtered = taskService.filterTasks(owner.getId(), TaskFilterDto.builder().status(Status.IN_PROGRESS).build());
+        CursorPage<TaskDto> page = taskService.getTasksPage(owner.getId(), null, 10);
+
+        assertEquals("projected", byId.getTaskName());
+        assertEquals(owner.getId(), byId.getUserId());
+        assertEquals(1, filtered.size());
+        assertEquals(1, page.getItems().size());
+        int managed = entityManager.getEntityManager().unwrap(SessionImplementor.class)
+                .getPersistenceContext().getNumberOfManagedEntities();
+        assertEquals(0, managed);
+    }
+
+    @Test
+    void forEachTask_ShouldStreamOwnTasksInIdOrderWithoutManagingEntities() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(persistTask(owner, "task " + i, i % 2 == 0 ? BASE.plusDays(i) : null,
+                    Priority.MEDIUM, Status.PENDING, false).getId());
+        }
+        persistTask(other, "other user", BASE, Priority.HIGH, Status.PENDING, false);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> streamed = new ArrayList<>();
+        taskService.forEachTask(owner.getId(), task -> streamed.add(task.getTaskId()));
+
+        assertEquals(expected, streamed);
+        int managed = entityManager.getEntityManager().unwrap(SessionImplementor.class)
+                .getPersistenceContext().getNumberOfManagedEntities();
+        assertEquals(0, managed);
+    }
+
+    @Test
+    void applyBulk_ShouldCreateUpdateAndDeleteWithTheirReminders() {
+        LocalDateTime future = LocalDateTime.now().plusDays(10);
+        Task toUpdate = persistTask(owner, "move me", future, Priority.LOW, Status.PENDING, false);
+        Task toDelete = persistTask(owner, "delete me", future, Priority.LOW, Status.PENDING, false);
+        entityManager.flush();
+        reminderService.createReminderForTask(toDelete);
+
+        List<TaskDto> creates = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            creates.add(TaskDto.builder().taskName("import " + i).taskDescription("imported")
+                    .taskDeadline(i % 2 == 0 ? future.plusDays(i) : null)
+                    .priority(Priority.MEDIUM).status(Status.PENDING).build());
+        }
+        TaskDto update = TaskDto.builder().taskId(toUpdate.getId()).taskName("moved").taskDescription("moved")
+                .taskDeadline(future.plusDays(5)).priority(Priority.HIGH).status(Status.IN_PROGRESS).build();
+
+        BulkTaskResponseDto result = taskService.applyBulk(owner.getId(), BulkTaskRequestDto.builder()
+                .create(creates)
+                .update(List.of(update))
+                .delete(List.of(toDelete.getId()))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(120, result.getCreated().size());
+        assertTrue(result.getCreated().stream().allMatch(task -> task.getTaskId() != null));
+        assertEquals("moved", taskRepository.findById(toUpdate.getId()).orElseThrow().getTaskName());
+        assertTrue(taskRepository.findById(toDelete.getId()).isEmpty());
+        assertTrue(reminderRepository.findByTaskId(toDelete.getId()).isEmpty());
+        // one reminder per dated import plus the rescheduled task
+        assertEquals(61, reminderRepository.count());
+        assertEquals(121, taskRepository.findDtosByUserId(owner.getId()).size());
+    }
+
+    @Test
+    void applyBulk_WithForeignTask_ShouldRejectTheWholeRequest() {
+        Task foreign = persistTask(other, "not yours", BASE, Priority.LOW, Status.PENDING, false);
+        entityManager.flush();
+
+        BulkTaskRequestDto request = BulkTaskRequestDto.builder().delete(List.of(foreign.getId())).build();
+
+        assertThrows(UnauthorizedAccessException.class, () -> taskService.applyBulk(owner.getId(), request));
+        assertTrue(taskRepository.findById(foreign.getId()).isPresent());
+    }
+
+    @Test
+    void findUnsentDue_ShouldReturnTheWindowEarliestFirst() {
+        Task task = persistTask(owner, "remind me", BASE, Priority.LOW, Status.PENDING, false);
+        Reminder late = entityManager.persist(Reminder.builder().task(task).reminderDate(BASE.plusMinutes(40)).build());
+        Reminder early = entityManager.persist(Reminder.builder().task(task).reminderDate(BASE.plusMinutes(10)).build());
+        entityManager.persist(Reminder.builder().task(task).reminderDate(BASE.plusMinutes(20)).reminderSent(true).build());
+        entityManager.persist(Reminder.builder().task(task).reminderDate(BASE.plusHours(2)).build());
+        entityManager.flush();
+
+        entityManager.persist(Reminder.builder().task(task).reminderDate(BASE.plusMinutes(30))
+                .leaseOwner("node-b").leaseExpiresAt(BASE.plusMinutes(5)).build());
+        entityManager.flush();
+
+        List<ReminderDue> due = reminderRepository.findUnsentDue(BASE, 0, BASE.plusHours(1), BASE, Limit.of(10));
+        List<ReminderDue> afterEarly = reminderRepository.findUnsentDue(early.getReminderDate(), early.getId(),
+                BASE.plusHours(1), BASE, Limit.of(10));
+
+        assertEquals(List.of(early.getId(), late.getId()), due.stream().map(ReminderDue::getReminderId).toList());
+        assertEquals(task.getId(), due.get(0).getTaskId());
+        assertEquals(List.of(late.getId()), afterEarly.stream().map(ReminderDue::getReminderId).toList());
+    }
+
+    @Test
+    void claimAndMarkSent_ShouldLetOneInstanceSendEachReminder() {
+        Task task = persistTask(owner, "remind me", BASE, Priority.LOW, Status.PENDING, false);
+        Reminder first = entityManager.persist(Reminder.builder().task(task).reminderDate(BASE).build());
+        Reminder second = entityManager.persist(Reminder.builder().task(task).reminderDate(BASE).build());
+        entityManager.flush();
+        List<Long> ids = List.of(first.getId(), second.getId());
+
+        int claimedByA = reminderRepository.claim(ids, "node-a", BASE, BASE.plusMinutes(5));
+        int claimedByB = reminderRepository.claim(ids, "node-b", BASE.plusMinutes(1), BASE.plusMinutes(6));
+        List<Reminder> leased = reminderRepository.findLeasedWithTaskAndUser(ids, "node-a");
+        int markedByB = reminderRepository.markSent(ids, "node-b", BASE);
+        int marked = reminderRepository.markSent(List.of(first.getId()), "node-a", BASE);
+        entityManager.clear();
+
+        assertEquals(2, claimedByA);
+        assertEquals(0, claimedByB);
+        assertEquals(2, leased.size());
+        assertEquals("owner@example.com", leased.get(0).getTask().getUser().getEmail());
+        assertEquals(0, markedByB);
+        assertEquals(1, marked);
+        assertTrue(reminderRepository.findById(first.getId()).orElseThrow().isReminderSent());
+        assertEquals(BASE, reminderRepository.findById(first.getId()).orElseThrow().getSentAt());
+    }
+
+    @Test
+    void claim_WhenTheLeaseExpired_ShouldHandTheReminderToAnotherInstance() {
+        Task task = persistTask(owner, "remind me", BASE, Priority.LOW, Status.PENDING, false);
+        Reminder reminder = entityManager.persist(Reminder.builder().task(task).reminderDate(BASE)
+                .leaseOwner("crashed").leaseExpiresAt(BASE.plusMinutes(5)).build());
+        entityManager.flush();
+
+        int claimed = reminderRepository.claim(List.of(reminder.getId()), "node-b", BASE.plusMinutes(6),
+                BASE.plusMinutes(11));
+        entityManager.clear();
+
+        assertEquals(1, claimed);
+        assertEquals("node-b", reminderRepository.findById(reminder.getId()).orElseThrow().getLeaseOwner());
+    }
+
+    @Test
+    void getTasksPage_WithGarbageCursor_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksPage(owner.getId(), "not-a-cursor", 10));
+    }
+}
@@ -0,0 +1,92 @@
+package com.studyplanner.backend.scheduler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.google.api.services.calendar.model.Event;
+import com.studyplanner.backend.entity.User;
+import com.studyplanner.backend.repository.UserRepository;
+import com.studyplanner.backend.service.CalendarPullService;
+import com.studyplanner.backend.service.impl.CalendarChangesClient;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class CalendarPullSchedulerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CalendarPullService pullService;
+
+    @Mock
+    private CalendarChangesClient changesClient;
+
+    private CalendarPullScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new CalendarPullScheduler(userRepository, pullService, changesClient, "node-a", Duration.ofMinutes(4));
+    }
+
+    @Test
+    void pullChanges_ShouldApplyEveryPageAndStoreTheNextToken() throws IOException {
+        User user = User.builder().id(1L).googleAccessToken("token-a").build();
+        List<Event> page = List.of(new Event().setId("evt-1"));
+        when(userRepository.findCalendarLinkedUsers()).thenReturn(List.of(user));
+        when(pullService.claim(eq(1L), eq("node-a"), any(), any())).thenReturn(true);
+        when(pullService.getSyncToken(1L)).thenReturn("sync-1");
+        when(changesClient.forEachChangePage(eq("token-a"), eq("sync-1"), any())).thenAnswer(invocation -> {
+            invocation.getArgument(2, Consumer.class).accept(page);
+            return "sync-2";
+        });
+
+        scheduler.pullChanges();
+
+        verify(pullService).applyChanges(1L, page);
+        verify(pullService).saveSyncToken(1L, "sync-2");
+    }
+
+    @Test
+    void pullChanges_WhenOneUserFails_ShouldKeepTheirTokenAndContinue() throws IOException {
+        User failing = User.builder().id(1L).googleAccessToken("token-a").build();
+        User healthy = User.builder().id(2L).googleAccessToken("token-b").build();
+        when(userRepository.findCalendarLinkedUsers()).thenReturn(List.of(failing, healthy));
+        when(pullService.claim(any(), eq("node-a"), any(), any())).thenReturn(true);
+        when(changesClient.forEachChangePage(eq("token-a"), any(), any())).thenThrow(new IOException("401 Unauthorized"));
+        when(changesClient.forEachChangePage(eq("token-b"), any(), any())).thenReturn("sync-b");
+
+        scheduler.pullChanges();
+
+        verify(pullService, never()).saveSyncToken(eq(1L), any());
+        verify(pullService).saveSyncToken(2L, "sync-b");
+        verify(pullService, never()).applyChanges(any(), anyList());
+    }
+
+    @Test
+    void pullChanges_WhenAnotherInstanceHoldsTheLease_ShouldSkipTheUser() throws IOException {
+        User leased = User.builder().id(1L).googleAccessToken("token-a").build();
+        when(userRepository.findCalendarLinkedUsers()).thenReturn(List.of(leased));
+        when(pullService.claim(eq(1L), eq("node-a"), any(), any())).thenReturn(false);
+
+        scheduler.pullChanges();
+
+        verify(changesClient, never()).forEachChangePage(any(), any(), any());
+        verify(pullService, never()).saveSyncToken(any(), any());
+    }
+}
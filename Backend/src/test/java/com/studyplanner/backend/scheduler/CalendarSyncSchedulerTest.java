@@ -0,0 +1,102 @@
+package com.studyplanner.backend.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.google.api.services.calendar.model.Event;
+import com.studyplanner.backend.dto.CalendarSyncBatch;
+import com.studyplanner.backend.dto.CalendarSyncItem;
+import com.studyplanner.backend.dto.CalendarSyncResult;
+import com.studyplanner.backend.service.CalendarOutboxService;
+import com.studyplanner.backend.service.impl.CalendarBatchClient;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class CalendarSyncSchedulerTest {
+
+    @Mock
+    private CalendarOutboxService outboxService;
+
+    @Mock
+    private CalendarBatchClient batchClient;
+
+    private CalendarSyncScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new CalendarSyncScheduler(outboxService, batchClient, 2, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    private static Map<Long, CalendarSyncItem> items(Long... outboxIds) {
+        Map<Long, CalendarSyncItem> items = new LinkedHashMap<>();
+        for (Long id : outboxIds) {
+            items.put(id, CalendarSyncItem.insert(new Event().setSummary("task " + id)));
+        }
+        return items;
+    }
+
+    @Test
+    void drainOutbox_ShouldSendEachUsersBatchAndRecordTheOutcome() {
+        Map<Long, CalendarSyncItem> first = items(1L, 2L);
+        Map<Long, CalendarSyncItem> second = items(3L);
+        Map<Long, CalendarSyncResult> firstResults = Map.of(
+                1L, CalendarSyncResult.synced("evt-1", "\"e1\""),
+                2L, CalendarSyncResult.failed(400, "400 Invalid start time"));
+        Map<Long, CalendarSyncResult> secondResults = Map.of(3L, CalendarSyncResult.synced("evt-3", "\"e3\""));
+        when(outboxService.claimDue(100)).thenReturn(List.of(
+                new CalendarSyncBatch(10L, "token-a", first),
+                new CalendarSyncBatch(20L, "token-b", second)));
+        when(batchClient.send("token-a", first)).thenReturn(firstResults);
+        when(batchClient.send("token-b", second)).thenReturn(secondResults);
+
+        scheduler.drainOutbox();
+
+        verify(outboxService).complete(firstResults);
+        verify(outboxService).complete(secondResults);
+    }
+
+    @Test
+    void drainOutbox_WhenTheClientThrows_ShouldScheduleEveryRowForRetry() {
+        Map<Long, CalendarSyncItem> claimed = items(5L, 6L);
+        when(outboxService.claimDue(100)).thenReturn(List.of(new CalendarSyncBatch(10L, "token-a", claimed)));
+        when(batchClient.send("token-a", claimed)).thenThrow(new IllegalStateException("boom"));
+
+        scheduler.drainOutbox();
+
+        ArgumentCaptor<Map<Long, CalendarSyncResult>> results = ArgumentCaptor.forClass(Map.class);
+        verify(outboxService).complete(results.capture());
+        assertEquals(Set.of(5L, 6L), results.getValue().keySet());
+        assertTrue(results.getValue().values().stream().noneMatch(CalendarSyncResult::isSuccess));
+    }
+
+    @Test
+    void drainOutbox_WithNothingDue_ShouldNotCallTheApi() {
+        when(outboxService.claimDue(100)).thenReturn(List.of());
+
+        scheduler.drainOutbox();
+
+        verify(batchClient, never()).send(any(), any());
+    }
+}
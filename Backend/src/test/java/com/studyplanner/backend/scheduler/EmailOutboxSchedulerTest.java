@@ -0,0 +1,108 @@
+package com.studyplanner.backend.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import com.studyplanner.backend.dto.EmailDeliveryResult;
+import com.studyplanner.backend.entity.EmailOutbox;
+import com.studyplanner.backend.service.EmailOutboxService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxSchedulerTest {
+
+    @Mock
+    private EmailOutboxService outboxService;
+    @Mock
+    private JavaMailSender mailSender;
+
+    private EmailOutboxScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new EmailOutboxScheduler(outboxService, mailSender, Runnable::run, new SimpleMeterRegistry(),
+                2, Duration.ofMinutes(5), Duration.ofDays(7));
+    }
+
+    private static EmailOutbox email(long id, String recipient) {
+        return EmailOutbox.builder().id(id).type(EmailOutbox.Type.REMINDER).recipient(recipient)
+                .subject("Reminder").body("<p>Due</p>").status(EmailOutbox.Status.PROCESSING).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, EmailDeliveryResult> completed() {
+        ArgumentCaptor<Map<Long, EmailDeliveryResult>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(outboxService).complete(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void drainBatch_ShouldSendEveryClaimedEmailAndRecordEachOutcome() throws Exception {
+        when(mailSender.createMimeMessage())
+                .thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        when(outboxService.claimDue(2)).thenReturn(List.of(email(1L, "ok@example.com"), email(2L, "down@example.com")));
+        doAnswer(invocation -> {
+            MimeMessage message = invocation.getArgument(0);
+            if (message.getAllRecipients()[0].toString().startsWith("down")) {
+                throw new MailSendException("connection refused");
+            }
+            return null;
+        }).when(mailSender).send(any(MimeMessage.class));
+
+        assertEquals(2, scheduler.drainBatch());
+
+        Map<Long, EmailDeliveryResult> results = completed();
+        assertTrue(results.get(1L).isSuccess());
+        assertFalse(results.get(2L).isSuccess());
+        assertFalse(results.get(2L).isPermanent());
+        assertEquals("connection refused", results.get(2L).getError());
+    }
+
+    @Test
+    void send_InvalidAddress_ShouldBeRejectedPermanently() {
+        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage(Session.getInstance(new Properties())));
+
+        EmailDeliveryResult result = scheduler.send(email(1L, "not an <address"));
+
+        assertTrue(result.isPermanent());
+        verify(mailSender, never()).send(any(MimeMessage.class));
+    }
+
+    @Test
+    void drainOutbox_ShouldKeepGoingWhileBatchesAreFull() {
+        when(mailSender.createMimeMessage())
+                .thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        when(outboxService.claimDue(2)).thenReturn(
+                List.of(email(1L, "a@example.com"), email(2L, "b@example.com")),
+                List.of(email(3L, "c@example.com")));
+
+        scheduler.drainOutbox();
+
+        verify(outboxService, times(2)).claimDue(2);
+        verify(mailSender, times(3)).send(any(MimeMessage.class));
+    }
+}
@@ -0,0 +1,139 @@
+package com.studyplanner.backend.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.studyplanner.backend.dto.ReminderDue;
+import com.studyplanner.backend.entity.Reminder;
+import com.studyplanner.backend.entity.Task;
+import com.studyplanner.backend.repository.ReminderRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ReminderDispatcherTest {
+
+    @Mock
+    private ReminderRepository reminderRepository;
+
+    @Mock
+    private ReminderScheduler reminderScheduler;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReminderDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new ReminderDispatcher(reminderRepository, reminderScheduler,
+                Duration.ofHours(1), Duration.ofHours(12), 100, 50, meterRegistry);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    private void window(ReminderDue... due) {
+        when(reminderRepository.findUnsentDue(any(), anyLong(), any(), any(), any())).thenReturn(List.of(due));
+    }
+
+    @Test
+    void refresh_ShouldFireDueRemindersAndHoldLaterOnes() {
+        LocalDateTime now = LocalDateTime.now();
+        window(new ReminderDue(1L, 10L, now.minusMinutes(5)),
+                new ReminderDue(2L, 20L, now.plus(Duration.ofMillis(300))),
+                new ReminderDue(3L, 30L, now.plusMinutes(30)));
+
+        dispatcher.refresh();
+
+        verify(reminderScheduler, timeout(2000)).sendReminders(argThat(ids -> ids.contains(1L)));
+        verify(reminderScheduler, timeout(2000)).sendReminders(argThat(ids -> ids.contains(2L)));
+        verify(reminderScheduler, never()).sendReminders(argThat(ids -> ids.contains(3L)));
+        assertEquals(1, dispatcher.pendingCount());
+        assertEquals(1.0, meterRegistry.get("reminders.pending").gauge().value());
+    }
+
+    @Test
+    void refresh_ShouldPageThroughTheWindowWithAKeysetCursor() {
+        LocalDateTime first = LocalDateTime.now().plusMinutes(10);
+        dispatcher = new ReminderDispatcher(reminderRepository, reminderScheduler,
+                Duration.ofHours(1), Duration.ofHours(12), 100, 2, meterRegistry);
+        when(reminderRepository.findUnsentDue(any(), anyLong(), any(), any(), any()))
+                .thenReturn(List.of(new ReminderDue(1L, 10L, first), new ReminderDue(2L, 10L, first)))
+                .thenReturn(List.of(new ReminderDue(3L, 10L, first.plusMinutes(1))));
+
+        dispatcher.refresh();
+
+        verify(reminderRepository).findUnsentDue(eq(first), eq(2L), any(), any(), any());
+        assertEquals(3, dispatcher.pendingCount());
+    }
+
+    @Test
+    void refresh_ShouldNotQueueTheSameReminderTwice() {
+        window(new ReminderDue(3L, 30L, LocalDateTime.now().plusMinutes(30)));
+
+        dispatcher.refresh();
+        dispatcher.refresh();
+
+        assertEquals(1, dispatcher.pendingCount());
+    }
+
+    @Test
+    void schedule_ShouldOnlyQueueRemindersInsideTheHorizon() {
+        window();
+        dispatcher.refresh();
+        Task task = Task.builder().id(10L).build();
+
+        dispatcher.schedule(Reminder.builder().id(1L).task(task).reminderDate(LocalDateTime.now().plus(Duration.ofMillis(200))).build());
+        dispatcher.schedule(Reminder.builder().id(2L).task(task).reminderDate(LocalDateTime.now().plusDays(1)).build());
+
+        verify(reminderScheduler, timeout(2000)).sendReminders(argThat(ids -> ids.contains(1L)));
+        assertEquals(0, dispatcher.pendingCount());
+    }
+
+    @Test
+    void cancelForTasks_ShouldDropTheirPendingReminders() {
+        window(new ReminderDue(1L, 10L, LocalDateTime.now().plus(Duration.ofMillis(300))),
+                new ReminderDue(2L, 20L, LocalDateTime.now().plus(Duration.ofMillis(300))));
+        dispatcher.refresh();
+
+        dispatcher.cancelForTasks(List.of(10L));
+
+        verify(reminderScheduler, timeout(2000)).sendReminders(argThat(ids -> ids.contains(2L)));
+        verify(reminderScheduler, after(300).never()).sendReminders(argThat(ids -> ids.contains(1L)));
+    }
+
+    @Test
+    void refresh_WithTruncatedWindow_ShouldPullTheHorizonIn() {
+        dispatcher = new ReminderDispatcher(reminderRepository, reminderScheduler,
+                Duration.ofHours(1), Duration.ofHours(12), 1, 50, meterRegistry);
+        window(new ReminderDue(1L, 10L, LocalDateTime.now().plusMinutes(10)));
+        dispatcher.refresh();
+        Task task = Task.builder().id(20L).build();
+
+        dispatcher.schedule(Reminder.builder().id(2L).task(task).reminderDate(LocalDateTime.now().plusMinutes(20)).build());
+
+        assertEquals(1, dispatcher.pendingCount());
+        verify(reminderScheduler, never()).sendReminders(any());
+    }
+}
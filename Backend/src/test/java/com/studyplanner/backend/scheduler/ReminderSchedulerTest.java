@@ -1,73 +1,174 @@
 package com.studyplanner.backend.scheduler;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 
 import com.studyplanner.backend.entity.Reminder;
 import com.studyplanner.backend.entity.Task;
 import com.studyplanner.backend.entity.User;
 import com.studyplanner.backend.repository.ReminderRepository;
 import com.studyplanner.backend.service.EmailService;
+import com.studyplanner.backend.service.NotificationService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ReminderScheduler Tests")
 class ReminderSchedulerTest {
 
+    private static final String NODE = "node-a";
+
     @Mock
     private EmailService emailService;
     @Mock
     private ReminderRepository reminderRepository;
+    @Mock
+    private NotificationService notificationService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new ReminderScheduler(emailService, reminderRepository, notificationService,
+                TransactionOperations.withoutTransaction(), meterRegistry, NODE, Duration.ofMinutes(5),
+                Duration.ofHours(24));
+    }
+
+    private static Reminder reminder(long id, String firstName, String email) {
+        User user = User.builder().firstName(firstName).lastName("Dev").email(email).build();
+        Task task = Task.builder().taskName("task " + id).user(user).build();
+        return Reminder.builder().id(id).task(task).reminderSent(false).build();
+    }
 
     @Test
-    void processReminders_WhenEmpty_ShouldReturnWithoutSending() {
-        ReminderScheduler scheduler = new ReminderScheduler(emailService, reminderRepository);
-        when(reminderRepository.findUnsentRemindersInWindow(any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(List.of());
+    void sendReminders_WhenAnotherInstanceClaimedTheChunk_ShouldNotSend() {
+        when(reminderRepository.claim(eq(List.of(1L, 2L)), eq(NODE), any(), any())).thenReturn(0);
 
-        scheduler.processReminders();
+        int sent = scheduler.sendReminders(List.of(1L, 2L));
 
+        assertEquals(0, sent);
+        verify(reminderRepository, never()).findLeasedWithTaskAndUser(any(), any());
         verify(emailService, never()).sendTaskReminderEmail(any(), any(), any());
-        verify(reminderRepository, never()).save(any(Reminder.class));
+        verify(reminderRepository, never()).markSent(any(), any(), any());
+        assertEquals(2.0, meterRegistry.counter("reminders.skipped").count());
     }
 
     @Test
-    void processReminders_ShouldSendAndMarkSent_AndContinueOnErrors() {
-        ReminderScheduler scheduler = new ReminderScheduler(emailService, reminderRepository);
-
-        User okUser = User.builder().firstName("Aashish").lastName("Dev").email("a@example.com").build();
-        Task okTask = Task.builder().taskName("Revise").user(okUser).build();
-        Reminder okReminder = Reminder.builder().id(1L).task(okTask).reminderSent(false).build();
-
-        User badUser = User.builder().firstName("Rita").lastName("Fail").email("bad@example.com").build();
-        Task badTask = Task.builder().taskName("Fail task").user(badUser).build();
-        Reminder badReminder = Reminder.builder().id(2L).task(badTask).reminderSent(false).build();
-
-        when(reminderRepository.findUnsentRemindersInWindow(any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(List.of(okReminder, badReminder));
-        org.mockito.Mockito.doAnswer(invocation -> {
-            String email = invocation.getArgument(0);
-            if ("bad@example.com".equals(email)) {
+    void sendReminders_ShouldLeaseTheChunkForTheConfiguredTime() {
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> leaseUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(reminderRepository.claim(eq(List.of(1L)), eq(NODE), now.capture(), leaseUntil.capture())).thenReturn(1);
+        when(reminderRepository.findLeasedWithTaskAndUser(List.of(1L), NODE))
+                .thenReturn(List.of(reminder(1L, "Aashish", "a@example.com")));
+        when(reminderRepository.markSent(eq(List.of(1L)), eq(NODE), any(LocalDateTime.class))).thenReturn(1);
+
+        scheduler.sendReminders(List.of(1L));
+
+        assertEquals(Duration.ofMinutes(5), Duration.between(now.getValue(), leaseUntil.getValue()));
+    }
+
+    @Test
+    void sendReminders_ShouldSendTheChunkAndMarkItSentInOneUpdate_AndContinueOnErrors() {
+        Reminder ok = reminder(1L, "Aashish", "a@example.com");
+        Reminder bad = reminder(2L, "Rita", "bad@example.com");
+        Reminder alsoOk = reminder(3L, "Mai", "m@example.com");
+        when(reminderRepository.claim(eq(List.of(1L, 2L, 3L)), eq(NODE), any(), any())).thenReturn(3);
+        when(reminderRepository.findLeasedWithTaskAndUser(List.of(1L, 2L, 3L), NODE))
+                .thenReturn(List.of(ok, bad, alsoOk));
+        doAnswer(invocation -> {
+            if ("bad@example.com".equals(invocation.getArgument(0))) {
                 throw new RuntimeException("smtp");
             }
             return null;
         }).when(emailService).sendTaskReminderEmail(any(), any(), any());
+        when(reminderRepository.markSent(any(), eq(NODE), any(LocalDateTime.class))).thenReturn(2);
+
+        int sent = scheduler.sendReminders(List.of(1L, 2L, 3L));
+
+        assertEquals(2, sent);
+        verify(emailService, times(1)).sendTaskReminderEmail("a@example.com", "Aashish Dev", ok.getTask());
+        verify(reminderRepository).markSent(eq(List.of(1L, 3L)), eq(NODE), any(LocalDateTime.class));
+        assertEquals(2.0, meterRegistry.counter("reminders.sent").count());
+        assertEquals(1.0, meterRegistry.counter("reminders.failed").count());
+        assertEquals(1, meterRegistry.timer("reminders.chunk.duration").count());
+    }
+
+    @Test
+    void sendReminders_WithEmptyChunk_ShouldNotQuery() {
+        scheduler.sendReminders(List.of());
+
+        verify(reminderRepository, never()).claim(any(), any(), any(), any());
+    }
+
+    private static Reminder digestReminder(long id, User user, Task.Priority priority) {
+        Task task = Task.builder().taskName("task " + id).priority(priority).user(user).build();
+        return Reminder.builder().id(id).task(task).reminderSent(false)
+                .reminderDate(LocalDateTime.now().minusMinutes(1)).build();
+    }
+
+    @Test
+    void sendReminders_DigestUser_ShouldSendOneEmailForAllRemindersInTheWindow() {
+        User digestUser = User.builder().id(7L).firstName("Mai").lastName("Tran").email("m@example.com")
+                .reminderDigest(true).build();
+        Reminder fired = digestReminder(1L, digestUser, Task.Priority.LOW);
+        Reminder other = reminder(2L, "Aashish", "a@example.com");
+        Reminder later = digestReminder(3L, digestUser, Task.Priority.HIGH);
+        when(reminderRepository.claim(eq(List.of(1L, 2L)), eq(NODE), any(), any())).thenReturn(2);
+        when(reminderRepository.findLeasedWithTaskAndUser(List.of(1L, 2L), NODE)).thenReturn(List.of(fired, other));
+        when(reminderRepository.findUnsentIdsForUsers(eq(Set.of(7L)), any(), any(), any()))
+                .thenReturn(List.of(1L, 3L));
+        when(reminderRepository.claim(eq(List.of(3L)), eq(NODE), any(), any())).thenReturn(1);
+        when(reminderRepository.findLeasedWithTaskAndUser(List.of(3L), NODE)).thenReturn(List.of(later));
+        when(reminderRepository.markSent(any(), eq(NODE), any(LocalDateTime.class))).thenReturn(3);
+
+        int sent = scheduler.sendReminders(List.of(1L, 2L));
+
+        assertEquals(3, sent);
+        verify(emailService).sendReminderDigestEmail("m@example.com", "Mai Tran",
+                List.of(fired.getTask(), later.getTask()));
+        verify(emailService).sendTaskReminderEmail("a@example.com", "Aashish Dev", other.getTask());
+        verify(emailService, times(1)).sendTaskReminderEmail(any(), any(), any());
+        verify(reminderRepository).markSent(eq(List.of(2L, 1L, 3L)), eq(NODE), any(LocalDateTime.class));
+        assertEquals(1.0, meterRegistry.counter("reminders.digests").count());
+    }
+
+    @Test
+    void sendReminders_DigestUserWithSingleReminder_ShouldSendTheRegularEmail() {
+        User digestUser = User.builder().id(7L).firstName("Mai").lastName("Tran").email("m@example.com")
+                .reminderDigest(true).build();
+        Reminder fired = digestReminder(1L, digestUser, Task.Priority.LOW);
+        when(reminderRepository.claim(eq(List.of(1L)), eq(NODE), any(), any())).thenReturn(1);
+        when(reminderRepository.findLeasedWithTaskAndUser(List.of(1L), NODE)).thenReturn(List.of(fired));
+        when(reminderRepository.findUnsentIdsForUsers(eq(Set.of(7L)), any(), any(), any()))
+                .thenReturn(List.of(1L));
+        when(reminderRepository.markSent(eq(List.of(1L)), eq(NODE), any(LocalDateTime.class))).thenReturn(1);
 
-        scheduler.processReminders();
+        scheduler.sendReminders(List.of(1L));
 
-        verify(emailService, times(1)).sendTaskReminderEmail("a@example.com", "Aashish Dev", okTask);
-        verify(emailService, times(1)).sendTaskReminderEmail("bad@example.com", "Rita Fail", badTask);
-        verify(reminderRepository, times(1)).save(okReminder);
+        verify(emailService).sendTaskReminderEmail("m@example.com", "Mai Tran", fired.getTask());
+        verify(emailService, never()).sendReminderDigestEmail(any(), any(), any());
+        assertEquals(0.0, meterRegistry.counter("reminders.digests").count());
     }
 }
@@ -0,0 +1,99 @@
+package com.studyplanner.backend.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * The scheduler pool configured in application.yaml runs jobs side by side.
+ */
+class SchedulingPoolTest {
+
+    private static final String POOL_SIZE = "spring.task.scheduling.pool.size";
+
+    private static final CountDownLatch releaseDrain = new CountDownLatch(1);
+    private static final CountDownLatch drainStarted = new CountDownLatch(1);
+    private static final CountDownLatch otherJobRuns = new CountDownLatch(3);
+
+    @Test
+    void poolSize_ShouldGiveEveryScheduledJobItsOwnThread() throws Exception {
+        int jobs = 0;
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Component.class));
+        scanner.addExcludeFilter((reader, factory) ->
+                reader.getClassMetadata().getClassName().startsWith(SchedulingPoolTest.class.getName()));
+        for (BeanDefinition candidate : scanner.findCandidateComponents("com.studyplanner.backend")) {
+            Class<?> type = ClassUtils.forName(candidate.getBeanClassName(), getClass().getClassLoader());
+            jobs += (int) Arrays.stream(type.getDeclaredMethods())
+                    .filter(method -> method.isAnnotationPresent(Scheduled.class))
+                    .count();
+        }
+
+        int poolSize = configuredPoolSize();
+        assertTrue(poolSize >= jobs, "pool size " + poolSize + " for " + jobs + " scheduled jobs");
+    }
+
+    @Test
+    void longDrain_ShouldNotDelayTheOtherJobs() throws IOException {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(TaskSchedulingAutoConfiguration.class))
+                .withUserConfiguration(Jobs.class)
+                .withPropertyValues(POOL_SIZE + "=" + configuredPoolSize())
+                .run(context -> {
+                    try {
+                        assertTrue(drainStarted.await(5, TimeUnit.SECONDS));
+                        // the drain is still running; the other job keeps its schedule
+                        assertTrue(otherJobRuns.await(5, TimeUnit.SECONDS));
+                    } finally {
+                        releaseDrain.countDown();
+                    }
+                });
+    }
+
+    private static int configuredPoolSize() throws IOException {
+        for (PropertySource<?> source : new YamlPropertySourceLoader()
+                .load("application", new ClassPathResource("application.yaml"))) {
+            Object size = source.getProperty(POOL_SIZE);
+            if (size != null) {
+                return Integer.parseInt(size.toString());
+            }
+        }
+        return 1;
+    }
+
+    @Configuration
+    @EnableScheduling
+    static class Jobs {
+
+        // stands in for EmailOutboxScheduler.drainOutbox working through a backlog
+        @Scheduled(fixedDelay = 10)
+        void drain() throws InterruptedException {
+            drainStarted.countDown();
+            releaseDrain.await(10, TimeUnit.SECONDS);
+        }
+
+        @Scheduled(fixedDelay = 10)
+        void refresh() {
+            otherJobRuns.countDown();
+        }
+    }
+}
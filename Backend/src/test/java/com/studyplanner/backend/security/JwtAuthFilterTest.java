@@ -1,5 +1,6 @@
 package com.studyplanner.backend.security;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.never;
@@ -22,6 +23,9 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
 
 @ExtendWith(MockitoExtension.class)
@@ -56,19 +60,20 @@ class JwtAuthFilterTest {
         filter.doFilter(request, response, filterChain);
 
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtUtil, never()).validateToken(org.mockito.ArgumentMatchers.anyString());
+        verify(jwtUtil, never()).verify(org.mockito.ArgumentMatchers.anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
 
     @Test
-    void shouldSetAuthenticationWhenTokenIsValid() throws Exception {
+    void shouldLoadUserWhenTokenHasNoUserIdClaim() throws Exception {
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.addHeader("Authorization", "Bearer valid-token");
         MockHttpServletResponse response = new MockHttpServletResponse();
 
         UserDetails userDetails = User.withUsername("u@example.com").password("x").authorities("ROLE_USER").build();
-        when(jwtUtil.validateToken("valid-token")).thenReturn(true);
-        when(jwtUtil.extractEmail("valid-token")).thenReturn("u@example.com");
+        Claims claims = Jwts.claims().subject("u@example.com").build();
+        when(jwtUtil.verify("valid-token")).thenReturn(claims);
+        when(jwtUtil.extractUserId(claims)).thenReturn(null);
         when(userDetailsService.loadUserByUsername("u@example.com")).thenReturn(userDetails);
 
         filter.doFilter(request, response, filterChain);
@@ -78,6 +83,39 @@ class JwtAuthFilterTest {
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
+    @Test
+    void shouldBuildPrincipalFromClaimsWithoutLoadingUser() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer valid-token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Claims claims = Jwts.claims().subject("u@example.com").add("userId", 42L).build();
+        when(jwtUtil.verify("valid-token")).thenReturn(claims);
+        when(jwtUtil.extractUserId(claims)).thenReturn(42L);
+
+        filter.doFilter(request, response, filterChain);
+
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(new AuthenticatedUser(42L, "u@example.com"), principal);
+        assertEquals("u@example.com", SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(userDetailsService, never()).loadUserByUsername(org.mockito.ArgumentMatchers.anyString());
+        verify(filterChain, times(1)).doFilter(request, response);
+    }
+
+    @Test
+    void shouldContinueUnauthenticatedWhenTokenIsInvalid() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer broken-token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        when(jwtUtil.verify("broken-token")).thenThrow(new MalformedJwtException("bad"));
+
+        filter.doFilter(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain, times(1)).doFilter(request, response);
+    }
+
     @Test
     void shouldNotReloadWhenAuthenticationAlreadyExists() throws Exception {
         MockHttpServletRequest request = new MockHttpServletRequest();
@@ -86,10 +124,10 @@ class JwtAuthFilterTest {
 
         SecurityContextHolder.getContext()
                 .setAuthentication(new UsernamePasswordAuthenticationToken("already", null, java.util.List.of()));
-        when(jwtUtil.validateToken("valid-token")).thenReturn(true);
 
         filter.doFilter(request, response, filterChain);
 
+        verify(jwtUtil, never()).verify(org.mockito.ArgumentMatchers.anyString());
         verify(userDetailsService, never()).loadUserByUsername(org.mockito.ArgumentMatchers.anyString());
         verify(filterChain, times(1)).doFilter(request, response);
     }
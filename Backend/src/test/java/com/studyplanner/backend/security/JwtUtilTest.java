@@ -3,6 +3,8 @@ package com.studyplanner.backend.security;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.lang.reflect.Field;
@@ -14,6 +16,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+
 @DisplayName("JwtUtil Tests")
 class JwtUtilTest {
 
@@ -52,6 +58,36 @@ class JwtUtilTest {
         assertFalse(jwtUtil.validateToken("not-a-jwt"));
     }
 
+    @Test
+    void verify_ShouldReturnCachedClaimsForRepeatedToken() {
+        UserDetails details = User.withUsername("user@example.com").password("x").authorities("ROLE_USER").build();
+        String token = jwtUtil.generateToken(Map.of("userId", 3L), details);
+
+        Claims first = jwtUtil.verify(token);
+        Claims second = jwtUtil.verify(token);
+
+        assertSame(first, second);
+        assertEquals(3L, jwtUtil.extractUserId(first));
+    }
+
+    @Test
+    void verify_WithTamperedSignature_ShouldThrow() {
+        UserDetails details = User.withUsername("user@example.com").password("x").authorities("ROLE_USER").build();
+        String token = jwtUtil.generateToken(Map.of("userId", 3L), details);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+    }
+
+    @Test
+    void verify_WithExpiredToken_ShouldThrow() throws Exception {
+        setField("expirationMs", -1_000L);
+        UserDetails details = User.withUsername("user@example.com").password("x").authorities("ROLE_USER").build();
+        String token = jwtUtil.generateToken(Map.of("userId", 3L), details);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(token));
+    }
+
     private void setField(String name, Object value) throws Exception {
         Field field = JwtUtil.class.getDeclaredField(name);
         field.setAccessible(true);
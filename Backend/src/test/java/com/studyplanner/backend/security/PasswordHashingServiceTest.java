@@ -0,0 +1,124 @@
+package com.studyplanner.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.studyplanner.backend.exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("PasswordHashingService Tests")
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_ShouldRunOnHashingPool() {
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry, 2, 4, 5000);
+
+        String hash = service.encode("secret123");
+
+        assertTrue(service.matches("secret123", hash));
+        assertFalse(service.matches("other", hash));
+        assertFalse(service.matches("secret123", null));
+        assertEquals(3, meterRegistry.get("password.hashing.duration").timer().count());
+    }
+
+    @Test
+    void needsRehash_ShouldDetectLowerCostHashes() {
+        service = new PasswordHashingService(new BCryptPasswordEncoder(5), meterRegistry, 1, 1, 5000);
+
+        assertTrue(service.needsRehash(new BCryptPasswordEncoder(4).encode("secret123")));
+        assertFalse(service.needsRehash(new BCryptPasswordEncoder(5).encode("secret123")));
+        assertFalse(service.needsRehash(null));
+    }
+
+    @Test
+    void encode_WhenPoolAndQueueAreFull_ShouldShedWithOverloadedException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        service = new PasswordHashingService(blockingEncoder(started, release), meterRegistry, 1, 1, 5000);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> running = callers.submit(() -> service.encode("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> queued = callers.submit(() -> service.encode("second"));
+            waitForQueueDepth(1);
+
+            assertThrows(ServiceOverloadedException.class, () -> service.encode("third"));
+            assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("hashed", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hashed", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void encode_WhenWorkerTakesTooLong_ShouldTimeOut() {
+        CountDownLatch release = new CountDownLatch(1);
+        service = new PasswordHashingService(blockingEncoder(new CountDownLatch(1), release), meterRegistry, 1, 1, 50);
+
+        try {
+            assertThrows(ServiceOverloadedException.class, () -> service.encode("slow"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private void waitForQueueDepth(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("queue never reached depth " + expected);
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.studyplanner.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studyplanner.backend.cache.TaskListCache;
+import com.studyplanner.backend.cache.TaskListVersions;
+import com.studyplanner.backend.controller.TaskController;
+import com.studyplanner.backend.entity.Task;
+import com.studyplanner.backend.repository.TaskRepository;
+import com.studyplanner.backend.repository.UserRepository;
+import com.studyplanner.backend.service.CalendarOutboxService;
+import com.studyplanner.backend.service.ReminderService;
+import com.studyplanner.backend.service.impl.TaskServiceImpl;
+import com.studyplanner.backend.util.SecurityUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * End-to-end check of the JWT path: filter, SecurityUtils, controller, the real
+ * TaskServiceImpl and its repositories on H2. Listing the caller's tasks must
+ * not load the user.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+@DisplayName("Stateless JWT authentication Tests")
+class StatelessAuthenticationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private JwtUtil jwtUtil;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SecurityContextHolder.clearContext();
+        jwtUtil = new JwtUtil();
+        setField("secret", "abcdefghijklmnopqrstuvwxyz1234567890abcdefghijklmnopqrstuvwxyz");
+        setField("expirationMs", 3600_000L);
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        TaskListVersions taskListVersions = new TaskListVersions(userRepository);
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, userRepository,
+                mock(ReminderService.class), mock(CalendarOutboxService.class), taskListVersions);
+        TaskListCache taskListCache = new TaskListCache(taskListVersions, objectMapper,
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        TaskController controller = new TaskController(taskService, new SecurityUtils(userRepository),
+                taskListCache, objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addFilters(new JwtAuthFilter(jwtUtil, userDetailsService))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getTasksForUser_ShouldIssueZeroUserQueries() throws Exception {
+        com.studyplanner.backend.entity.User student = entityManager.persist(
+                com.studyplanner.backend.entity.User.builder().email("student@example.com").build());
+        entityManager.persist(Task.builder().user(student).taskName("Revise").taskDescription("Revise").build());
+        entityManager.flush();
+        entityManager.clear();
+        String token = jwtUtil.generateToken(Map.of("userId", student.getId()),
+                User.withUsername("student@example.com").password("").authorities("ROLE_USER").build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/v1/task/user").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].taskName").value("Revise"));
+
+        verifyNoInteractions(userDetailsService);
+        assertEquals(0, statistics.getEntityStatistics(com.studyplanner.backend.entity.User.class.getName())
+                .getLoadCount());
+        // Two statements: the task list itself, and the list version kept on the users row for
+        // the ETag (see TaskListVersions) - a deliberate primary key read of one column, not a user load
+        assertEquals(2, statistics.getPrepareStatementCount(), Arrays.toString(statistics.getQueries()));
+        assertTrue(Arrays.stream(statistics.getQueries()).anyMatch(query -> query.contains("task_list_version")),
+                Arrays.toString(statistics.getQueries()));
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        Field field = JwtUtil.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(jwtUtil, value);
+    }
+}
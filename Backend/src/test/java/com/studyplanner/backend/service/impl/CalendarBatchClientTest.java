@@ -0,0 +1,189 @@
+package com.studyplanner.backend.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.api.services.calendar.model.Event;
+import com.studyplanner.backend.dto.CalendarSyncItem;
+import com.studyplanner.backend.dto.CalendarSyncResult;
+import com.studyplanner.backend.entity.Task;
+import com.studyplanner.backend.mapper.CalendarEventMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Sends batches to a local HTTP server that answers like the Calendar batch endpoint.
+ */
+@DisplayName("CalendarBatchClient Tests")
+class CalendarBatchClientTest {
+
+    private static final String BOUNDARY = "batch_stub";
+
+    private HttpServer server;
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final List<Integer> partsPerRequest = new CopyOnWriteArrayList<>();
+    private final List<String> receivedParts = new CopyOnWriteArrayList<>();
+    private CalendarClientFactory clientFactory;
+    private CalendarBatchClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/batch/calendar/v3", this::answerBatch);
+        server.start();
+        clientFactory = new CalendarClientFactory(new SimpleMeterRegistry(),
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/", 4, 4, 10, Duration.ofMinutes(5));
+        client = new CalendarBatchClient(clientFactory, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        clientFactory.shutdown();
+        server.stop(0);
+    }
+
+    // One response part per request part, in order. Events named "fail..." get a 400,
+    // patches with If-Match "stale" a 412, deletes a 204 and everything else the event back.
+    private void answerBatch(HttpExchange exchange) throws IOException {
+        authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        String requestBoundary = exchange.getRequestHeaders().getFirst("Content-Type").split("boundary=")[1];
+
+        List<String> parts = new ArrayList<>();
+        for (String part : body.split("--" + requestBoundary)) {
+            if (part.contains("/calendar/v3/calendars/")) {
+                parts.add(part);
+            }
+        }
+        partsPerRequest.add(parts.size());
+        receivedParts.addAll(parts);
+
+        StringBuilder response = new StringBuilder();
+        for (int i = 0; i < parts.size(); i++) {
+            String part = parts.get(i);
+            response.append("--").append(BOUNDARY).append("\r\n")
+                    .append("Content-Type: application/http\r\n")
+                    .append("Content-ID: <response-").append(i + 1).append(">\r\n\r\n");
+            if (part.contains("\"summary\":\"fail")) {
+                error(response, 400, "Bad Request", "Invalid start time");
+            } else if (part.toLowerCase().contains("if-match: \"stale\"")) {
+                error(response, 412, "Precondition Failed", "Precondition Failed");
+            } else if (part.contains("DELETE ")) {
+                response.append("HTTP/1.1 204 No Content\r\n\r\n");
+            } else {
+                response.append("HTTP/1.1 200 OK\r\n")
+                        .append("Content-Type: application/json; charset=UTF-8\r\n\r\n")
+                        .append("{\"id\":\"evt-").append(partsPerRequest.size()).append('-').append(i)
+                        .append("\",\"etag\":\"\\\"v").append(partsPerRequest.size()).append("\\\"\"}\r\n");
+            }
+        }
+        response.append("--").append(BOUNDARY).append("--\r\n");
+
+        byte[] bytes = response.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "multipart/mixed; boundary=" + BOUNDARY);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void error(StringBuilder response, int code, String reason, String message) {
+        response.append("HTTP/1.1 ").append(code).append(' ').append(reason).append("\r\n")
+                .append("Content-Type: application/json; charset=UTF-8\r\n\r\n")
+                .append("{\"error\":{\"code\":").append(code).append(",\"message\":\"").append(message)
+                .append("\"}}\r\n");
+    }
+
+    private static Event event(String name) {
+        return CalendarEventMapper.mapToEvent(Task.builder()
+                .taskName(name)
+                .taskDescription(name)
+                .taskDeadline(LocalDateTime.of(2025, 3, 1, 10, 0))
+                .build());
+    }
+
+    @Test
+    void send_ShouldSendOneBatchRequestPerBatchSizeCalls() {
+        Map<Long, CalendarSyncItem> items = new LinkedHashMap<>();
+        items.put(11L, CalendarSyncItem.insert(event("read chapter 1")));
+        items.put(12L, CalendarSyncItem.insert(event("read chapter 2")));
+        items.put(13L, CalendarSyncItem.insert(event("read chapter 3")));
+
+        Map<Long, CalendarSyncResult> results = client.send("token-1", items);
+
+        assertEquals(List.of(2, 1), partsPerRequest);
+        assertEquals("evt-1-0", results.get(11L).getEventId());
+        assertEquals("evt-1-1", results.get(12L).getEventId());
+        assertEquals("evt-2-0", results.get(13L).getEventId());
+        assertEquals("\"v2\"", results.get(13L).getEtag());
+        assertTrue(authorizations.stream().allMatch("Bearer token-1"::equals));
+    }
+
+    @Test
+    void send_ShouldReportFailedPartsWithoutLosingTheOthers() {
+        Map<Long, CalendarSyncItem> items = new LinkedHashMap<>();
+        items.put(21L, CalendarSyncItem.insert(event("fail this one")));
+        items.put(22L, CalendarSyncItem.insert(event("keep this one")));
+
+        Map<Long, CalendarSyncResult> results = client.send("token-2", items);
+
+        assertTrue(results.get(22L).isSuccess());
+        assertFalse(results.get(21L).isSuccess());
+        assertEquals(400, results.get(21L).getStatusCode());
+        assertEquals("400 Invalid start time", results.get(21L).getError());
+    }
+
+    @Test
+    void send_ShouldPatchWithIfMatchAndDeleteExistingEvents() {
+        Map<Long, CalendarSyncItem> items = new LinkedHashMap<>();
+        items.put(41L, CalendarSyncItem.patch("evt-a", "\"current\"", event("moved")));
+        items.put(42L, CalendarSyncItem.patch("evt-b", "\"stale\"", event("edited elsewhere")));
+        items.put(43L, CalendarSyncItem.delete("evt-c"));
+
+        Map<Long, CalendarSyncResult> results = client.send("token-4", items);
+
+        assertTrue(receivedParts.get(0).contains("PATCH "));
+        assertTrue(receivedParts.get(0).contains("/calendar/v3/calendars/primary/events/evt-a"));
+        assertTrue(receivedParts.get(0).toLowerCase().contains("if-match: \"current\""));
+        assertTrue(receivedParts.get(2).contains("DELETE "));
+        assertTrue(receivedParts.get(2).contains("/calendar/v3/calendars/primary/events/evt-c"));
+        assertTrue(results.get(41L).isSuccess());
+        assertTrue(results.get(42L).isConflict());
+        assertTrue(results.get(43L).isSuccess());
+    }
+
+    @Test
+    void send_WhenTheBatchRequestFails_ShouldReportEveryCall() {
+        server.removeContext("/batch/calendar/v3");
+        server.createContext("/batch/calendar/v3", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+
+        Map<Long, CalendarSyncResult> results = client.send("token-3",
+                Map.of(31L, CalendarSyncItem.insert(event("retry me"))));
+
+        assertEquals(List.of(31L), List.copyOf(results.keySet()));
+        assertFalse(results.get(31L).isSuccess());
+    }
+}
@@ -0,0 +1,125 @@
+package com.studyplanner.backend.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.services.calendar.model.Event;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Lists changes from a local HTTP server that answers like the Calendar events endpoint.
+ */
+@DisplayName("CalendarChangesClient Tests")
+class CalendarChangesClientTest {
+
+    private HttpServer server;
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+    private CalendarClientFactory clientFactory;
+    private CalendarChangesClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/calendar/v3/calendars/primary/events", this::answerList);
+        server.start();
+        clientFactory = new CalendarClientFactory(new SimpleMeterRegistry(),
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/", 4, 4, 10, Duration.ofMinutes(5));
+        client = new CalendarChangesClient(clientFactory, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        clientFactory.shutdown();
+        server.stop(0);
+    }
+
+    // syncToken "expired" gets a 410, "broken" a 400. Any other listing is two pages,
+    // the second one carrying the next sync token.
+    private void answerList(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        queries.add(query);
+        if (query.contains("syncToken=expired")) {
+            respond(exchange, 410, "{\"error\":{\"code\":410,\"message\":\"Sync token is no longer valid\"}}");
+        } else if (query.contains("syncToken=broken")) {
+            respond(exchange, 400, "{\"error\":{\"code\":400,\"message\":\"Bad Request\"}}");
+        } else if (query.contains("pageToken=page-2")) {
+            respond(exchange, 200, "{\"items\":[{\"id\":\"evt-3\",\"status\":\"cancelled\"}],"
+                    + "\"nextSyncToken\":\"sync-next\"}");
+        } else {
+            respond(exchange, 200, "{\"items\":[{\"id\":\"evt-1\",\"etag\":\"\\\"1\\\"\",\"summary\":\"moved\","
+                    + "\"start\":{\"dateTime\":\"2025-03-02T10:00:00Z\"}},{\"id\":\"evt-2\"}],"
+                    + "\"nextPageToken\":\"page-2\"}");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Test
+    void forEachChangePage_ShouldWalkEveryPageAndReturnTheNextSyncToken() throws IOException {
+        List<List<String>> pages = new ArrayList<>();
+
+        String next = client.forEachChangePage("token-1", "sync-1",
+                page -> pages.add(page.stream().map(Event::getId).toList()));
+
+        assertEquals("sync-next", next);
+        assertEquals(List.of(List.of("evt-1", "evt-2"), List.of("evt-3")), pages);
+        assertTrue(queries.stream().allMatch(query -> query.contains("syncToken=sync-1")));
+        assertTrue(queries.get(0).contains("maxResults=2"));
+    }
+
+    @Test
+    void forEachChangePage_WithoutSyncToken_ShouldListEverything() throws IOException {
+        String next = client.forEachChangePage("token-1", null, page -> { });
+
+        assertEquals("sync-next", next);
+        assertTrue(queries.stream().noneMatch(query -> query.contains("syncToken")));
+    }
+
+    @Test
+    void forEachChangePage_WhenTheTokenExpired_ShouldFallBackToAFullListing() throws IOException {
+        List<Event> events = new ArrayList<>();
+
+        String next = client.forEachChangePage("token-1", "expired", events::addAll);
+
+        assertEquals("sync-next", next);
+        assertEquals(3, events.size());
+        assertTrue(queries.get(0).contains("syncToken=expired"));
+        assertFalse(queries.get(1).contains("syncToken"));
+    }
+
+    @Test
+    void forEachChangePage_WithOtherErrors_ShouldThrow() {
+        GoogleJsonResponseException error = assertThrows(GoogleJsonResponseException.class,
+                () -> client.forEachChangePage("token-1", "broken", page -> { }));
+
+        assertEquals(400, error.getStatusCode());
+        assertEquals(1, queries.size());
+    }
+}
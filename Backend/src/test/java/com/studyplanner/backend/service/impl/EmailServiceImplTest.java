@@ -1,12 +1,15 @@
 package com.studyplanner.backend.service.impl;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
-import java.util.Properties;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,33 +18,37 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.javamail.JavaMailSender;
 
+import com.studyplanner.backend.entity.EmailOutbox;
 import com.studyplanner.backend.entity.Task;
 import com.studyplanner.backend.entity.User;
-
-import jakarta.mail.Session;
-import jakarta.mail.internet.MimeMessage;
+import com.studyplanner.backend.service.EmailOutboxService;
+import com.studyplanner.backend.template.EmailTemplates;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("EmailServiceImpl Tests")
 class EmailServiceImplTest {
 
     @Mock
-    private JavaMailSender mailSender;
+    private EmailOutboxService outboxService;
 
     private EmailServiceImpl emailService;
-    private MimeMessage mimeMessage;
 
     @BeforeEach
     void setUp() {
-        emailService = new EmailServiceImpl(mailSender);
-        mimeMessage = new MimeMessage(Session.getInstance(new Properties()));
+        emailService = new EmailServiceImpl(outboxService, new EmailTemplates());
+    }
+
+    // subject and body of the one email queued with this type
+    private String[] queued(EmailOutbox.Type type, String recipient) {
+        ArgumentCaptor<String> subject = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(outboxService).enqueue(eq(type), eq(recipient), subject.capture(), body.capture());
+        return new String[] { subject.getValue(), body.getValue() };
     }
 
     @Test
-    void sendTaskReminderEmail_ShouldBuildAndSendMessage() throws Exception {
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+    void sendTaskReminderEmail_ShouldRenderAndQueueMessage() {
         Task task = Task.builder()
                 .taskName("Physics practice")
                 .taskDescription("Solve chapter 2 numericals")
@@ -52,24 +59,75 @@ class EmailServiceImplTest {
 
         emailService.sendTaskReminderEmail("student@example.com", "Student", task);
 
-        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender, times(1)).send(captor.capture());
-        MimeMessage sent = captor.getValue();
-        assertTrue(sent.getSubject().contains("Physics practice"));
+        String[] email = queued(EmailOutbox.Type.REMINDER, "student@example.com");
+        assertTrue(email[0].contains("Physics practice"));
+        assertTrue(email[1].contains("Solve chapter 2 numericals"));
     }
 
     @Test
-    void sendWelcomeAndShareInvite_ShouldSendMessages() throws Exception {
-        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage(Session.getInstance(new Properties())));
+    void sendWelcomeAndShareInvite_ShouldQueueMessages() {
         emailService.sendWelcomeEmail("new@example.com", "New User");
 
         User sender = User.builder().firstName("Aashish").lastName("Dev").email("a@example.com").build();
         Task task = Task.builder().taskName("Group revision").taskDescription("Read together").build();
-        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage(Session.getInstance(new Properties())));
         emailService.sendShareInviteEmail(
                 "friend@example.com", "Friend", sender, task, "http://accept", "http://decline");
 
-        verify(mailSender, times(2)).send(org.mockito.ArgumentMatchers.any(MimeMessage.class));
+        verify(outboxService, times(2)).enqueue(any(), anyString(), anyString(), anyString());
+        assertTrue(queued(EmailOutbox.Type.WELCOME, "new@example.com")[1].contains("New User"));
+        assertTrue(queued(EmailOutbox.Type.SHARE_INVITE, "friend@example.com")[0].startsWith("Aashish Dev"));
+    }
+
+    @Test
+    void sendShareInvite_ShouldEscapeUserContent() {
+        User sender = User.builder().firstName("<b>Eve</b>").lastName("X").email("e@example.com")
+                .profilePicture("javascript:alert(1)").build();
+        Task task = Task.builder().taskName("<script>alert(1)</script>").taskDescription("a & b").build();
+
+        emailService.sendShareInviteEmail(
+                "friend@example.com", "Friend", sender, task, "http://accept", "javascript:decline()");
+
+        String html = queued(EmailOutbox.Type.SHARE_INVITE, "friend@example.com")[1];
+        assertTrue(html.contains("&lt;script&gt;alert(1)&lt;/script&gt;"));
+        assertTrue(html.contains("&lt;b&gt;Eve&lt;/b&gt;"));
+        assertTrue(html.contains("a &amp; b"));
+        assertFalse(html.contains("<script>"));
+        assertFalse(html.contains("javascript:"));
+    }
+
+    @Test
+    void sendTaskReminderEmail_FinnishTask_ShouldUseFinnishTemplate() {
+        Task task = Task.builder()
+                .taskName("Fysiikka")
+                .taskDeadline(LocalDateTime.of(2026, 3, 5, 14, 30))
+                .priority(Task.Priority.LOW)
+                .status(Task.Status.PENDING)
+                .language(Task.Language.FI)
+                .build();
+
+        emailService.sendTaskReminderEmail("student@example.com", "Oppilas", task);
+
+        String[] email = queued(EmailOutbox.Type.REMINDER, "student@example.com");
+        assertTrue(email[0].startsWith("Muistutus"));
+        assertTrue(email[1].contains("2026"));
     }
 
+    @Test
+    void sendReminderDigestEmail_ShouldListTasksByPriorityThenDeadline() {
+        LocalDateTime tomorrow = LocalDateTime.of(2026, 3, 5, 9, 0);
+        Task lowSoon = Task.builder().taskName("Low soon").priority(Task.Priority.LOW)
+                .taskDeadline(tomorrow).build();
+        Task highLate = Task.builder().taskName("High late").priority(Task.Priority.HIGH)
+                .taskDeadline(tomorrow.plusHours(5)).build();
+        Task highSoon = Task.builder().taskName("High soon").priority(Task.Priority.HIGH)
+                .taskDeadline(tomorrow.plusHours(1)).build();
+
+        emailService.sendReminderDigestEmail("student@example.com", "Student", List.of(lowSoon, highLate, highSoon));
+
+        String[] email = queued(EmailOutbox.Type.REMINDER_DIGEST, "student@example.com");
+        assertTrue(email[0].contains("3"));
+        String html = email[1];
+        assertTrue(html.indexOf("High soon") < html.indexOf("High late"));
+        assertTrue(html.indexOf("High late") < html.indexOf("Low soon"));
+    }
 }
@@ -4,13 +4,26 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,16 +33,28 @@ import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studyplanner.backend.cache.SuggestionPromptCache;
 import com.studyplanner.backend.dto.LlmTaskGenerationRequest;
 import com.studyplanner.backend.dto.LlmTaskGenerationResponse;
+import com.studyplanner.backend.dto.NotificationEvent;
+import com.studyplanner.backend.dto.SuggestionJobDto;
 import com.studyplanner.backend.entity.SuggestedLLM;
+import com.studyplanner.backend.entity.SuggestionJob;
 import com.studyplanner.backend.entity.User;
 import com.studyplanner.backend.exception.LlmResponseParseException;
 import com.studyplanner.backend.exception.ResourceNotFoundException;
+import com.studyplanner.backend.exception.ServiceOverloadedException;
 import com.studyplanner.backend.repository.SuggestedTaskRepository;
+import com.studyplanner.backend.repository.SuggestionJobRepository;
 import com.studyplanner.backend.repository.UserRepository;
+import com.studyplanner.backend.service.NotificationService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("LlmServiceImpl Tests")
@@ -43,6 +68,18 @@ class LlmServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private SuggestedTaskRepository suggestedTaskRepository;
+    @Mock
+    private SuggestionJobRepository suggestionJobRepository;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SuggestionPromptCache promptCache =
+            new SuggestionPromptCache(new SimpleMeterRegistry(), 100, Duration.ofDays(7), 7);
+
+    // jobs handed to the LLM pool; run by the test when it wants the worker to go
+    private final List<Runnable> queuedJobs = new ArrayList<>();
 
     private LlmServiceImpl llmService;
 
@@ -50,7 +87,9 @@ class LlmServiceImplTest {
     void setUp() {
         when(chatClientBuilder.build()).thenReturn(chatClient);
         llmService = new LlmServiceImpl(
-                chatClientBuilder, userRepository, suggestedTaskRepository, new ObjectMapper(), 5);
+                chatClientBuilder, userRepository, suggestedTaskRepository, suggestionJobRepository,
+                new ObjectMapper(), notificationService, promptCache, transactionManager, queuedJobs::add, 5,
+                Duration.ofMinutes(2), Duration.ofMinutes(5));
     }
 
     @Test
@@ -101,6 +140,31 @@ class LlmServiceImplTest {
         assertEquals("Read chapter", response.getSuggestions().get(0).getTaskName());
     }
 
+    @Test
+    void generateTaskSuggestions_WhenEquivalentPromptCached_ShouldNotCallModelAgain() {
+        User user = User.builder().id(1L).email("u@example.com").build();
+        when(suggestedTaskRepository.countByUserIdAndTaskDeadlineBetween(anyLong(), any(), any())).thenReturn(0L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(chatClient.prompt().system(any(String.class)).user(any(String.class)).call().content()).thenReturn(
+                "{\"tasks\":[{\"taskName\":\"Read\",\"taskDeadline\":\"2030-01-10T10:00:00\"}]}");
+        List<SuggestedLLM> saved = new ArrayList<>();
+        when(suggestedTaskRepository.save(any(SuggestedLLM.class))).thenAnswer(inv -> {
+            saved.add(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+
+        llmService.generateTaskSuggestions(
+                LlmTaskGenerationRequest.builder().prompt("plan for Docker exam").language("en").build(), 1L);
+        LlmTaskGenerationResponse second = llmService.generateTaskSuggestions(
+                LlmTaskGenerationRequest.builder().prompt("docker exam plan").language("en").build(), 1L);
+
+        assertEquals(1, second.getTotalGenerated());
+        assertEquals("Read", saved.get(1).getTaskName());
+        assertEquals(LocalDateTime.parse("2030-01-10T10:00:00"), saved.get(1).getTaskDeadline());
+        // once while stubbing, once for the first request
+        verify(chatClient, times(2)).prompt();
+    }
+
     @Test
     void generateTaskSuggestions_WhenQuotaExceeded_ShouldThrow() {
         when(suggestedTaskRepository.countByUserIdAndTaskDeadlineBetween(anyLong(), any(), any())).thenReturn(99L);
@@ -159,6 +223,237 @@ class LlmServiceImplTest {
         assertThrows(LlmResponseParseException.class, () -> llmService.generateTaskSuggestions(req, 1L));
     }
 
+    @Test
+    void streamTaskSuggestions_ShouldSaveEachTaskAsItArrives() {
+        User user = User.builder().id(1L).email("u@example.com").build();
+        when(suggestedTaskRepository.countByUserIdAndTaskDeadlineBetween(anyLong(), any(), any())).thenReturn(0L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(chatClient.prompt().system(any(String.class)).user(any(String.class)).stream().content())
+                .thenReturn(Flux.just(
+                        "```json\n{\"tasks\":[{\"taskName\":\"Read chapter\",",
+                        "\"taskDescription\":\"Study\",\"taskDeadline\":\"2030-01-10T10:00:00\"},",
+                        "{\"taskName\":\"Bad\",\"taskDeadline\":\"not-a-date\"},",
+                        "{\"taskName\":\"Quiz\",\"taskDeadline\":\"2030-01-11T10:00:00\",\"priority\":\"HIGH\"}]}\n```"));
+        List<SuggestedLLM> saved = new CopyOnWriteArrayList<>();
+        when(suggestedTaskRepository.save(any(SuggestedLLM.class))).thenAnswer(inv -> {
+            SuggestedLLM e = inv.getArgument(0);
+            e.setId((long) saved.size() + 1);
+            saved.add(e);
+            return e;
+        });
+
+        LlmTaskGenerationRequest req = LlmTaskGenerationRequest.builder().prompt("plan").language("en").build();
+        assertNotNull(llmService.streamTaskSuggestions(req, 1L));
+
+        // generation runs off the caller's thread; publish comes after the last save
+        verify(notificationService, timeout(2000)).publish(eq(1L), eq(NotificationEvent.Type.SUGGESTION), argThat(
+                suggestions -> ((List<?>) suggestions).size() == 2));
+        assertEquals(List.of("Read chapter", "Quiz"), saved.stream().map(SuggestedLLM::getTaskName).toList());
+        assertEquals(SuggestedLLM.Priority.MEDIUM, saved.get(0).getPriority());
+        assertTrue(saved.get(1).getLlmResponse().startsWith("{\"taskName\":\"Quiz\""));
+    }
+
+    @Test
+    void streamTaskSuggestions_WhenStreamFails_ShouldKeepTasksAlreadySaved() {
+        User user = User.builder().id(1L).email("u@example.com").build();
+        when(suggestedTaskRepository.countByUserIdAndTaskDeadlineBetween(anyLong(), any(), any())).thenReturn(0L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(chatClient.prompt().system(any(String.class)).user(any(String.class)).stream().content())
+                .thenReturn(Flux.concat(
+                        Flux.just("[{\"taskName\":\"Read\",\"taskDeadline\":\"2030-01-10T10:00:00\"}, {\"task"),
+                        Flux.error(new IllegalStateException("connection reset"))));
+        when(suggestedTaskRepository.save(any(SuggestedLLM.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        LlmTaskGenerationRequest req = LlmTaskGenerationRequest.builder().prompt("plan").language("en").build();
+        llmService.streamTaskSuggestions(req, 1L);
+
+        verify(notificationService, timeout(2000)).publish(eq(1L), eq(NotificationEvent.Type.SUGGESTION), any());
+        verify(suggestedTaskRepository, times(1)).save(any(SuggestedLLM.class));
+    }
+
+    @Test
+    void streamTaskSuggestions_ShouldReturnTheEmitterBeforeTheModelFinishes() {
+        User user = User.builder().id(1L).email("u@example.com").build();
+        when(suggestedTaskRepository.countByUserIdAndTaskDeadlineBetween(anyLong(), any(), any())).thenReturn(0L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        // like the GenAI client: a blocking iterable whose second chunk waits on the model
+        CountDownLatch modelDone = new CountDownLatch(1);
+        Iterable<String> slowChunks = () -> List.of(
+                "{\"tasks\":[{\"taskName\":\"Read\",\"taskDeadline\":\"2030-01-10T10:00:00\"},",
+                "{\"taskName\":\"Quiz\",\"taskDeadline\":\"2030-01-11T10:00:00\"}]}").stream()
+                .map(chunk -> {
+                    if (chunk.contains("Quiz")) {
+                        awaitQuietly(modelDone);
+                    }
+                    return chunk;
+                })
+                .iterator();
+        when(chatClient.prompt().system(any(String.class)).user(any(String.class)).stream().content())
+                .thenReturn(Flux.fromIterable(slowChunks));
+        when(suggestedTaskRepository.save(any(SuggestedLLM.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        LlmTaskGenerationRequest req = LlmTaskGenerationRequest.builder().prompt("plan").language("en").build();
+        SseEmitter emitter = assertTimeoutPreemptively(Duration.ofSeconds(2),
+                () -> llmService.streamTaskSuggestions(req, 1L));
+
+        assertNotNull(emitter);
+        // the first task is saved while the model is still generating the second
+        verify(suggestedTaskRepository, timeout(2000)).save(argThat(task -> "Read".equals(task.getTaskName())));
+        verify(notificationService, never()).publish(any(), any(), any());
+
+        modelDone.countDown();
+        verify(notificationService, timeout(2000)).publish(eq(1L), eq(NotificationEvent.Type.SUGGESTION), any());
+        verify(suggestedTaskRepository, times(2)).save(any(SuggestedLLM.class));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void streamTaskSuggestions_WhenQuotaExceeded_ShouldThrowBeforeCallingTheModel() {
+        when(suggestedTaskRepository.countByUserIdAndTaskDeadlineBetween(anyLong(), any(), any())).thenReturn(99L);
+        LlmTaskGenerationRequest req = LlmTaskGenerationRequest.builder().prompt("plan").language("en").build();
+
+        assertThrows(IllegalStateException.class, () -> llmService.streamTaskSuggestions(req, 1L));
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void submitSuggestionJob_ShouldQueueJobWithoutCallingTheModel() {
+        when(suggestedTaskRepository.countByUserIdAndTaskDeadlineBetween(anyLong(), any(), any())).thenReturn(0L);
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(suggestionJobRepository.save(any(SuggestionJob.class))).thenAnswer(inv -> {
+            SuggestionJob job = inv.getArgument(0);
+            job.setId(7L);
+            return job;
+        });
+
+        LlmTaskGenerationRequest req = LlmTaskGenerationRequest.builder().prompt("plan").language("fi").build();
+        SuggestionJobDto job = llmService.submitSuggestionJob(req, 1L);
+
+        assertEquals(7L, job.getJobId());
+        assertEquals(SuggestionJob.Status.QUEUED, job.getStatus());
+        assertEquals(1, queuedJobs.size());
+        verify(chatClient, never()).prompt();
+    }
+
+    @Test
+    void submitSuggestionJob_WhenQuotaExceeded_ShouldNotCreateJob() {
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(suggestedTaskRepository.countByUserIdAndTaskDeadlineBetween(anyLong(), any(), any())).thenReturn(99L);
+        LlmTaskGenerationRequest req = LlmTaskGenerationRequest.builder().prompt("plan").language("en").build();
+
+        assertThrows(IllegalStateException.class, () -> llmService.submitSuggestionJob(req, 1L));
+        verify(suggestionJobRepository, never()).save(any());
+        assertTrue(queuedJobs.isEmpty());
+    }
+
+    @Test
+    void submitSuggestionJob_WhenUnfinishedJobsUseTheRemainingQuota_ShouldNotCreateJob() {
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(User.builder().id(1L).build()));
+        // one suggestion left this month, already claimed by a job still waiting for the model
+        when(suggestedTaskRepository.countByUserIdAndTaskDeadlineBetween(anyLong(), any(), any())).thenReturn(4L);
+        when(suggestionJobRepository.countByUserIdAndStatusInAndCreatedAtAfter(eq(1L),
+                eq(List.of(SuggestionJob.Status.QUEUED, SuggestionJob.Status.RUNNING)), any())).thenReturn(1L);
+        LlmTaskGenerationRequest req = LlmTaskGenerationRequest.builder().prompt("plan").language("en").build();
+
+        assertThrows(IllegalStateException.class, () -> llmService.submitSuggestionJob(req, 1L));
+        verify(suggestionJobRepository, never()).save(any());
+        assertTrue(queuedJobs.isEmpty());
+    }
+
+    @Test
+    void submitSuggestionJob_WhenPoolIsFull_ShouldFailJobAndShed() {
+        llmService = new LlmServiceImpl(
+                chatClientBuilder, userRepository, suggestedTaskRepository, suggestionJobRepository,
+                new ObjectMapper(), notificationService, promptCache, transactionManager,
+                runnable -> {
+                    throw new java.util.concurrent.RejectedExecutionException("full");
+                },
+                5, Duration.ofMinutes(2), Duration.ofMinutes(5));
+        SuggestionJob job = SuggestionJob.builder().id(7L).userId(1L).status(SuggestionJob.Status.QUEUED).build();
+        when(suggestedTaskRepository.countByUserIdAndTaskDeadlineBetween(anyLong(), any(), any())).thenReturn(0L);
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(suggestionJobRepository.save(any(SuggestionJob.class))).thenReturn(job);
+        when(suggestionJobRepository.findById(7L)).thenReturn(Optional.of(job));
+
+        LlmTaskGenerationRequest req = LlmTaskGenerationRequest.builder().prompt("plan").language("en").build();
+
+        assertThrows(ServiceOverloadedException.class, () -> llmService.submitSuggestionJob(req, 1L));
+        assertEquals(SuggestionJob.Status.FAILED, job.getStatus());
+    }
+
+    @Test
+    void runningJob_ShouldSaveSuggestionsAndMarkSucceeded() {
+        SuggestionJob job = SuggestionJob.builder().id(7L).userId(1L).prompt("plan").language("en")
+                .status(SuggestionJob.Status.QUEUED).build();
+        when(suggestedTaskRepository.countByUserIdAndTaskDeadlineBetween(anyLong(), any(), any())).thenReturn(0L);
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(userRepository.getReferenceById(1L)).thenReturn(User.builder().id(1L).build());
+        when(suggestionJobRepository.save(any(SuggestionJob.class))).thenReturn(job);
+        when(suggestionJobRepository.findById(7L)).thenReturn(Optional.of(job));
+        when(chatClient.prompt().system(any(String.class)).user(any(String.class)).call().content()).thenReturn(
+                "{\"tasks\":[{\"taskName\":\"Read\",\"taskDeadline\":\"2030-01-10T10:00:00\"}]}");
+        List<SuggestedLLM> saved = new ArrayList<>();
+        when(suggestedTaskRepository.save(any(SuggestedLLM.class))).thenAnswer(inv -> {
+            saved.add(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+
+        llmService.submitSuggestionJob(LlmTaskGenerationRequest.builder().prompt("plan").language("en").build(), 1L);
+        queuedJobs.get(0).run();
+
+        assertEquals(SuggestionJob.Status.SUCCEEDED, job.getStatus());
+        assertEquals(1, job.getTotalGenerated());
+        assertNotNull(job.getFinishedAt());
+        assertEquals(7L, saved.get(0).getJobId());
+        verify(notificationService).publish(eq(1L), eq(NotificationEvent.Type.SUGGESTION), any());
+    }
+
+    @Test
+    void runningJob_WhenModelFails_ShouldMarkFailed() {
+        SuggestionJob job = SuggestionJob.builder().id(7L).userId(1L).prompt("plan").language("en")
+                .status(SuggestionJob.Status.QUEUED).build();
+        when(suggestedTaskRepository.countByUserIdAndTaskDeadlineBetween(anyLong(), any(), any())).thenReturn(0L);
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(suggestionJobRepository.save(any(SuggestionJob.class))).thenReturn(job);
+        when(suggestionJobRepository.findById(7L)).thenReturn(Optional.of(job));
+        when(chatClient.prompt().system(any(String.class)).user(any(String.class)).call().content())
+                .thenThrow(new IllegalStateException("provider unavailable"));
+
+        llmService.submitSuggestionJob(LlmTaskGenerationRequest.builder().prompt("plan").language("en").build(), 1L);
+        queuedJobs.get(0).run();
+
+        assertEquals(SuggestionJob.Status.FAILED, job.getStatus());
+        assertEquals("Suggestion generation failed", job.getError());
+        verify(suggestedTaskRepository, never()).save(any(SuggestedLLM.class));
+    }
+
+    @Test
+    void getSuggestionJob_WhenStuckPastTimeout_ShouldReportFailed() {
+        SuggestionJob job = SuggestionJob.builder().id(7L).userId(1L).status(SuggestionJob.Status.RUNNING)
+                .createdAt(LocalDateTime.now().minusHours(1)).build();
+        when(suggestionJobRepository.findByIdAndUserId(7L, 1L)).thenReturn(Optional.of(job));
+        when(suggestionJobRepository.findById(7L)).thenReturn(Optional.of(job));
+
+        SuggestionJobDto dto = llmService.getSuggestionJob(7L, 1L);
+
+        assertEquals(SuggestionJob.Status.FAILED, dto.getStatus());
+        assertTrue(dto.getSuggestions().isEmpty());
+    }
+
+    @Test
+    void getSuggestionJob_WhenOtherUsersJob_ShouldThrowNotFound() {
+        when(suggestionJobRepository.findByIdAndUserId(7L, 2L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> llmService.getSuggestionJob(7L, 2L));
+    }
+
     @Test
     void chat_ShouldThrowUntilImplemented() {
         assertThrows(UnsupportedOperationException.class,
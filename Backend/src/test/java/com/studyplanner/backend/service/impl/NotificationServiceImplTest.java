@@ -0,0 +1,204 @@
+package com.studyplanner.backend.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.studyplanner.backend.dto.NotificationEvent.Type;
+import com.studyplanner.backend.dto.TaskShareInviteDto;
+import com.studyplanner.backend.entity.TaskShareInvite.InviteStatus;
+import com.studyplanner.backend.repository.TaskShareInviteRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceImplTest {
+
+    @Mock
+    private TaskShareInviteRepository inviteRepository;
+
+    private final ManualExecutor senders = new ManualExecutor();
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationServiceImpl notificationService;
+    private MockMvc mockMvc;
+
+    @RestController
+    class StreamController {
+        @GetMapping("/stream/{userId}")
+        SseEmitter stream(@PathVariable Long userId) {
+            return notificationService.subscribe(userId);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        notificationService = new NotificationServiceImpl(inviteRepository, meterRegistry,
+                Duration.ofMinutes(1), 4, 2, senders);
+        mockMvc = MockMvcBuilders.standaloneSetup(new StreamController()).build();
+    }
+
+    private MockHttpServletResponse open(long userId) throws Exception {
+        return mockMvc.perform(get("/stream/" + userId))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    @Test
+    void subscribe_ShouldStartWithPendingInviteCount_AndPushPublishedEvents() throws Exception {
+        when(inviteRepository.countByReceiverIdAndStatus(1L, InviteStatus.PENDING)).thenReturn(3L);
+        MockHttpServletResponse response = open(1L);
+
+        notificationService.publish(1L, Type.INVITE, TaskShareInviteDto.builder().inviteId(9L).taskName("Essay").build());
+        senders.runAll();
+
+        String body = response.getContentAsString();
+        assertTrue(body.contains("event:pending-invites\ndata:3\n\n"), body);
+        assertTrue(body.contains("event:invite\ndata:{\"inviteId\":9,\"taskName\":\"Essay\"}"), body);
+        assertEquals(2.0, meterRegistry.counter("notifications.sent").count());
+    }
+
+    @Test
+    void publish_ShouldOnlyReachTheUsersOwnStreams() throws Exception {
+        MockHttpServletResponse first = open(1L);
+        MockHttpServletResponse other = open(2L);
+        senders.runAll();
+
+        notificationService.publish(1L, Type.REMINDER, List.of("only for user 1"));
+        notificationService.publish(3L, Type.REMINDER, List.of("nobody listening"));
+        senders.runAll();
+
+        assertTrue(first.getContentAsString().contains("only for user 1"));
+        assertFalse(other.getContentAsString().contains("event:reminder"));
+    }
+
+    @Test
+    void publish_SlowClient_ShouldReplaceTheBacklogWithOneResync() throws Exception {
+        MockHttpServletResponse response = open(1L);
+
+        // nothing is drained while the buffer (4 events) overflows
+        for (int i = 0; i < 10; i++) {
+            notificationService.publish(1L, Type.SUGGESTION, List.of("suggestion " + i));
+        }
+        senders.runAll();
+
+        String body = response.getContentAsString();
+        assertTrue(body.contains("event:resync"), body);
+        assertFalse(body.contains("event:suggestion"), body);
+        assertFalse(body.contains("event:pending-invites"), body);
+        assertEquals(10.0, meterRegistry.counter("notifications.dropped").count());
+    }
+
+    @Test
+    void subscribe_BeyondTheLimitPerUser_ShouldCloseTheOldestStream() throws Exception {
+        open(1L);
+        open(1L);
+        open(1L);
+
+        assertEquals(2, notificationService.connectionCount());
+        assertEquals(2.0, meterRegistry.get("notifications.connections").gauge().value());
+    }
+
+    @Test
+    void heartbeat_ShouldOnlyBeWrittenToIdleStreams() throws Exception {
+        MockHttpServletResponse response = open(1L);
+        senders.runAll();
+
+        notificationService.heartbeat();
+        notificationService.publish(1L, Type.REMINDER, List.of("due"));
+        notificationService.heartbeat();
+        senders.runAll();
+
+        String body = response.getContentAsString();
+        assertEquals(1, body.split(":heartbeat", -1).length - 1, body);
+        assertTrue(body.indexOf(":heartbeat") < body.indexOf("event:reminder"), body);
+    }
+
+    @Test
+    void heartbeat_ShouldRunOnItsOwnThreadWithoutTheSpringScheduler() throws Exception {
+        MockHttpServletResponse response = open(1L);
+        senders.runAll();
+
+        notificationService.startHeartbeat(Duration.ofMillis(20));
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (!response.getContentAsString().contains(":heartbeat") && System.nanoTime() < deadline) {
+                senders.runAll();
+                Thread.sleep(10);
+            }
+        } finally {
+            notificationService.shutdown();
+        }
+
+        assertTrue(response.getContentAsString().contains(":heartbeat"), response.getContentAsString());
+    }
+
+    // Runs the sender tasks only when the test says so
+    private static final class ManualExecutor extends AbstractExecutorService {
+        // the heartbeat thread queues drains too
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            tasks.clear();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            List<Runnable> pending = List.copyOf(tasks);
+            tasks.clear();
+            return pending;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
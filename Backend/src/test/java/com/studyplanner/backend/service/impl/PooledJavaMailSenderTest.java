@@ -0,0 +1,231 @@
+package com.studyplanner.backend.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+
+import com.studyplanner.backend.util.TokenBucket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Sends mail to an in-process SMTP server that counts connections and messages.
+ */
+@DisplayName("PooledJavaMailSender Tests")
+class PooledJavaMailSenderTest {
+
+    private StubSmtpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private PooledJavaMailSender sender;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StubSmtpServer();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (sender != null) {
+            sender.close();
+        }
+        server.close();
+    }
+
+    private PooledJavaMailSender sender(int maxConnections, int maxMessagesPerConnection, long idleTimeoutMs,
+            TokenBucket rateLimiter) {
+        PooledJavaMailSender created = new PooledJavaMailSender(meterRegistry, maxConnections,
+                maxMessagesPerConnection, idleTimeoutMs, rateLimiter);
+        created.setHost("127.0.0.1");
+        created.setPort(server.port());
+        return created;
+    }
+
+    private static SimpleMailMessage message(int i) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("planner@example.com");
+        message.setTo("student" + i + "@example.com");
+        message.setSubject("Reminder " + i);
+        message.setText("Due tomorrow");
+        return message;
+    }
+
+    @Test
+    void send_ShouldReuseOneConnectionForManyMessages() {
+        sender = sender(2, 100, 30_000, new TokenBucket(0, 1));
+
+        for (int i = 0; i < 20; i++) {
+            sender.send(message(i));
+        }
+
+        assertEquals(20, server.messages.get());
+        assertEquals(1, server.connections.get());
+        assertEquals(1.0, meterRegistry.get("mail.connections.idle").gauge().value());
+        assertEquals(20, meterRegistry.get("mail.send").timer().count());
+    }
+
+    @Test
+    void send_ShouldRotateConnectionsAfterTheMessageLimit() {
+        sender = sender(2, 5, 30_000, new TokenBucket(0, 1));
+
+        for (int i = 0; i < 12; i++) {
+            sender.send(message(i));
+        }
+
+        assertEquals(12, server.messages.get());
+        assertEquals(3, server.connections.get());
+    }
+
+    @Test
+    void send_WhenTheServerDroppedTheConnection_ShouldReconnectAndDeliver() {
+        sender = sender(1, 100, 30_000, new TokenBucket(0, 1));
+        server.dropAfterMessages = 3;
+
+        for (int i = 0; i < 7; i++) {
+            sender.send(message(i));
+        }
+
+        assertEquals(7, server.messages.get());
+        assertEquals(3, server.connections.get());
+    }
+
+    @Test
+    void send_FromManyThreads_ShouldNotOpenMoreThanMaxConnections() throws Exception {
+        sender = sender(2, 1000, 30_000, new TokenBucket(0, 1));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 80; i++) {
+                SimpleMailMessage message = message(i);
+                futures.add(pool.submit(() -> sender.send(message)));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(80, server.messages.get());
+        assertTrue(server.maxOpen.get() <= 2, "open connections: " + server.maxOpen.get());
+    }
+
+    @Test
+    void send_ShouldStayWithinTheRateLimit() {
+        sender = sender(2, 100, 30_000, new TokenBucket(50, 1));
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < 11; i++) {
+            sender.send(message(i));
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        // one token up front, then ten more at 50 per second
+        assertTrue(elapsedMs >= 180, "took " + elapsedMs + " ms");
+        assertEquals(11, server.messages.get());
+    }
+
+    // Just enough SMTP for Jakarta Mail: EHLO, MAIL, RCPT, DATA, RSET, NOOP and QUIT
+    private static final class StubSmtpServer {
+
+        private final ServerSocket socket;
+        private final ExecutorService workers = Executors.newCachedThreadPool();
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger open = new AtomicInteger();
+        private final AtomicInteger maxOpen = new AtomicInteger();
+        private final AtomicInteger messages = new AtomicInteger();
+        // closes a connection after this many messages without a reply to QUIT, 0 = never
+        private volatile int dropAfterMessages;
+
+        private StubSmtpServer() throws IOException {
+            socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            workers.submit(this::acceptLoop);
+        }
+
+        private int port() {
+            return socket.getLocalPort();
+        }
+
+        private void acceptLoop() {
+            while (!socket.isClosed()) {
+                try {
+                    Socket client = socket.accept();
+                    connections.incrementAndGet();
+                    maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+                    workers.submit(() -> serve(client));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket client) {
+            try (client;
+                    BufferedReader in = new BufferedReader(
+                            new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII))) {
+                OutputStream out = client.getOutputStream();
+                reply(out, "220 stub ESMTP");
+                int received = 0;
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                    switch (command) {
+                        case "EHLO" -> reply(out, "250-stub\r\n250 8BITMIME");
+                        case "DATA" -> {
+                            reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                            while ((line = in.readLine()) != null && !line.equals(".")) {
+                                // message body is not inspected
+                            }
+                            messages.incrementAndGet();
+                            received++;
+                            reply(out, "250 OK");
+                            if (dropAfterMessages > 0 && received >= dropAfterMessages) {
+                                return;
+                            }
+                        }
+                        case "QUIT" -> {
+                            reply(out, "221 Bye");
+                            return;
+                        }
+                        default -> reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException e) {
+                // client went away
+            } finally {
+                open.decrementAndGet();
+            }
+        }
+
+        private static void reply(OutputStream out, String reply) throws IOException {
+            out.write((reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        private void close() throws IOException {
+            socket.close();
+            workers.shutdownNow();
+        }
+    }
+}
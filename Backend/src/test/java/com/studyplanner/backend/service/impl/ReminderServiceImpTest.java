@@ -19,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.studyplanner.backend.entity.Reminder;
 import com.studyplanner.backend.entity.Task;
 import com.studyplanner.backend.repository.ReminderRepository;
+import com.studyplanner.backend.scheduler.ReminderDispatcher;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ReminderServiceImp Tests")
@@ -26,10 +27,12 @@ class ReminderServiceImpTest {
 
     @Mock
     private ReminderRepository reminderRepository;
+    @Mock
+    private ReminderDispatcher reminderDispatcher;
 
     @Test
     void createReminderForTask_ShouldCoverSkipAndSavePaths() {
-        ReminderServiceImp service = new ReminderServiceImp(reminderRepository);
+        ReminderServiceImp service = new ReminderServiceImp(reminderRepository, reminderDispatcher);
 
         Task noDeadline = Task.builder().id(1L).taskName("No deadline").build();
         service.createReminderForTask(noDeadline);
@@ -50,13 +53,16 @@ class ReminderServiceImpTest {
         Task valid = Task.builder().id(4L).taskName("Valid")
                 .taskDeadline(LocalDateTime.now().plusDays(2)).build();
         when(reminderRepository.existsByTaskIdAndReminderSentFalse(4L)).thenReturn(false);
+        Reminder saved = Reminder.builder().id(40L).task(valid).build();
+        when(reminderRepository.save(any(Reminder.class))).thenReturn(saved);
         service.createReminderForTask(valid);
         verify(reminderRepository, times(1)).save(any(Reminder.class));
+        verify(reminderDispatcher, times(1)).schedule(saved);
     }
 
     @Test
     void cancelReminderForTask_ShouldDeleteOnlyUnsent() {
-        ReminderServiceImp service = new ReminderServiceImp(reminderRepository);
+        ReminderServiceImp service = new ReminderServiceImp(reminderRepository, reminderDispatcher);
         Reminder unsent = Reminder.builder().id(1L).reminderSent(false).build();
         Reminder sent = Reminder.builder().id(2L).reminderSent(true).build();
 
@@ -65,11 +71,12 @@ class ReminderServiceImpTest {
 
         service.cancelReminderForTask(10L);
         verify(reminderRepository, times(1)).deleteAll(List.of(unsent));
+        verify(reminderDispatcher, times(1)).cancelForTasks(List.of(10L));
     }
 
     @Test
     void cancelReminderForTask_WhenNoUnsent_ShouldNotDelete() {
-        ReminderServiceImp service = new ReminderServiceImp(reminderRepository);
+        ReminderServiceImp service = new ReminderServiceImp(reminderRepository, reminderDispatcher);
         Reminder sent = Reminder.builder().id(2L).reminderSent(true).build();
         when(reminderRepository.findByTaskId(11L)).thenReturn(List.of(sent));
 
@@ -27,6 +27,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.studyplanner.backend.cache.TaskListVersions;
 import com.studyplanner.backend.dto.SuggestedTasksDto;
 import com.studyplanner.backend.dto.SuggestionBatchResponseDto;
 import com.studyplanner.backend.dto.SuggestionResponseDto;
@@ -37,6 +38,7 @@ import com.studyplanner.backend.entity.Task;
 import com.studyplanner.backend.entity.User;
 import com.studyplanner.backend.exception.ResourceNotFoundException;
 import com.studyplanner.backend.exception.UnauthorizedAccessException;
+import com.studyplanner.backend.mapper.SuggestedTasksMapper;
 import com.studyplanner.backend.repository.SuggestedTaskRepository;
 import com.studyplanner.backend.repository.TaskRepository;
 import com.studyplanner.backend.service.ReminderService;
@@ -51,6 +53,8 @@ class SuggestedTaskServiceImplTest {
     private TaskRepository taskRepository;
     @Mock
     private ReminderService reminderService;
+    @Mock
+    private TaskListVersions taskListVersions;
 
     private SuggestedTaskServiceImpl service;
     private User owner;
@@ -58,7 +62,7 @@ class SuggestedTaskServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        service = new SuggestedTaskServiceImpl(suggestedTaskRepository, taskRepository, reminderService);
+        service = new SuggestedTaskServiceImpl(suggestedTaskRepository, taskRepository, reminderService, taskListVersions);
         owner = User.builder().id(1L).email("owner@example.com").build();
         pendingSuggestion = SuggestedLLM.builder()
                 .id(100L)
@@ -73,9 +77,10 @@ class SuggestedTaskServiceImplTest {
 
     @Test
     void getPendingAndAll_ShouldMapSuggestions() {
-        when(suggestedTaskRepository.findByUserIdAndSuggestedStatus(1L, SuggestedStatus.PENDING))
-                .thenReturn(List.of(pendingSuggestion));
-        when(suggestedTaskRepository.findByUserId(1L)).thenReturn(List.of(pendingSuggestion));
+        SuggestedTasksDto pendingDto = SuggestedTasksMapper.toDto(pendingSuggestion);
+        when(suggestedTaskRepository.findDtosByUserIdAndSuggestedStatus(1L, SuggestedStatus.PENDING))
+                .thenReturn(List.of(pendingDto));
+        when(suggestedTaskRepository.findDtosByUserId(1L)).thenReturn(List.of(pendingDto));
 
         List<SuggestedTasksDto> pending = service.getPendingSuggestions(1L);
         List<SuggestedTasksDto> all = service.getAllSuggestions(1L);
@@ -103,6 +108,7 @@ class SuggestedTaskServiceImplTest {
         verify(suggestedTaskRepository, times(1)).save(pendingSuggestion);
         assertEquals(SuggestedStatus.ACCEPTED, pendingSuggestion.getSuggestedStatus());
         assertEquals(500L, pendingSuggestion.getAcceptedTask().getId());
+        verify(taskListVersions, times(1)).bump(1L);
     }
 
     @Test
@@ -142,7 +148,7 @@ class SuggestedTaskServiceImplTest {
     @Test
     void respondAndAcceptMultiple_ShouldContinueOnFailures() {
         SuggestedTaskServiceImpl spyService = spy(new SuggestedTaskServiceImpl(
-                suggestedTaskRepository, taskRepository, reminderService));
+                suggestedTaskRepository, taskRepository, reminderService, taskListVersions));
 
         doReturn(TaskDto.builder().taskId(1L).build()).when(spyService).acceptSuggestion(10L, 1L);
         doThrow(new IllegalStateException("bad")).when(spyService).acceptSuggestion(11L, 1L);
@@ -166,13 +172,13 @@ class SuggestedTaskServiceImplTest {
 
     @Test
     void getUserAnalytics_ShouldReturnComputedFields() {
-        when(suggestedTaskRepository.findByUserId(1L)).thenReturn(List.of(pendingSuggestion, pendingSuggestion));
+        when(suggestedTaskRepository.countByUserId(1L)).thenReturn(2L);
         when(suggestedTaskRepository.countByUserIdAndSuggestedStatus(1L, SuggestedStatus.ACCEPTED)).thenReturn(1L);
         when(suggestedTaskRepository.countByUserIdAndSuggestedStatus(1L, SuggestedStatus.DECLINED)).thenReturn(1L);
         when(suggestedTaskRepository.countByUserIdAndSuggestedStatus(1L, SuggestedStatus.PENDING)).thenReturn(0L);
         when(suggestedTaskRepository.getAcceptanceRateByUserId(1L)).thenReturn(0.75d);
-        when(suggestedTaskRepository.findRecentSuggestionsByUserId(eq(1L), any(LocalDateTime.class)))
-                .thenReturn(List.of(pendingSuggestion));
+        when(suggestedTaskRepository.findRecentDtosByUserId(eq(1L), any(LocalDateTime.class)))
+                .thenReturn(List.of(SuggestedTasksMapper.toDto(pendingSuggestion)));
 
         Map<String, Object> analytics = service.getUserAnalytics(1L);
         assertEquals(2L, analytics.get("totalSuggestions"));
@@ -180,7 +186,7 @@ class SuggestedTaskServiceImplTest {
         assertTrue(((List<?>) analytics.get("mostRecentSuggestions")).size() == 1);
 
         ArgumentCaptor<LocalDateTime> sinceCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
-        verify(suggestedTaskRepository).findRecentSuggestionsByUserId(eq(1L), sinceCaptor.capture());
+        verify(suggestedTaskRepository).findRecentDtosByUserId(eq(1L), sinceCaptor.capture());
         assertNotFuture(sinceCaptor.getValue());
     }
 
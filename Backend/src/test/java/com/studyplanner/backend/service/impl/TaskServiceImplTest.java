@@ -6,20 +6,30 @@ import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import com.studyplanner.backend.cache.TaskListVersions;
+import com.studyplanner.backend.dto.BulkTaskRequestDto;
+import com.studyplanner.backend.dto.BulkTaskResponseDto;
 import com.studyplanner.backend.dto.TaskDto;
+import com.studyplanner.backend.dto.TaskFilterDto;
 import com.studyplanner.backend.entity.Task;
 import com.studyplanner.backend.entity.Task.Priority;
 import com.studyplanner.backend.entity.Task.Status;
@@ -28,6 +38,7 @@ import com.studyplanner.backend.exception.ResourceNotFoundException;
 import com.studyplanner.backend.exception.UnauthorizedAccessException;
 import com.studyplanner.backend.repository.TaskRepository;
 import com.studyplanner.backend.repository.UserRepository;
+import com.studyplanner.backend.service.CalendarOutboxService;
 import com.studyplanner.backend.service.ReminderService;
 
 /**
@@ -48,7 +59,10 @@ class TaskServiceImplTest {
 	private ReminderService reminderService;
 
 	@Mock
-	private CalendarServiceImpl calendarService;
+	private CalendarOutboxService calendarOutboxService;
+
+	@Mock
+	private TaskListVersions taskListVersions;
 
 	@InjectMocks
 	private TaskServiceImpl taskService;
@@ -104,7 +118,6 @@ class TaskServiceImplTest {
 			// Arrange
 			when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 			when(taskRepository.save(any(Task.class))).thenReturn(testTask);
-			when(calendarService.pushToCalendar(any(Task.class))).thenReturn("eventId123");
 
 			// Act
 			TaskDto result = taskService.createTask(testTaskDto);
@@ -117,6 +130,7 @@ class TaskServiceImplTest {
 			verify(userRepository, times(1)).findById(1L);
 			verify(taskRepository, times(1)).save(any(Task.class));
 			verify(reminderService, times(1)).createReminderForTask(any(Task.class));
+			verify(taskListVersions, times(1)).bump(1L);
 		}
 
 		@Test
@@ -132,8 +146,8 @@ class TaskServiceImplTest {
 		}
 
 		@Test
-		@DisplayName("Should continue when calendar sync fails during create")
-		void createTask_WhenCalendarSyncFails_ShouldStillReturnTask() {
+		@DisplayName("Should queue the calendar sync instead of calling Google during create")
+		void createTask_ShouldQueueCalendarSync() {
 			when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 			when(taskRepository.save(any(Task.class))).thenReturn(testTask);
 
@@ -142,6 +156,7 @@ class TaskServiceImplTest {
 			assertNotNull(result);
 			verify(taskRepository, times(1)).save(any(Task.class));
 			verify(reminderService, times(1)).createReminderForTask(any(Task.class));
+			verify(calendarOutboxService, times(1)).enqueue(testTask);
 		}
 	}
 
@@ -153,7 +168,7 @@ class TaskServiceImplTest {
 		@DisplayName("Should return task when user is owner")
 		void getTaskById_AsOwner_ShouldReturnTask() {
 			// Arrange
-			when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+			when(taskRepository.findDtoById(1L)).thenReturn(Optional.of(testTaskDto));
 
 			// Act
 			TaskDto result = taskService.getTaskById(1L, 1L);
@@ -161,14 +176,15 @@ class TaskServiceImplTest {
 			// Assert
 			assertNotNull(result);
 			assertEquals(testTask.getTaskName(), result.getTaskName());
-			verify(taskRepository, times(1)).findById(1L);
+			verify(taskRepository, times(1)).findDtoById(1L);
+			verify(taskRepository, never()).findById(anyLong());
 		}
 
 		@Test
 		@DisplayName("Should throw ResourceNotFoundException when task not found")
 		void getTaskById_WithNonExistentTask_ShouldThrowException() {
 			// Arrange
-			when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+			when(taskRepository.findDtoById(999L)).thenReturn(Optional.empty());
 
 			// Act & Assert
 			assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskById(999L, 1L));
@@ -178,7 +194,7 @@ class TaskServiceImplTest {
 		@DisplayName("Should throw UnauthorizedAccessException when user is not owner")
 		void getTaskById_AsNonOwner_ShouldThrowException() {
 			// Arrange
-			when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+			when(taskRepository.findDtoById(1L)).thenReturn(Optional.of(testTaskDto));
 
 			// Act & Assert
 			assertThrows(UnauthorizedAccessException.class, () -> taskService.getTaskById(1L, 999L));
@@ -193,9 +209,8 @@ class TaskServiceImplTest {
 		@DisplayName("Should return all tasks for user")
 		void getTasksByUserId_WithValidUser_ShouldReturnTaskList() {
 			// Arrange
-			List<Task> taskList = Arrays.asList(testTask);
-			when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-			when(taskRepository.findByUserId(1L)).thenReturn(taskList);
+			List<TaskDto> taskList = Arrays.asList(testTaskDto);
+			when(taskRepository.findDtosByUserId(1L)).thenReturn(taskList);
 
 			// Act
 			List<TaskDto> result = taskService.getTasksByUserId(1L);
@@ -204,15 +219,14 @@ class TaskServiceImplTest {
 			assertNotNull(result);
 			assertEquals(1, result.size());
 			assertEquals(testTask.getTaskName(), result.get(0).getTaskName());
-			verify(taskRepository, times(1)).findByUserId(1L);
+			verify(taskRepository, times(1)).findDtosByUserId(1L);
 		}
 
 		@Test
 		@DisplayName("Should return empty list when user has no tasks")
 		void getTasksByUserId_WithNoTasks_ShouldReturnEmptyList() {
 			// Arrange
-			when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-			when(taskRepository.findByUserId(1L)).thenReturn(Arrays.asList());
+			when(taskRepository.findDtosByUserId(1L)).thenReturn(Arrays.asList());
 
 			// Act
 			List<TaskDto> result = taskService.getTasksByUserId(1L);
@@ -223,14 +237,38 @@ class TaskServiceImplTest {
 		}
 
 		@Test
-		@DisplayName("Should throw ResourceNotFoundException when user not found")
-		void getTasksByUserId_WithNonExistentUser_ShouldThrowException() {
+		@DisplayName("Should read tasks without looking the user up")
+		void getTasksByUserId_ShouldNotQueryTheUser() {
 			// Arrange
-			when(userRepository.findById(999L)).thenReturn(Optional.empty());
+			when(taskRepository.findDtosByUserId(999L)).thenReturn(List.of());
 
-			// Act & Assert
-			assertThrows(ResourceNotFoundException.class, () -> taskService.getTasksByUserId(999L));
-			verify(taskRepository, never()).findByUserId(999L);
+			// Act
+			List<TaskDto> result = taskService.getTasksByUserId(999L);
+
+			// Assert - the id comes from a verified token; an unknown one owns no tasks
+			assertTrue(result.isEmpty());
+			verifyNoInteractions(userRepository);
+		}
+
+		@Test
+		@DisplayName("Should export every task page by page after the last id")
+		void forEachTask_WithMoreThanOnePage_ShouldContinueAfterTheLastId() {
+			// Arrange
+			List<TaskDto> fullPage = LongStream.rangeClosed(1, 500)
+					.mapToObj(id -> TaskDto.builder().taskId(id).build())
+					.toList();
+			when(taskRepository.findDtoPageAfterId(eq(1L), eq(0L), any(Limit.class))).thenReturn(fullPage);
+			when(taskRepository.findDtoPageAfterId(eq(1L), eq(500L), any(Limit.class)))
+					.thenReturn(List.of(TaskDto.builder().taskId(501L).build()));
+
+			// Act
+			List<Long> exported = new ArrayList<>();
+			taskService.forEachTask(1L, task -> exported.add(task.getTaskId()));
+
+			// Assert
+			assertEquals(501, exported.size());
+			assertEquals(501L, exported.get(500));
+			verify(taskRepository, times(2)).findDtoPageAfterId(eq(1L), anyLong(), any(Limit.class));
 		}
 	}
 
@@ -242,9 +280,8 @@ class TaskServiceImplTest {
 		@DisplayName("Should return tasks filtered by priority")
 		void getTasksByPriority_WithValidPriority_ShouldReturnFilteredTasks() {
 			// Arrange
-			List<Task> taskList = Arrays.asList(testTask);
-			when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-			when(taskRepository.findByUserIdAndPriority(1L, Priority.HIGH)).thenReturn(taskList);
+			List<TaskDto> taskList = Arrays.asList(testTaskDto);
+			when(taskRepository.findDtosByUserIdAndPriority(1L, Priority.HIGH)).thenReturn(taskList);
 
 			// Act
 			List<TaskDto> result = taskService.getTasksByPriority(1L, Priority.HIGH);
@@ -264,9 +301,8 @@ class TaskServiceImplTest {
 		@DisplayName("Should return tasks filtered by status")
 		void getTasksByStatus_WithValidStatus_ShouldReturnFilteredTasks() {
 			// Arrange
-			List<Task> taskList = Arrays.asList(testTask);
-			when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-			when(taskRepository.findByUserIdAndStatus(1L, Status.PENDING)).thenReturn(taskList);
+			List<TaskDto> taskList = Arrays.asList(testTaskDto);
+			when(taskRepository.findDtosByUserIdAndStatus(1L, Status.PENDING)).thenReturn(taskList);
 
 			// Act
 			List<TaskDto> result = taskService.getTasksByStatus(1L, Status.PENDING);
@@ -284,8 +320,7 @@ class TaskServiceImplTest {
 
 		@Test
 		void getTasksByCompleted_ShouldReturnFilteredTasks() {
-			when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-			when(taskRepository.findByUserIdAndCompleted(1L, false)).thenReturn(List.of(testTask));
+			when(taskRepository.findDtosByUserIdAndCompleted(1L, false)).thenReturn(List.of(testTaskDto));
 			List<TaskDto> result = taskService.getTasksByCompleted(1L, false);
 			assertEquals(1, result.size());
 			assertFalse(result.get(0).isCompleted());
@@ -293,10 +328,9 @@ class TaskServiceImplTest {
 
 		@Test
 		void getTasksByDateRangeAndDeadline_ShouldReturnFilteredTasks() {
-			when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-			when(taskRepository.findByUserIdAndTaskDeadlineBetween(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
-					.thenReturn(List.of(testTask));
-			when(taskRepository.findByUserIdAndTaskDeadline(1L, testTask.getTaskDeadline())).thenReturn(List.of(testTask));
+			when(taskRepository.findDtosByUserIdAndTaskDeadlineBetween(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
+					.thenReturn(List.of(testTaskDto));
+			when(taskRepository.findDtosByUserIdAndTaskDeadline(1L, testTask.getTaskDeadline())).thenReturn(List.of(testTaskDto));
 
 			List<TaskDto> range = taskService.getTasksByDateRange(1L, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
 			List<TaskDto> deadline = taskService.getTasksByDeadline(1L, testTask.getTaskDeadline());
@@ -306,13 +340,52 @@ class TaskServiceImplTest {
 
 		@Test
 		void getTasksByStatusAndPriority_ShouldReturnFilteredTasks() {
-			when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-			when(taskRepository.findByUserIdAndStatusAndPriority(1L, Status.PENDING, Priority.HIGH))
-					.thenReturn(List.of(testTask));
+			when(taskRepository.findDtosByUserIdAndStatusAndPriority(1L, Status.PENDING, Priority.HIGH))
+					.thenReturn(List.of(testTaskDto));
 			List<TaskDto> result = taskService.getTasksByStatusAndPriority(1L, Status.PENDING, Priority.HIGH);
 			assertEquals(1, result.size());
 		}
 
+		@Test
+		@SuppressWarnings("unchecked")
+		void filterTasks_ShouldRunOneQueryWithoutLoadingUser() {
+			when(taskRepository.findDtos(any(Specification.class), any(Sort.class))).thenReturn(List.of(testTaskDto));
+			TaskFilterDto filter = TaskFilterDto.builder()
+					.priority(Priority.HIGH)
+					.completed(false)
+					.from(LocalDateTime.of(2024, 12, 1, 0, 0))
+					.sortBy("priority")
+					.sortDirection("desc")
+					.build();
+
+			List<TaskDto> result = taskService.filterTasks(1L, filter);
+
+			assertEquals(1, result.size());
+			ArgumentCaptor<Sort> sort = ArgumentCaptor.forClass(Sort.class);
+			verify(taskRepository, times(1)).findDtos(any(Specification.class), sort.capture());
+			assertEquals(Sort.by(Sort.Direction.DESC, "priority").and(Sort.by(Sort.Direction.DESC, "id")), sort.getValue());
+			verifyNoInteractions(userRepository);
+		}
+
+		@Test
+		@SuppressWarnings("unchecked")
+		void filterTasks_WithoutSort_ShouldDefaultToDeadlineAscending() {
+			when(taskRepository.findDtos(any(Specification.class), any(Sort.class))).thenReturn(List.of());
+
+			taskService.filterTasks(1L, new TaskFilterDto());
+
+			verify(taskRepository).findDtos(any(Specification.class),
+					eq(Sort.by(Sort.Direction.ASC, "taskDeadline").and(Sort.by(Sort.Direction.ASC, "id"))));
+		}
+
+		@Test
+		void filterTasks_WithUnknownSortField_ShouldThrow() {
+			TaskFilterDto filter = TaskFilterDto.builder().sortBy("password").build();
+
+			assertThrows(IllegalArgumentException.class, () -> taskService.filterTasks(1L, filter));
+			verifyNoInteractions(taskRepository);
+		}
+
 		@Test
 		void updateTaskStatusAndPriority_ShouldPersistChanges() {
 			when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
@@ -368,6 +441,7 @@ class TaskServiceImplTest {
 			assertEquals("Updated Task", result.getTaskName());
 			assertEquals(Priority.MEDIUM, result.getPriority());
 			verify(taskRepository, times(1)).save(any(Task.class));
+			verify(calendarOutboxService, times(1)).enqueueAll(List.of(updatedTask));
 		}
 
 		@Test
@@ -406,6 +480,49 @@ class TaskServiceImplTest {
 			verify(reminderService, times(1)).cancelReminderForTask(1L);
 			verify(reminderService, times(1)).createReminderForTask(any(Task.class));
 		}
+
+		@Test
+		@DisplayName("Should not queue a calendar update when name, description and deadline are unchanged")
+		void updateTask_WithoutEventChanges_ShouldSkipCalendar() {
+			testTask.setGoogleEventId("evt-1");
+			TaskDto updateDto = TaskDto.builder()
+					.taskName(testTask.getTaskName())
+					.taskDescription(testTask.getTaskDescription())
+					.taskDeadline(testTask.getTaskDeadline())
+					.priority(Priority.LOW)
+					.status(Status.IN_PROGRESS)
+					.build();
+
+			when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+			when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+			taskService.updateTask(1L, 1L, updateDto);
+
+			verifyNoInteractions(calendarOutboxService);
+		}
+
+		@Test
+		@DisplayName("Should delete the calendar event when the deadline is removed")
+		void updateTask_WhenDeadlineRemoved_ShouldDeleteEvent() {
+			testTask.setGoogleEventId("evt-1");
+			testTask.setGoogleEventEtag("\"e1\"");
+			TaskDto updateDto = TaskDto.builder()
+					.taskName(testTask.getTaskName())
+					.taskDescription(testTask.getTaskDescription())
+					.taskDeadline(null)
+					.priority(testTask.getPriority())
+					.status(testTask.getStatus())
+					.build();
+
+			when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+			when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+			taskService.updateTask(1L, 1L, updateDto);
+
+			verify(calendarOutboxService, times(1)).enqueueDeletes(List.of(testTask));
+			assertNull(testTask.getGoogleEventId());
+			assertNull(testTask.getGoogleEventEtag());
+		}
 	}
 
 	@Nested
@@ -485,6 +602,8 @@ class TaskServiceImplTest {
 			// Assert
 			verify(taskRepository, times(1)).delete(testTask);
 			verify(reminderService, times(1)).cancelReminderForTask(1L);
+			verify(calendarOutboxService, times(1)).enqueueDeletes(List.of(testTask));
+			verify(taskListVersions, times(1)).bump(1L);
 		}
 
 		@Test
@@ -496,6 +615,61 @@ class TaskServiceImplTest {
 			// Act & Assert
 			assertThrows(UnauthorizedAccessException.class, () -> taskService.deleteTask(1L, 999L));
 			verify(taskRepository, never()).delete(testTask);
+			verify(taskListVersions, never()).bump(anyLong());
+		}
+	}
+
+	@Nested
+	@DisplayName("applyBulk Tests")
+	class ApplyBulkTests {
+
+		@Test
+		@DisplayName("Should save all new tasks in one call and create their reminders together")
+		void applyBulk_WithCreates_ShouldSaveAllAndBatchReminders() {
+			// Arrange
+			when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+			when(taskRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+			BulkTaskRequestDto request = BulkTaskRequestDto.builder()
+					.create(List.of(testTaskDto, testTaskDto))
+					.build();
+
+			// Act
+			BulkTaskResponseDto result = taskService.applyBulk(1L, request);
+
+			// Assert
+			assertEquals(2, result.getCreated().size());
+			assertTrue(result.getUpdated().isEmpty());
+			verify(taskRepository, times(1)).saveAll(anyList());
+			verify(taskRepository, never()).save(any(Task.class));
+			verify(reminderService, times(1)).createRemindersForTasks(anyList());
+			verify(reminderService, never()).createReminderForTask(any(Task.class));
+			verify(taskListVersions, times(1)).bump(1L);
+		}
+
+		@Test
+		@DisplayName("Should reject requests above the operation limit")
+		void applyBulk_OverLimit_ShouldThrow() {
+			// Arrange
+			List<Long> deletes = LongStream.rangeClosed(1, BulkTaskRequestDto.MAX_OPERATIONS + 1)
+					.boxed().toList();
+			BulkTaskRequestDto request = BulkTaskRequestDto.builder().delete(deletes).build();
+
+			// Act & Assert
+			assertThrows(IllegalArgumentException.class, () -> taskService.applyBulk(1L, request));
+			verifyNoInteractions(taskRepository);
+		}
+
+		@Test
+		@DisplayName("Should throw ResourceNotFoundException when an id does not exist")
+		void applyBulk_WithMissingTask_ShouldThrow() {
+			// Arrange
+			when(taskRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(testTask));
+			BulkTaskRequestDto request = BulkTaskRequestDto.builder().delete(List.of(1L, 2L)).build();
+
+			// Act & Assert
+			assertThrows(ResourceNotFoundException.class, () -> taskService.applyBulk(1L, request));
+			verify(taskRepository, never()).deleteAllInBatch(anyIterable());
+			verify(taskListVersions, never()).bump(anyLong());
 		}
 	}
 }
@@ -26,7 +26,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import com.studyplanner.backend.cache.TaskListVersions;
 import com.studyplanner.backend.dto.ShareTaskDto;
 import com.studyplanner.backend.dto.TaskShareInviteDto;
 import com.studyplanner.backend.dto.UserLoginDto;
@@ -41,9 +43,13 @@ import com.studyplanner.backend.exception.UnauthorizedAccessException;
 import com.studyplanner.backend.repository.TaskRepository;
 import com.studyplanner.backend.repository.TaskShareInviteRepository;
 import com.studyplanner.backend.repository.UserRepository;
+import com.studyplanner.backend.security.PasswordHashingService;
 import com.studyplanner.backend.service.EmailService;
+import com.studyplanner.backend.service.NotificationService;
 import com.studyplanner.backend.service.ReminderService;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UserServiceImpl Tests")
 class UserServiceImplTest {
@@ -63,6 +69,12 @@ class UserServiceImplTest {
     @Mock
     private TaskShareInviteRepository inviteRepository;
 
+    @Mock
+    private TaskListVersions taskListVersions;
+
+    @Mock
+    private NotificationService notificationService;
+
     private UserServiceImpl userService;
 
     private User sender;
@@ -72,8 +84,12 @@ class UserServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        // low cost keeps the tests fast; the real cost is calibrated at startup
+        PasswordHashingService passwordHashingService = new PasswordHashingService(
+                new BCryptPasswordEncoder(5), new SimpleMeterRegistry(), 1, 4, 5000);
         userService = new UserServiceImpl(
-                userRepository, emailService, taskRepository, reminderService, inviteRepository, "http://localhost:8080");
+                userRepository, emailService, taskRepository, reminderService, inviteRepository,
+                passwordHashingService, taskListVersions, notificationService, "http://localhost:8080");
 
         sender = User.builder()
                 .id(1L)
@@ -164,6 +180,41 @@ class UserServiceImplTest {
             IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> userService.login(dto));
             assertEquals("Invalid email or password", ex.getMessage());
         }
+
+        @Test
+        void login_WithWrongPassword_ShouldThrow() {
+            sender.setPassword(new BCryptPasswordEncoder(5).encode("correct-password"));
+            UserLoginDto dto = new UserLoginDto();
+            dto.setEmail(sender.getEmail());
+            dto.setPassword("wrong-password");
+
+            when(userRepository.findByEmail(sender.getEmail())).thenReturn(Optional.of(sender));
+
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> userService.login(dto));
+            assertEquals("Invalid email or password", ex.getMessage());
+            verify(userRepository, never()).save(any(User.class));
+        }
+
+        @Test
+        void login_WithHashFromOlderCost_ShouldRehashPassword() {
+            String oldHash = new BCryptPasswordEncoder(4).encode("secret123");
+            sender.setPassword(oldHash);
+            UserLoginDto dto = new UserLoginDto();
+            dto.setEmail(sender.getEmail());
+            dto.setPassword("secret123");
+
+            when(userRepository.findByEmail(sender.getEmail())).thenReturn(Optional.of(sender));
+            when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            UserProfileUpdateDto result = userService.login(dto);
+
+            assertEquals(sender.getEmail(), result.getEmail());
+            ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
+            verify(userRepository).save(captor.capture());
+            String newHash = captor.getValue().getPassword();
+            assertTrue(newHash.startsWith("$2a$05$"));
+            assertTrue(new BCryptPasswordEncoder().matches("secret123", newHash));
+        }
     }
 
     @Nested
@@ -257,6 +308,7 @@ class UserServiceImplTest {
             assertEquals(Task.Status.PENDING, taskCaptor.getValue().getStatus());
             assertFalse(taskCaptor.getValue().isCompleted());
             verify(reminderService, times(1)).createReminderForTask(any(Task.class));
+            verify(taskListVersions, times(1)).bump(receiver.getId());
         }
 
         @Test
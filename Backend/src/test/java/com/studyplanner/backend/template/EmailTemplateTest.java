@@ -0,0 +1,98 @@
+package com.studyplanner.backend.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.studyplanner.backend.entity.Task.Language;
+
+class EmailTemplateTest {
+
+    @Test
+    void render_ShouldEscapeTextSlots() {
+        EmailTemplate template = EmailTemplate.html("<p>Hi {{name}}</p>");
+
+        String html = template.render(Map.of("name", "<script>alert('x')</script> & \"co\""));
+
+        assertEquals("<p>Hi &lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; &quot;co&quot;</p>", html);
+    }
+
+    @Test
+    void render_ShouldInsertHtmlSlotsAsIs() {
+        EmailTemplate template = EmailTemplate.html("<div>{{html:avatar}}</div>");
+
+        assertEquals("<div><b>A</b></div>", template.render(Map.of("avatar", "<b>A</b>")));
+    }
+
+    @Test
+    void render_ShouldOnlyAllowWebAndMailtoUrls() {
+        EmailTemplate template = EmailTemplate.html("<a href=\"{{url:link}}\">go</a>");
+
+        assertEquals("<a href=\"https://x.test/a?b=1&amp;c=2\">go</a>",
+                template.render(Map.of("link", "https://x.test/a?b=1&c=2")));
+        assertEquals("<a href=\"#\">go</a>", template.render(Map.of("link", "javascript:alert(1)")));
+        assertEquals("<a href=\"mailto:a@b.test\">go</a>", template.render(Map.of("link", "mailto:a@b.test")));
+    }
+
+    @Test
+    void render_ShouldCloseSlotAtFirstBraces() {
+        // a CSS rule ending right after the slot
+        EmailTemplate template = EmailTemplate.html(".badge{background:{{color}}}");
+
+        assertEquals(".badge{background:#fff}", template.render(Map.of("color", "#fff")));
+    }
+
+    @Test
+    void render_NullValue_ShouldRenderEmpty() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("description", null);
+
+        assertEquals("[]", EmailTemplate.html("[{{description}}]").render(values));
+    }
+
+    @Test
+    void render_MissingValue_ShouldThrow() {
+        EmailTemplate template = EmailTemplate.html("{{a}} {{b}}");
+
+        assertThrows(IllegalArgumentException.class, () -> template.render(Map.of("a", "1")));
+    }
+
+    @Test
+    void plain_ShouldNotEscapeButDropLineBreaks() {
+        EmailTemplate subject = EmailTemplate.plain("Reminder: \"{{taskName}}\"");
+
+        assertEquals("Reminder: \"A & B  Bcc: x\"", subject.render(Map.of("taskName", "A & B\r\nBcc: x")));
+    }
+
+    @Test
+    void parse_ShouldRejectMalformedSlots() {
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.html("Hi {{name"));
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.html("Hi {{js:name}}"));
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.html("Hi {{first name}}"));
+    }
+
+    @Test
+    void templates_ShouldFallBackToEnglishAndCacheParsedTemplates() {
+        EmailTemplates templates = new EmailTemplates();
+
+        EmailTemplate english = templates.body("reminder", Language.EN);
+        EmailTemplate finnish = templates.body("reminder", Language.FI);
+
+        assertSame(english, templates.body("reminder", Language.VI));
+        assertSame(english, templates.body("reminder", null));
+        assertSame(finnish, templates.body("reminder", Language.FI));
+        assertFalse(english == finnish);
+        assertEquals(Set.of("priorityColor", "firstName", "taskName", "taskDescription",
+                "priority", "status", "deadline"), finnish.slotNames());
+        assertTrue(templates.subject("reminder", Language.FI)
+                .render(Map.of("taskName", "Fysiikka")).startsWith("Muistutus"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.studyplanner.backend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.studyplanner.backend.dto.CursorPage;
+
+@DisplayName("CursorCodec Tests")
+class CursorCodecTest {
+
+    @Test
+    void encodeDecode_ShouldRoundTripKeyAndId() {
+        LocalDateTime key = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_000_000);
+
+        CursorCodec.Position position = CursorCodec.decode(CursorCodec.encode(key, 42L));
+
+        assertEquals(key, position.getKey());
+        assertEquals(42L, position.getId());
+    }
+
+    @Test
+    void encodeDecode_WithoutKey_ShouldKeepNullKey() {
+        CursorCodec.Position position = CursorCodec.decode(CursorCodec.encode(null, 7L));
+
+        assertNull(position.getKey());
+        assertEquals(7L, position.getId());
+    }
+
+    @Test
+    void decode_WithTamperedCursor_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode("eHx5"));
+    }
+
+    @Test
+    void resolveLimit_ShouldDefaultAndCap() {
+        assertEquals(CursorPage.DEFAULT_LIMIT, CursorPage.resolveLimit(null));
+        assertEquals(CursorPage.MAX_LIMIT, CursorPage.resolveLimit(10_000));
+        assertEquals(5, CursorPage.resolveLimit(5));
+        assertThrows(IllegalArgumentException.class, () -> CursorPage.resolveLimit(0));
+    }
+}
@@ -0,0 +1,47 @@
+package com.studyplanner.backend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class JsonObjectStreamParserTest {
+
+    private static final String FIRST = "{\"taskName\":\"Read {ch. 1}\",\"taskDescription\":\"Say \\\"hi]\\\"\"}";
+    private static final String SECOND = "{\"taskName\":\"Quiz\",\"links\":[{\"url\":\"x\"}]}";
+
+    @Test
+    void feed_ShouldEmitEachArrayObjectAsSoonAsItCloses() {
+        JsonObjectStreamParser parser = new JsonObjectStreamParser();
+
+        assertTrue(parser.feed("{\"tasks\": [").isEmpty());
+        assertTrue(parser.feed(FIRST.substring(0, 20)).isEmpty());
+        assertEquals(List.of(FIRST), parser.feed(FIRST.substring(20) + ", " + SECOND.substring(0, 5)));
+        assertEquals(List.of(SECOND), parser.feed(SECOND.substring(5) + "]}"));
+    }
+
+    @Test
+    void feed_OneCharacterAtATime_ShouldSkipFencesAndKeepStringsIntact() {
+        JsonObjectStreamParser parser = new JsonObjectStreamParser();
+        String document = "```json\n{\"tasks\":[" + FIRST + "," + SECOND + "]}\n```";
+
+        List<String> objects = new ArrayList<>();
+        for (char c : document.toCharArray()) {
+            objects.addAll(parser.feed(String.valueOf(c)));
+        }
+
+        assertEquals(List.of(FIRST, SECOND), objects);
+    }
+
+    @Test
+    void feed_TruncatedDocument_ShouldOnlyReturnCompletedObjects() {
+        JsonObjectStreamParser parser = new JsonObjectStreamParser();
+
+        List<String> objects = parser.feed("[" + FIRST + ", {\"taskName\":\"cut off");
+
+        assertEquals(List.of(FIRST), objects);
+    }
+}
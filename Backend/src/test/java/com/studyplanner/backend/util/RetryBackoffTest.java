@@ -0,0 +1,33 @@
+package com.studyplanner.backend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class RetryBackoffTest {
+
+    private final RetryBackoff backoff = new RetryBackoff(Duration.ofSeconds(30), Duration.ofHours(1));
+
+    @Test
+    void delay_ShouldDoubleWithEveryAttempt() {
+        assertEquals(Duration.ofSeconds(30), backoff.delay(1));
+        assertEquals(Duration.ofSeconds(60), backoff.delay(2));
+        assertEquals(Duration.ofSeconds(120), backoff.delay(3));
+    }
+
+    @Test
+    void delay_ShouldBeCappedAtTheMaxDelay() {
+        assertEquals(Duration.ofHours(1), backoff.delay(8));
+        assertEquals(Duration.ofHours(1), backoff.delay(500));
+    }
+
+    @Test
+    void truncateError_ShouldFitTheLastErrorColumn() {
+        assertNull(RetryBackoff.truncateError(null));
+        assertEquals("timeout", RetryBackoff.truncateError("timeout"));
+        assertEquals(1000, RetryBackoff.truncateError("x".repeat(5000)).length());
+    }
+}
@@ -2,6 +2,7 @@ package com.studyplanner.backend.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
@@ -20,6 +21,7 @@ import com.studyplanner.backend.entity.User;
 import com.studyplanner.backend.exception.ResourceNotFoundException;
 import com.studyplanner.backend.exception.UnauthorizedAccessException;
 import com.studyplanner.backend.repository.UserRepository;
+import com.studyplanner.backend.security.AuthenticatedUser;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("SecurityUtils Tests")
@@ -52,6 +54,16 @@ class SecurityUtilsTest {
         assertEquals(99L, securityUtils.getAuthenticatedUserId());
     }
 
+    @Test
+    void getAuthenticatedUserId_WithJwtPrincipal_ShouldNotQueryRepository() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(
+                        new AuthenticatedUser(5L, "me@example.com"), null, java.util.List.of()));
+
+        assertEquals(5L, securityUtils.getAuthenticatedUserId());
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     void getAuthenticatedUser_WhenMissingOrUnauthenticated_ShouldThrow() {
         assertThrows(UnauthorizedAccessException.class, () -> securityUtils.getAuthenticatedUser());
@@ -0,0 +1,43 @@
+package com.studyplanner.backend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    @Test
+    void acquire_WithinTheBurst_ShouldNotWait() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, 5);
+
+        long waited = 0;
+        for (int i = 0; i < 5; i++) {
+            waited += bucket.acquire();
+        }
+
+        assertEquals(0, waited);
+    }
+
+    @Test
+    void acquire_BeyondTheBurst_ShouldWaitForTheRefill() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(20, 1);
+        bucket.acquire();
+
+        long waited = bucket.acquire();
+
+        // one token every 50 ms
+        assertTrue(waited > TimeUnit.MILLISECONDS.toNanos(40), "waited " + waited + " ns");
+    }
+
+    @Test
+    void acquire_WithoutRate_ShouldNeverWait() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0, 1);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, bucket.acquire());
+        }
+    }
+}